@@ -1,6 +1,7 @@
 package net.wickedshell.ticketz.adapter;
 
 import net.wickedshell.ticketz.adapter.rest.security.jwt.JwtAuthenticationProvider;
+import net.wickedshell.ticketz.core.port.access.UserService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,10 +34,13 @@ public class AuthenticationConfiguration {
     }
 
     @Bean
-    public DaoAuthenticationProvider daoAuthenticationProvider(UserDetailsService userDetailsProvider, PasswordEncoder passwordEncoder) {
-        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
+    public DaoAuthenticationProvider daoAuthenticationProvider(UserDetailsService userDetailsProvider,
+                                                               UserService userService,
+                                                               PasswordEncoder passwordEncoder) {
+        // re-hashes passwords stored with a weaker strength than configured on successful login
+        DaoAuthenticationProvider daoAuthenticationProvider =
+                new RehashingDaoAuthenticationProvider(passwordEncoder, userService);
         daoAuthenticationProvider.setUserDetailsService(userDetailsProvider);
-        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
         return daoAuthenticationProvider;
     }
 }
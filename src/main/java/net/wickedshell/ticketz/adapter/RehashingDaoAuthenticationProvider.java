@@ -0,0 +1,46 @@
+package net.wickedshell.ticketz.adapter;
+
+import net.wickedshell.ticketz.core.port.access.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Re-hashes passwords stored with a weaker strength than configured on successful login, like the
+ * {@link DaoAuthenticationProvider} does with a {@link org.springframework.security.core.userdetails.UserDetailsPasswordService},
+ * but through the user service in a transaction of its own. The password was verified already, so a
+ * failing re-hash, e.g. turned away by the saturated hashing or conflicting with a concurrent edit of the
+ * user, keeps the old hash for a later login and the login succeeds.
+ */
+class RehashingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RehashingDaoAuthenticationProvider.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
+
+    RehashingDaoAuthenticationProvider(PasswordEncoder passwordEncoder, UserService userService) {
+        super(passwordEncoder);
+        this.passwordEncoder = passwordEncoder;
+        this.userService = userService;
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+        UserDetails authenticatedUser = user;
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            try {
+                String passwordHash = userService.rehashPassword(user.getUsername(),
+                        authentication.getCredentials().toString()).getPasswordHash();
+                authenticatedUser = User.withUserDetails(user).password(passwordHash).build();
+            } catch (RuntimeException exception) {
+                LOGGER.info("Re-hash of the password of {} postponed: {}", user.getUsername(), exception.getMessage());
+            }
+        }
+        return super.createSuccessAuthentication(principal, authentication, authenticatedUser);
+    }
+}
@@ -0,0 +1,31 @@
+package net.wickedshell.ticketz.adapter.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment of an archived ticket, see {@link ArchivedTicketEntity}.
+ */
+@Data
+@Entity
+@Immutable
+public class ArchivedCommentEntity {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String text;
+
+    @ManyToOne(optional = false)
+    private UserEntity author;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private ArchivedTicketEntity ticket;
+
+    @Column(nullable = false)
+    private LocalDateTime dateCreated;
+
+}
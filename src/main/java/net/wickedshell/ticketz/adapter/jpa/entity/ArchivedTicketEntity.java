@@ -0,0 +1,55 @@
+package net.wickedshell.ticketz.adapter.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.NaturalId;
+
+import java.time.LocalDateTime;
+
+/**
+ * A CLOSED ticket moved out of TICKET_ENTITY. Keeps the id and all columns of the original ticket,
+ * rows are only ever inserted by the archive run.
+ */
+@Data
+@Entity
+@Immutable
+public class ArchivedTicketEntity {
+
+    @Id
+    private Long id;
+
+    @NaturalId
+    @Column(nullable = false)
+    private String ticketNumber;
+
+    @Column(nullable = false, length = 80)
+    private String title;
+
+    @Column(nullable = false)
+    private String description;
+
+    @ManyToOne(optional = false)
+    private UserEntity author;
+
+    @ManyToOne
+    private UserEntity editor;
+
+    @Column(nullable = false)
+    private TicketState state;
+
+    @ManyToOne(optional = false)
+    private ProjectEntity project;
+
+    @Column(nullable = false)
+    private LocalDateTime dateCreated;
+
+    @Column(nullable = false)
+    private LocalDateTime dateUpdated;
+
+    @Column(nullable = false)
+    private LocalDateTime archiveDate;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -21,7 +21,7 @@ public class CommentEntity {
     @ManyToOne(optional = false)
     private UserEntity author;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private TicketEntity ticket;
 
     @Column(nullable = false, updatable = false)
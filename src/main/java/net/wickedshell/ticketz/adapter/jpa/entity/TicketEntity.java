@@ -46,6 +46,10 @@ public class TicketEntity {
     @UpdateTimestamp
     private LocalDateTime dateUpdated;
 
+    // drawn from TICKET_CHANGE_SEQ on every insert and update, see TicketChangeSequence
+    @Column(nullable = false)
+    private long changeSequence;
+
     @Version
     private long version;
 }
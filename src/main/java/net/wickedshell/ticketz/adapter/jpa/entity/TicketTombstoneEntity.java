@@ -0,0 +1,31 @@
+package net.wickedshell.ticketz.adapter.jpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a ticket removed from TICKET_ENTITY, deleted or moved to the archive, for delta sync clients.
+ * Rows are only ever inserted, copied from the ticket rows right before they are removed.
+ */
+@Data
+@Entity
+@Immutable
+public class TicketTombstoneEntity {
+
+    @Id
+    private Long changeSequence;
+
+    @Column(nullable = false)
+    private String ticketNumber;
+
+    @Column(nullable = false)
+    private boolean archived;
+
+    @Column(nullable = false)
+    private LocalDateTime dateCreated;
+}
@@ -2,18 +2,28 @@ package net.wickedshell.ticketz.adapter.jpa.persistence;
 
 import lombok.RequiredArgsConstructor;
 import net.wickedshell.ticketz.adapter.jpa.entity.CommentEntity;
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketEntity;
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketState;
+import net.wickedshell.ticketz.adapter.jpa.entity.UserEntity;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedCommentRepository;
 import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
 import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.UserRepository;
 import net.wickedshell.ticketz.core.model.Comment;
 import net.wickedshell.ticketz.core.model.Ticket;
 import net.wickedshell.ticketz.core.port.driven.persistence.CommentPersistence;
 import net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
 
 @Component
 @Validated
@@ -21,24 +31,79 @@ import java.util.List;
 public class CommentJPAPersistenceImpl implements CommentPersistence {
 
     private static final String TICKET_NOT_FOUND = "Ticket not found: %s";
+    private static final String USER_NOT_FOUND = "User not found: %s";
 
     private final CommentRepository commentRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
     private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
     @Qualifier("jpaModelMapper")
     private final ModelMapper mapper;
 
     @Override
     public List<Comment> findByTicketNumber(String ticketNumber) {
         List<CommentEntity> commentEntities = commentRepository.findByTicketNumber(ticketNumber);
+        if (commentEntities.isEmpty()) {
+            return findArchivedByTicketNumber(ticketNumber, Pageable.unpaged());
+        }
         return commentEntities.stream().map(commentEntity -> mapper.map(commentEntity, Comment.class)).toList();
     }
 
+    @Override
+    public List<Comment> findByTicketNumber(String ticketNumber, int page, int size) {
+        List<CommentEntity> commentEntities = commentRepository.findByTicketNumber(ticketNumber, PageRequest.of(page, size));
+        if (commentEntities.isEmpty()) {
+            return findArchivedByTicketNumber(ticketNumber, PageRequest.of(page, size));
+        }
+        return commentEntities.stream().map(commentEntity -> mapper.map(commentEntity, Comment.class)).toList();
+    }
+
+    private List<Comment> findArchivedByTicketNumber(String ticketNumber, Pageable pageable) {
+        // tickets are archived with all their comments, the archive only needs to be asked if there are no active ones
+        return archivedCommentRepository.findByTicketNumber(ticketNumber, pageable).stream()
+                .map(commentEntity -> mapper.map(commentEntity, Comment.class))
+                .toList();
+    }
+
     @Override
     public Comment create(Comment comment, Ticket ticket) {
         CommentEntity commentEntity = new CommentEntity();
         mapper.map(comment, commentEntity);
-        commentEntity.setTicket(ticketRepository.findByTicketNumber(ticket.getTicketNumber())
-                .orElseThrow(() -> new ObjectNotFoundException(String.format(TICKET_NOT_FOUND, ticket.getTicketNumber()))));
+        commentEntity.setTicket(loadTicketEntity(ticket.getTicketNumber()));
         return mapper.map(commentRepository.save(commentEntity), Comment.class);
     }
+
+    @Override
+    public List<Comment> createAll(List<Comment> comments, Ticket ticket) {
+        // resolve ticket and authors once per batch instead of once per comment
+        TicketEntity ticketEntity = loadTicketEntity(ticket.getTicketNumber());
+        Map<String, UserEntity> authorEntities = new HashMap<>();
+        List<CommentEntity> commentEntities = comments.stream().map(comment -> {
+            CommentEntity commentEntity = new CommentEntity();
+            commentEntity.setText(comment.getText());
+            commentEntity.setAuthor(authorEntities.computeIfAbsent(comment.getAuthor().getEmail(), this::loadUserEntity));
+            commentEntity.setTicket(ticketEntity);
+            return commentEntity;
+        }).toList();
+        return StreamSupport.stream(commentRepository.saveAll(commentEntities).spliterator(), false)
+                .map(commentEntity -> mapper.map(commentEntity, Comment.class))
+                .toList();
+    }
+
+    private TicketEntity loadTicketEntity(String ticketNumber) {
+        TicketEntity ticketEntity = ticketRepository.findByTicketNumber(ticketNumber)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format(TICKET_NOT_FOUND, ticketNumber)));
+        if (ticketEntity.getState() != TicketState.CLOSED) {
+            // only tickets closed before the retention period are archived, comments on open tickets do not wait for each other
+            return ticketEntity;
+        }
+        // locked like archiving does, so a closed ticket is not archived between copying its comments and deleting it
+        return ticketRepository.findForUpdateByTicketNumber(ticketNumber)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format(TICKET_NOT_FOUND, ticketNumber)));
+    }
+
+    private UserEntity loadUserEntity(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format(USER_NOT_FOUND, email)));
+    }
 }
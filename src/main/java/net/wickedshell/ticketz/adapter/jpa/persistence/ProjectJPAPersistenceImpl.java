@@ -56,4 +56,9 @@ public class ProjectJPAPersistenceImpl implements ProjectPersistence {
                 .map(entity -> mapper.map(entity, Project.class))
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public long getCatalogVersion() {
+        return projectRepository.getCatalogVersion();
+    }
 }
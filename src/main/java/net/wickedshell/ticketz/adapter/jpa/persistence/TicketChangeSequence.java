@@ -0,0 +1,105 @@
+package net.wickedshell.ticketz.adapter.jpa.persistence;
+
+import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketTombstoneRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Draws change sequences for ticket writes and tells up to which sequence all changes are committed.
+ * <p>
+ * Sequences are drawn in one order but committed in another, a reader that skipped past a sequence of a
+ * still running transaction would never see that change. So the first sequence drawn by each transaction
+ * is kept until the transaction completes, everything the transaction draws later is higher. Readers stop
+ * below the lowest of them. The bookkeeping is per node, like the ticket write locks.
+ * <p>
+ * The first sequence is drawn without holding the lock, while it is drawn the transaction is registered
+ * with a lower bound of it instead. Lower bounds of concurrent transactions may be equal, so the running
+ * transactions are counted per sequence.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketChangeSequence {
+
+    private final TicketRepository ticketRepository;
+    private final TicketTombstoneRepository ticketTombstoneRepository;
+
+    private final ConcurrentSkipListMap<Long, Integer> runningTransactions = new ConcurrentSkipListMap<>();
+    private final AtomicLong highestDrawn = new AtomicLong(-1);
+
+    /**
+     * Draws the next change sequence. Bulk statements drawing sequences in SQL call this before, so the
+     * transaction is registered, and after, so readers learn about the sequences drawn in between.
+     */
+    public long next() {
+        initialize();
+        long changeSequence;
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(this)) {
+            // every sequence drawn from now on is higher than the highest drawn so far, a reader must not
+            // see a higher sequence before the drawn one is registered
+            long lowerBound;
+            synchronized (runningTransactions) {
+                lowerBound = highestDrawn.get() + 1;
+                register(lowerBound);
+            }
+            changeSequence = ticketRepository.nextChangeSequence();
+            synchronized (runningTransactions) {
+                register(changeSequence);
+                unregister(lowerBound);
+            }
+            TransactionSynchronizationManager.bindResource(this, changeSequence);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(TicketChangeSequence.this);
+                    synchronized (runningTransactions) {
+                        unregister(changeSequence);
+                    }
+                }
+            });
+        } else {
+            changeSequence = ticketRepository.nextChangeSequence();
+        }
+        highestDrawn.accumulateAndGet(changeSequence, Math::max);
+        return changeSequence;
+    }
+
+    /**
+     * The highest sequence up to which all changes are committed, or made by the current transaction.
+     */
+    public long committedUpTo() {
+        initialize();
+        Object ownSequence = TransactionSynchronizationManager.getResource(this);
+        synchronized (runningTransactions) {
+            long highest = highestDrawn.get();
+            for (Map.Entry<Long, Integer> running : runningTransactions.entrySet()) {
+                if (!running.getKey().equals(ownSequence) || running.getValue() > 1) {
+                    return Math.min(highest, running.getKey() - 1);
+                }
+            }
+            return highest;
+        }
+    }
+
+    private void register(long changeSequence) {
+        runningTransactions.merge(changeSequence, 1, Integer::sum);
+    }
+
+    private void unregister(long changeSequence) {
+        runningTransactions.computeIfPresent(changeSequence, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void initialize() {
+        if (highestDrawn.get() < 0) {
+            // sequences drawn before the start, or by the schema migration
+            long highestStored = Math.max(ticketRepository.findMaxChangeSequence(), ticketTombstoneRepository.findMaxChangeSequence());
+            highestDrawn.accumulateAndGet(highestStored, Math::max);
+        }
+    }
+}
@@ -1,18 +1,60 @@
 package net.wickedshell.ticketz.adapter.jpa.persistence;
 
 import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.jpa.entity.ArchivedTicketEntity;
 import net.wickedshell.ticketz.adapter.jpa.entity.TicketEntity;
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketState;
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketTombstoneEntity;
+import net.wickedshell.ticketz.adapter.jpa.entity.UserEntity;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedTicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketFacetRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketProjectionRepository;
 import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketSpecifications;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketTombstoneRepository;
+import net.wickedshell.ticketz.core.model.FacetCount;
 import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketChanges;
+import net.wickedshell.ticketz.core.model.TicketCount;
+import net.wickedshell.ticketz.core.model.TicketFacet;
+import net.wickedshell.ticketz.core.model.TicketField;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
+import net.wickedshell.ticketz.core.model.TicketVersion;
+import net.wickedshell.ticketz.core.model.User;
 import net.wickedshell.ticketz.core.port.driven.persistence.TicketPersistence;
 import net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 @Component
@@ -25,18 +67,48 @@ public class TicketJPAPersistenceImpl implements TicketPersistence {
     @Qualifier("jpaModelMapper")
     private final ModelMapper mapper;
     private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final CommentRepository commentRepository;
+    private final TicketTombstoneRepository ticketTombstoneRepository;
+    private final TicketChangeSequence ticketChangeSequence;
+
+    @Value("${ticketz.app.ticketWriteLockDatabase}")
+    private boolean databaseWriteLock;
 
     @Override
     public Ticket loadByTicketNumber(String ticketNumber) {
-        TicketEntity ticketEntity = ticketRepository.findByTicketNumber(ticketNumber)
+        return ticketRepository.findByTicketNumber(ticketNumber).map(this::toTicket)
+                .or(() -> archivedTicketRepository.findByTicketNumber(ticketNumber).map(this::toTicket))
+                .orElseThrow(() -> new ObjectNotFoundException(String.format(TICKET_NOT_FOUND, ticketNumber)));
+    }
+
+    @Override
+    public Optional<TicketVersion> findVersionByTicketNumber(String ticketNumber) {
+        // scalars only, nothing is loaded into the persistence context
+        return ticketRepository.findVersionsByTicketNumber(ticketNumber).stream()
+                .findFirst()
+                .map(versions -> new TicketVersion(ticketNumber, (Long) versions[0], (Long) versions[1],
+                        (Long) versions[2], (Long) versions[3], false));
+    }
+
+    @Override
+    public Ticket loadByTicketNumberForUpdate(String ticketNumber) {
+        // writers on one node are already serialized by the service, the row lock serializes them across nodes
+        Optional<TicketEntity> ticketEntity = databaseWriteLock
+                ? ticketRepository.findForUpdateByTicketNumber(ticketNumber)
+                : ticketRepository.findByTicketNumber(ticketNumber);
+        return ticketEntity.map(this::toTicket)
+                .or(() -> archivedTicketRepository.findByTicketNumber(ticketNumber).map(this::toTicket))
                 .orElseThrow(() -> new ObjectNotFoundException(String.format(TICKET_NOT_FOUND, ticketNumber)));
-        return mapper.map(ticketEntity, Ticket.class);
     }
 
     @Override
     public void deleteByTicketNumber(String ticketNumber) {
         TicketEntity ticketEntity = ticketRepository.findByTicketNumber(ticketNumber)
                 .orElseThrow(() -> new ObjectNotFoundException(String.format(TICKET_NOT_FOUND, ticketNumber)));
+        ticketChangeSequence.next();
+        ticketTombstoneRepository.insertTombstones(List.of(ticketEntity.getId()), false, LocalDateTime.now());
+        ticketChangeSequence.next();
         ticketRepository.delete(ticketEntity);
     }
 
@@ -44,35 +116,294 @@ public class TicketJPAPersistenceImpl implements TicketPersistence {
     public Ticket create(Ticket ticket) {
         TicketEntity ticketEntity = new TicketEntity();
         mapper.map(ticket, ticketEntity);
-        return mapper.map(ticketRepository.save(ticketEntity), Ticket.class);
+        ticketEntity.setChangeSequence(ticketChangeSequence.next());
+        return toTicket(ticketRepository.save(ticketEntity));
     }
 
     @Override
     public Ticket update(Ticket ticket) {
-        TicketEntity ticketEntity = ticketRepository.findByTicketNumber(ticket.getTicketNumber())
+        // usually loaded for update in the same transaction, then no query is needed
+        TicketEntity ticketEntity = ticketRepository.findByNaturalId(ticket.getTicketNumber())
                 .orElseThrow(() -> new ObjectNotFoundException(String.format(TICKET_NOT_FOUND, ticket.getTicketNumber())));
         validateVersion(ticketEntity, ticket);
         mapper.map(ticket, ticketEntity);
-        return mapper.map(ticketRepository.save(ticketEntity), Ticket.class);
+        ticketEntity.setChangeSequence(ticketChangeSequence.next());
+        return toTicket(ticketRepository.save(ticketEntity));
     }
 
     @Override
     public List<Ticket> findAll() {
         return StreamSupport.stream(ticketRepository.findAll().spliterator(), false)
-                .map(ticketEntity -> mapper.map(ticketEntity, Ticket.class))
+                .map(this::toTicket)
                 .toList();
     }
 
     @Override
-    public List<Ticket> search(String searchText) {
-        return ticketRepository.search(searchText).stream()
-                .map(ticketEntity -> mapper.map(ticketEntity, Ticket.class))
-                .toList();
+    public List<Ticket> findMatching(TicketSearch search) {
+        return findMatching(search, Set.of());
+    }
+
+    @Override
+    public List<Ticket> findMatching(TicketSearch search, Set<TicketField> fields) {
+        return search.isArchived()
+                ? findMatching(toSpecification(search), fields, ArchivedTicketEntity.class, archivedTicketRepository)
+                : findMatching(toSpecification(search), fields, TicketEntity.class, ticketRepository);
+    }
+
+    @Override
+    public List<Ticket> findByTicketNumbers(Collection<String> ticketNumbers, Set<TicketField> fields) {
+        List<Ticket> tickets = new ArrayList<>(findMatching(TicketSpecifications.hasTicketNumberIn(ticketNumbers),
+                fields, TicketEntity.class, ticketRepository));
+        Set<String> archivedTicketNumbers = new HashSet<>(ticketNumbers);
+        tickets.forEach(ticket -> archivedTicketNumbers.remove(ticket.getTicketNumber()));
+        if (!archivedTicketNumbers.isEmpty()) {
+            tickets.addAll(findMatching(TicketSpecifications.hasTicketNumberIn(archivedTicketNumbers),
+                    fields, ArchivedTicketEntity.class, archivedTicketRepository));
+        }
+        return tickets;
+    }
+
+    @Override
+    public TicketSearchResult searchFaceted(TicketSearch search) {
+        return search.isArchived()
+                ? searchFaceted(search, ArchivedTicketEntity.class, archivedTicketRepository)
+                : searchFaceted(search, TicketEntity.class, ticketRepository);
+    }
+
+    @Override
+    public long getChangeSequence() {
+        // both served by the last entry of an index
+        return Math.max(ticketRepository.findMaxChangeSequence(), ticketTombstoneRepository.findMaxChangeSequence());
     }
 
     @Override
     public long getTicketCount() {
-        return ticketRepository.count();
+        return ticketRepository.count() + archivedTicketRepository.count();
+    }
+
+    @Override
+    public List<TicketCount> countByProjectAndState() {
+        // archived tickets are CLOSED, their counts add to the CLOSED counts of the active tickets
+        Map<List<Object>, Long> counts = new LinkedHashMap<>();
+        Stream.concat(ticketRepository.countByProjectAndState().stream(),
+                        archivedTicketRepository.countByProjectAndState().stream())
+                .forEach(row -> counts.merge(List.of(row[0], row[1]), (Long) row[2], Long::sum));
+        return counts.entrySet().stream()
+                .map(count -> new TicketCount((String) count.getKey().get(0),
+                        TicketStates.toModel((TicketState) count.getKey().get(1)),
+                        count.getValue()))
+                .toList();
+    }
+
+    @Override
+    public int archiveClosedTickets(LocalDateTime closedBefore, int limit) {
+        // CLOSED is final, so the last update is the time the ticket was closed; the tickets stay locked until
+        // commit, a comment added meanwhile either committed before and is copied or waits and finds no ticket
+        List<Long> ticketIds = ticketRepository.findIdsForUpdateByStateAndUpdatedBefore(
+                TicketState.CLOSED, closedBefore, PageRequest.of(0, limit));
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime archiveDate = LocalDateTime.now();
+        archivedTicketRepository.copyTickets(ticketIds, archiveDate);
+        archivedTicketRepository.copyComments(ticketIds);
+        ticketChangeSequence.next();
+        ticketTombstoneRepository.insertTombstones(ticketIds, true, archiveDate);
+        ticketChangeSequence.next();
+        commentRepository.deleteArchived(ticketIds);
+        return ticketRepository.deleteByIds(ticketIds);
+    }
+
+    @Override
+    public TicketChanges findChangedSince(long changeSequence, int limit) {
+        long upTo = ticketChangeSequence.committedUpTo();
+        TicketChanges ticketChanges = new TicketChanges();
+        ticketChanges.setWatermark(Math.max(changeSequence, upTo));
+        if (upTo <= changeSequence) {
+            return ticketChanges;
+        }
+        List<TicketEntity> tickets = ticketRepository.findChangedBetween(changeSequence, upTo, PageRequest.of(0, limit));
+        List<TicketTombstoneEntity> tombstones = ticketTombstoneRepository.findChangedBetween(changeSequence, upTo, PageRequest.of(0, limit));
+        // a full list may continue beyond its last row, the other list must not get ahead of it
+        long cutoff = upTo;
+        if (tickets.size() == limit) {
+            cutoff = Math.min(cutoff, tickets.get(limit - 1).getChangeSequence());
+        }
+        if (tombstones.size() == limit) {
+            cutoff = Math.min(cutoff, tombstones.get(limit - 1).getChangeSequence());
+        }
+        long includedUpTo = cutoff;
+        List<Object> ordered = Stream.concat(tickets.stream(), tombstones.stream())
+                .filter(change -> changeSequenceOf(change) <= includedUpTo)
+                .sorted(Comparator.comparingLong(TicketJPAPersistenceImpl::changeSequenceOf))
+                .toList();
+        if (ordered.size() > limit) {
+            ordered = ordered.subList(0, limit);
+            cutoff = changeSequenceOf(ordered.get(limit - 1));
+        }
+        // the latest change of a ticket number wins
+        Map<String, Object> changes = new LinkedHashMap<>();
+        ordered.forEach(change -> {
+            changes.remove(ticketNumberOf(change));
+            changes.put(ticketNumberOf(change), change);
+        });
+        changes.values().forEach(change -> {
+            if (change instanceof TicketTombstoneEntity tombstone) {
+                (tombstone.isArchived() ? ticketChanges.getArchivedTicketNumbers() : ticketChanges.getDeletedTicketNumbers())
+                        .add(tombstone.getTicketNumber());
+            } else {
+                ticketChanges.getTickets().add(toTicket(change));
+            }
+        });
+        ticketChanges.setWatermark(cutoff);
+        ticketChanges.setComplete(cutoff == upTo);
+        return ticketChanges;
+    }
+
+    private <E, R extends JpaSpecificationExecutor<E> & TicketProjectionRepository> List<Ticket> findMatching(
+            Specification<E> specification, Set<TicketField> fields, Class<E> entityClass, R repository) {
+        if (fields.isEmpty()) {
+            return repository.findAll(specification, Sort.by("id")).stream()
+                    .map(this::toTicket)
+                    .toList();
+        }
+        // only the requested columns, author and editor are joined only if requested
+        boolean archived = entityClass == ArchivedTicketEntity.class;
+        return repository.findColumns(entityClass, specification, root -> columnsOf(root, fields)).stream()
+                .map(columns -> toTicket(columns, fields, archived))
+                .toList();
+    }
+
+    private static List<Selection<?>> columnsOf(Root<?> root, Set<TicketField> fields) {
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(root.get("ticketNumber").alias("ticketNumber"));
+        for (TicketField field : fields) {
+            switch (field) {
+                case TITLE -> columns.add(root.get("title").alias("title"));
+                case DESCRIPTION -> columns.add(root.get("description").alias("description"));
+                case STATE -> columns.add(root.get("state").alias("state"));
+                case VERSION -> columns.add(root.get("version").alias("version"));
+                case AUTHOR -> columns.addAll(userColumns(root.join("author"), "author"));
+                case EDITOR -> columns.addAll(userColumns(root.join("editor", JoinType.LEFT), "editor"));
+                case TICKET_NUMBER, ARCHIVED -> {
+                    // always selected, or known from the table
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static List<Selection<?>> userColumns(Join<?, ?> user, String alias) {
+        return List.of(user.get("email").alias(alias + ".email"),
+                user.get("firstname").alias(alias + ".firstname"),
+                user.get("lastname").alias(alias + ".lastname"));
+    }
+
+    private static Ticket toTicket(Tuple columns, Set<TicketField> fields, boolean archived) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber(columns.get("ticketNumber", String.class));
+        for (TicketField field : fields) {
+            switch (field) {
+                case TITLE -> ticket.setTitle(columns.get("title", String.class));
+                case DESCRIPTION -> ticket.setDescription(columns.get("description", String.class));
+                case STATE -> ticket.setState(TicketStates.toModel(columns.get("state", TicketState.class)));
+                case VERSION -> ticket.setVersion(columns.get("version", Long.class));
+                case AUTHOR -> ticket.setAuthor(toUser(columns, "author"));
+                case EDITOR -> ticket.setEditor(toUser(columns, "editor"));
+                case ARCHIVED -> ticket.setArchived(archived);
+                case TICKET_NUMBER -> {
+                    // always set
+                }
+            }
+        }
+        return ticket;
+    }
+
+    private static User toUser(Tuple columns, String alias) {
+        String email = columns.get(alias + ".email", String.class);
+        if (email == null) {
+            return null;
+        }
+        User user = new User();
+        user.setEmail(email);
+        user.setFirstname(columns.get(alias + ".firstname", String.class));
+        user.setLastname(columns.get(alias + ".lastname", String.class));
+        return user;
+    }
+
+    private <E, R extends JpaSpecificationExecutor<E> & TicketFacetRepository> TicketSearchResult searchFaceted(
+            TicketSearch search, Class<E> entityClass, R repository) {
+        Specification<E> specification = toSpecification(search);
+        Page<E> page = repository.findAll(specification,
+                PageRequest.of(search.getPage(), search.getSize(), Sort.by("id")));
+
+        TicketSearchResult searchResult = new TicketSearchResult();
+        searchResult.setTickets(page.stream()
+                .map(this::toTicket)
+                .toList());
+        searchResult.setTotalHits(page.getTotalElements());
+        searchResult.setPage(search.getPage());
+        searchResult.setSize(search.getSize());
+        if (page.getTotalElements() > 0) {
+            searchResult.getFacets().put(TicketFacet.STATE, countFacet(entityClass, repository, specification,
+                    root -> List.of(root.get("state")),
+                    row -> TicketStates.toModel((TicketState) row[0]).name()));
+            searchResult.getFacets().put(TicketFacet.PROJECT, countFacet(entityClass, repository, specification,
+                    root -> List.of(root.get("project").get("code"), root.get("project").get("name")),
+                    row -> (String) row[1]));
+            searchResult.getFacets().put(TicketFacet.AUTHOR, countFacet(entityClass, repository, specification,
+                    root -> userFacetColumns(root.join("author")),
+                    row -> row[1] + " " + row[2]));
+            searchResult.getFacets().put(TicketFacet.EDITOR, countFacet(entityClass, repository, specification,
+                    root -> userFacetColumns(root.join("editor")),
+                    row -> row[1] + " " + row[2]));
+        }
+        return searchResult;
+    }
+
+    private static <E> Specification<E> toSpecification(TicketSearch search) {
+        // the selective filters first, the text search only covers the remaining free words
+        return Specification
+                .<E>where(TicketSpecifications.hasState(TicketStates.toEntity(search.getState())))
+                .and(TicketSpecifications.inProject(search.getProjectCode()))
+                .and(TicketSpecifications.authoredBy(search.getAuthorEmail()))
+                .and(TicketSpecifications.editedBy(search.getEditorEmail()))
+                .and(TicketSpecifications.createdBetween(search.getCreatedFrom(), search.getCreatedTo()))
+                .and(TicketSpecifications.updatedBetween(search.getUpdatedFrom(), search.getUpdatedTo()))
+                .and(TicketSpecifications.matchesText(search.getSearchText()));
+    }
+
+    private static <E> List<FacetCount> countFacet(Class<E> entityClass, TicketFacetRepository repository,
+                                                   Specification<E> specification,
+                                                   Function<Root<E>, List<Expression<?>>> groupBy,
+                                                   Function<Object[], String> label) {
+        // rows hold the grouped values followed by the count, the first value is the one to filter by
+        return repository.countGroupedBy(entityClass, specification, groupBy).stream()
+                .map(row -> new FacetCount(row[0] instanceof TicketState state ? TicketStates.toModel(state).name() : (String) row[0],
+                        label.apply(row), (Long) row[row.length - 1]))
+                .sorted(Comparator.comparingLong(FacetCount::getCount).reversed()
+                        .thenComparing(FacetCount::getLabel))
+                .toList();
+    }
+
+    private static List<Expression<?>> userFacetColumns(Join<?, UserEntity> user) {
+        return List.of(user.get("email"), user.get("firstname"), user.get("lastname"));
+    }
+
+    private static long changeSequenceOf(Object change) {
+        return change instanceof TicketTombstoneEntity tombstone
+                ? tombstone.getChangeSequence() : ((TicketEntity) change).getChangeSequence();
+    }
+
+    private static String ticketNumberOf(Object change) {
+        return change instanceof TicketTombstoneEntity tombstone
+                ? tombstone.getTicketNumber() : ((TicketEntity) change).getTicketNumber();
+    }
+
+    private Ticket toTicket(Object ticketEntity) {
+        Ticket ticket = mapper.map(ticketEntity, Ticket.class);
+        ticket.setArchived(ticketEntity instanceof ArchivedTicketEntity);
+        return ticket;
     }
 
     private void validateVersion(TicketEntity ticketEntity, Ticket ticket) {
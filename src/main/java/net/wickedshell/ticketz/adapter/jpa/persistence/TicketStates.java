@@ -0,0 +1,21 @@
+package net.wickedshell.ticketz.adapter.jpa.persistence;
+
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketState;
+
+/**
+ * Maps between the model ticket states and the entity ticket states, both enums have the same constants.
+ */
+final class TicketStates {
+
+    private TicketStates() {
+        // private constructor to prevent instantiation
+    }
+
+    static TicketState toEntity(net.wickedshell.ticketz.core.model.TicketState state) {
+        return state == null ? null : TicketState.valueOf(state.name());
+    }
+
+    static net.wickedshell.ticketz.core.model.TicketState toModel(TicketState state) {
+        return state == null ? null : net.wickedshell.ticketz.core.model.TicketState.valueOf(state.name());
+    }
+}
@@ -63,4 +63,9 @@ public class UserJPAPersistenceImpl implements UserPersistence {
     public List<User> findAll() {
         return StreamSupport.stream(userRepository.findAll().spliterator(), false).map(userEntity -> mapper.map(userEntity, User.class)).toList();
     }
+
+    @Override
+    public long getCatalogVersion() {
+        return userRepository.getCatalogVersion();
+    }
 }
@@ -0,0 +1,18 @@
+package net.wickedshell.ticketz.adapter.jpa.repository;
+
+import net.wickedshell.ticketz.adapter.jpa.entity.ArchivedCommentEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+
+public interface ArchivedCommentRepository extends CrudRepository<ArchivedCommentEntity, Long> {
+    @Query("""
+            SELECT comment FROM ArchivedCommentEntity comment
+            JOIN FETCH comment.author
+            WHERE comment.ticket.ticketNumber = :ticketNumber
+            ORDER BY comment.dateCreated, comment.id
+            """)
+    List<ArchivedCommentEntity> findByTicketNumber(String ticketNumber, Pageable pageable);
+}
@@ -0,0 +1,54 @@
+package net.wickedshell.ticketz.adapter.jpa.repository;
+
+import net.wickedshell.ticketz.adapter.jpa.entity.ArchivedTicketEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTicketRepository extends CrudRepository<ArchivedTicketEntity, Long>,
+        JpaSpecificationExecutor<ArchivedTicketEntity>, TicketFacetRepository, TicketProjectionRepository {
+    @EntityGraph(attributePaths = {"author", "editor", "project"})
+    Optional<ArchivedTicketEntity> findByTicketNumber(String ticketNumber);
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "editor", "project"})
+    Page<ArchivedTicketEntity> findAll(Specification<ArchivedTicketEntity> specification, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "editor", "project"})
+    List<ArchivedTicketEntity> findAll(Specification<ArchivedTicketEntity> specification, Sort sort);
+
+    @Query("SELECT t.project.code, t.state, COUNT(t) FROM ArchivedTicketEntity t GROUP BY t.project.code, t.state")
+    List<Object[]> countByProjectAndState();
+
+    // the archive copies are plain INSERT ... SELECT statements, the rows never pass through the persistence context
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            INSERT INTO archived_ticket_entity (id, ticket_number, title, description, state, author_id, editor_id,
+                    project_id, version, date_created, date_updated, archive_date)
+            SELECT id, ticket_number, title, description, state, author_id, editor_id,
+                    project_id, version, date_created, date_updated, :archiveDate
+            FROM ticket_entity WHERE id IN (:ticketIds)
+            """)
+    int copyTickets(List<Long> ticketIds, LocalDateTime archiveDate);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO archived_comment_entity (id, text, author_id, ticket_id, date_created)
+            SELECT id, text, author_id, ticket_id, date_created
+            FROM comment_entity WHERE ticket_id IN (:ticketIds)
+            """)
+    int copyComments(List<Long> ticketIds);
+}
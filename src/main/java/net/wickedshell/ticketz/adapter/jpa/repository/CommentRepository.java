@@ -1,12 +1,36 @@
 package net.wickedshell.ticketz.adapter.jpa.repository;
 
 import net.wickedshell.ticketz.adapter.jpa.entity.CommentEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
 import java.util.List;
 
 public interface CommentRepository extends CrudRepository<CommentEntity, Long> {
-    @Query("SELECT comment FROM CommentEntity comment WHERE comment.ticket.ticketNumber = :ticketNumber")
+    @Query("""
+            SELECT comment FROM CommentEntity comment
+            JOIN FETCH comment.author
+            WHERE comment.ticket.ticketNumber = :ticketNumber
+            ORDER BY comment.dateCreated, comment.id
+            """)
     List<CommentEntity> findByTicketNumber(String ticketNumber);
+
+    @Query("""
+            SELECT comment FROM CommentEntity comment
+            JOIN FETCH comment.author
+            WHERE comment.ticket.ticketNumber = :ticketNumber
+            ORDER BY comment.dateCreated, comment.id
+            """)
+    List<CommentEntity> findByTicketNumber(String ticketNumber, Pageable pageable);
+
+    // only the comments copied to the archive, a comment added in the meantime keeps its ticket from being deleted
+    @Modifying
+    @Query("""
+            DELETE FROM CommentEntity comment
+            WHERE comment.ticket.id IN :ticketIds
+            AND comment.id IN (SELECT archived.id FROM ArchivedCommentEntity archived WHERE archived.ticket.id IN :ticketIds)
+            """)
+    int deleteArchived(List<Long> ticketIds);
 }
@@ -2,6 +2,7 @@ package net.wickedshell.ticketz.adapter.jpa.repository;
 
 import net.wickedshell.ticketz.adapter.jpa.entity.ProjectEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -19,4 +20,13 @@ public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
      * @return Optional containing the project entity if found
      */
     Optional<ProjectEntity> findByCode(String code);
+
+    /**
+     * Sum of all versions plus the number of projects. Projects are never deleted, so every
+     * create or update increases the value.
+     *
+     * @return the catalog version
+     */
+    @Query("SELECT COUNT(p) + COALESCE(SUM(p.version), 0) FROM ProjectEntity p")
+    long getCatalogVersion();
 }
@@ -0,0 +1,25 @@
+package net.wickedshell.ticketz.adapter.jpa.repository;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Grouped counts over the tickets matching a specification.
+ */
+public interface TicketFacetRepository {
+
+    /**
+     * Count the matching tickets per group.
+     *
+     * @param entityClass the ticket entity to count, active or archived
+     * @param specification restricts the counted tickets
+     * @param groupBy the expressions to group by, derived from the ticket root
+     * @return one row per group holding the group values followed by the count
+     */
+    <T> List<Object[]> countGroupedBy(Class<T> entityClass, Specification<T> specification,
+                                      Function<Root<T>, List<Expression<?>>> groupBy);
+}
@@ -0,0 +1,38 @@
+package net.wickedshell.ticketz.adapter.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+class TicketFacetRepositoryImpl implements TicketFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <T> List<Object[]> countGroupedBy(Class<T> entityClass, Specification<T> specification,
+                                             Function<Root<T>, List<Expression<?>>> groupBy) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<T> root = query.from(entityClass);
+        List<Expression<?>> groups = groupBy.apply(root);
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(builder.count(root));
+        query.multiselect(selections).groupBy(groups);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -0,0 +1,20 @@
+package net.wickedshell.ticketz.adapter.jpa.repository;
+
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketEntity;
+
+import java.util.Optional;
+
+/**
+ * Ticket lookups by the ticket number as natural id.
+ */
+public interface TicketNaturalIdRepository {
+
+    /**
+     * Find a ticket by its ticket number, served from the persistence context without a query if the
+     * ticket was already loaded in the current transaction.
+     *
+     * @param ticketNumber the ticket number
+     * @return the ticket, if present
+     */
+    Optional<TicketEntity> findByNaturalId(String ticketNumber);
+}
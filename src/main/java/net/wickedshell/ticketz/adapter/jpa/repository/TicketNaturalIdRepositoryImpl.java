@@ -0,0 +1,21 @@
+package net.wickedshell.ticketz.adapter.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketEntity;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+class TicketNaturalIdRepositoryImpl implements TicketNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<TicketEntity> findByNaturalId(String ticketNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(TicketEntity.class)
+                .loadOptional(ticketNumber);
+    }
+}
@@ -0,0 +1,26 @@
+package net.wickedshell.ticketz.adapter.jpa.repository;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Selected columns of the tickets matching a specification, for clients that need only some fields.
+ */
+public interface TicketProjectionRepository {
+
+    /**
+     * Select some columns of the matching tickets, ordered by id.
+     *
+     * @param entityClass the ticket entity to select from, active or archived
+     * @param specification restricts the selected tickets
+     * @param columns the aliased columns to select, derived from the ticket root
+     * @return one tuple per ticket holding the columns by alias
+     */
+    <T> List<Tuple> findColumns(Class<T> entityClass, Specification<T> specification,
+                                Function<Root<T>, List<Selection<?>>> columns);
+}
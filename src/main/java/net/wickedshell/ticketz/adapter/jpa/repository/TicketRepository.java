@@ -1,31 +1,66 @@
 package net.wickedshell.ticketz.adapter.jpa.repository;
 
+import jakarta.persistence.LockModeType;
 import net.wickedshell.ticketz.adapter.jpa.entity.TicketEntity;
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketState;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TicketRepository extends CrudRepository<TicketEntity, Long> {
+public interface TicketRepository extends CrudRepository<TicketEntity, Long>,
+        JpaSpecificationExecutor<TicketEntity>, TicketFacetRepository, TicketProjectionRepository, TicketNaturalIdRepository {
+    @EntityGraph(attributePaths = {"author", "editor", "project"})
     Optional<TicketEntity> findByTicketNumber(String ticketNumber);
 
-    @Query("""
-            SELECT t FROM TicketEntity t
-            LEFT JOIN t.editor e
-            WHERE LOWER(t.ticketNumber) LIKE LOWER(CONCAT('%', :searchText, '%'))
-               OR LOWER(t.title) LIKE LOWER(CONCAT('%', :searchText, '%'))
-               OR LOWER(t.description) LIKE LOWER(CONCAT('%', :searchText, '%'))
-               OR LOWER(t.author.firstname) LIKE LOWER(CONCAT('%', :searchText, '%'))
-               OR LOWER(t.author.lastname) LIKE LOWER(CONCAT('%', :searchText, '%'))
-               OR LOWER(e.firstname) LIKE LOWER(CONCAT('%', :searchText, '%'))
-               OR LOWER(e.lastname) LIKE LOWER(CONCAT('%', :searchText, '%'))
-               OR LOWER(CAST(t.state AS string)) LIKE LOWER(CONCAT('%', :searchText, '%'))
-               OR LOWER(t.project.code) LIKE LOWER(CONCAT('%', :searchText, '%'))
-               OR LOWER(t.project.name) LIKE LOWER(CONCAT('%', :searchText, '%'))
-            """)
-    List<TicketEntity> search(@Param("searchText") String searchText);
+    @Query("SELECT t.version, a.version, e.version, p.version FROM TicketEntity t JOIN t.author a LEFT JOIN t.editor e "
+            + "JOIN t.project p WHERE t.ticketNumber = :ticketNumber")
+    List<Object[]> findVersionsByTicketNumber(String ticketNumber);
+
+    // no fetch joins, the lock must not extend to the nullable side of an outer join
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TicketEntity t WHERE t.ticketNumber = :ticketNumber")
+    Optional<TicketEntity> findForUpdateByTicketNumber(String ticketNumber);
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "editor", "project"})
+    Page<TicketEntity> findAll(Specification<TicketEntity> specification, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "editor", "project"})
+    List<TicketEntity> findAll(Specification<TicketEntity> specification, Sort sort);
+
+    @Query("SELECT t.project.code, t.state, COUNT(t) FROM TicketEntity t GROUP BY t.project.code, t.state")
+    List<Object[]> countByProjectAndState();
+
+    // locked until the archiving commits, comments are only added to a closed ticket after locking it as well
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM TicketEntity t WHERE t.state = :state AND t.dateUpdated < :updatedBefore ORDER BY t.id")
+    List<Long> findIdsForUpdateByStateAndUpdatedBefore(TicketState state, LocalDateTime updatedBefore, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "editor", "project"})
+    @Query("SELECT t FROM TicketEntity t WHERE t.changeSequence > :after AND t.changeSequence <= :upTo ORDER BY t.changeSequence")
+    List<TicketEntity> findChangedBetween(long after, long upTo, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(t.changeSequence), 0) FROM TicketEntity t")
+    long findMaxChangeSequence();
+
+    @Query(nativeQuery = true, value = "SELECT NEXT VALUE FOR ticket_change_seq")
+    long nextChangeSequence();
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM TicketEntity t WHERE t.id IN :ticketIds")
+    int deleteByIds(List<Long> ticketIds);
 }
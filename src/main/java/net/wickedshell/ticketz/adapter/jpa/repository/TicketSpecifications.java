@@ -0,0 +1,109 @@
+package net.wickedshell.ticketz.adapter.jpa.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import net.wickedshell.ticketz.adapter.jpa.entity.ProjectEntity;
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketState;
+import net.wickedshell.ticketz.adapter.jpa.entity.UserEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Predicates on tickets, combined by the search. A {@code null} argument yields no restriction.
+ * Refers to the attributes by name, so they apply to active and archived tickets alike.
+ */
+public final class TicketSpecifications {
+
+    private TicketSpecifications() {
+        // private constructor to prevent instantiation
+    }
+
+    public static <T> Specification<T> hasTicketNumberIn(Collection<String> ticketNumbers) {
+        return (root, query, builder) -> ticketNumbers == null ? null : root.get("ticketNumber").in(ticketNumbers);
+    }
+
+    public static <T> Specification<T> hasState(TicketState state) {
+        return (root, query, builder) -> state == null ? null : builder.equal(root.get("state"), state);
+    }
+
+    public static <T> Specification<T> inProject(String projectCode) {
+        return (root, query, builder) -> projectCode == null ? null
+                : builder.equal(root.get("project").get("id"), idOf(query.subquery(Long.class), ProjectEntity.class, "code", projectCode, builder));
+    }
+
+    public static <T> Specification<T> authoredBy(String email) {
+        return (root, query, builder) -> email == null ? null
+                : builder.equal(root.get("author").get("id"), idOf(query.subquery(Long.class), UserEntity.class, "email", email, builder));
+    }
+
+    public static <T> Specification<T> editedBy(String email) {
+        return (root, query, builder) -> email == null ? null
+                : builder.equal(root.get("editor").get("id"), idOf(query.subquery(Long.class), UserEntity.class, "email", email, builder));
+    }
+
+    public static <T> Specification<T> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, builder) -> between(builder, root.get("dateCreated"), from, to);
+    }
+
+    public static <T> Specification<T> updatedBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, builder) -> between(builder, root.get("dateUpdated"), from, to);
+    }
+
+    /**
+     * Case-insensitive partial match on ticket number, title, description, author and editor name, state,
+     * project code and name. Cannot use an index, so it should be combined with selective filters.
+     */
+    public static <T> Specification<T> matchesText(String searchText) {
+        return (root, query, builder) -> {
+            if (searchText == null || searchText.isBlank()) {
+                return null;
+            }
+            String pattern = "%" + searchText.trim().toLowerCase(Locale.ROOT) + "%";
+            Join<T, UserEntity> editor = root.join("editor", JoinType.LEFT);
+            Path<?> author = root.get("author");
+            Path<?> project = root.get("project");
+            return builder.or(
+                    builder.like(builder.lower(root.get("ticketNumber")), pattern),
+                    builder.like(builder.lower(root.get("title")), pattern),
+                    builder.like(builder.lower(root.get("description")), pattern),
+                    builder.like(builder.lower(author.get("firstname")), pattern),
+                    builder.like(builder.lower(author.get("lastname")), pattern),
+                    builder.like(builder.lower(editor.get("firstname")), pattern),
+                    builder.like(builder.lower(editor.get("lastname")), pattern),
+                    builder.like(builder.lower(root.get("state").as(String.class)), pattern),
+                    builder.like(builder.lower(project.get("code")), pattern),
+                    builder.like(builder.lower(project.get("name")), pattern));
+        };
+    }
+
+    /**
+     * The id of the entity with the given unique key. The foreign key column is compared with it instead of
+     * joining the entity, so the filter can use the indexes on the foreign key columns of the tickets.
+     */
+    private static <E> Subquery<Long> idOf(Subquery<Long> subquery, Class<E> entityClass, String key, String value,
+                                           CriteriaBuilder builder) {
+        Root<E> entity = subquery.from(entityClass);
+        return subquery.select(entity.get("id")).where(builder.equal(entity.get(key), value));
+    }
+
+    private static Predicate between(CriteriaBuilder builder, Path<LocalDateTime> path, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        if (from == null) {
+            return builder.lessThan(path, to);
+        }
+        if (to == null) {
+            return builder.greaterThanOrEqualTo(path, from);
+        }
+        return builder.and(builder.greaterThanOrEqualTo(path, from), builder.lessThan(path, to));
+    }
+}
@@ -0,0 +1,30 @@
+package net.wickedshell.ticketz.adapter.jpa.repository;
+
+import net.wickedshell.ticketz.adapter.jpa.entity.TicketTombstoneEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TicketTombstoneRepository extends CrudRepository<TicketTombstoneEntity, Long> {
+
+    @Query("SELECT t FROM TicketTombstoneEntity t WHERE t.changeSequence > :after AND t.changeSequence <= :upTo ORDER BY t.changeSequence")
+    List<TicketTombstoneEntity> findChangedBetween(long after, long upTo, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(t.changeSequence), 0) FROM TicketTombstoneEntity t")
+    long findMaxChangeSequence();
+
+    // copied from the ticket rows right before they are deleted, like the archive copies
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO ticket_tombstone_entity (change_sequence, ticket_number, archived, date_created)
+            SELECT NEXT VALUE FOR ticket_change_seq, ticket_number, :archived, :dateCreated
+            FROM ticket_entity WHERE id IN (:ticketIds)
+            """)
+    int insertTombstones(List<Long> ticketIds, boolean archived, LocalDateTime dateCreated);
+}
@@ -1,6 +1,7 @@
 package net.wickedshell.ticketz.adapter.jpa.repository;
 
 import net.wickedshell.ticketz.adapter.jpa.entity.UserEntity;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,13 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends CrudRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
+
+    /**
+     * Sum of all versions plus the number of users. Users are never deleted, so every
+     * create or update increases the value.
+     *
+     * @return the catalog version
+     */
+    @Query("SELECT COUNT(u) + COALESCE(SUM(u.version), 0) FROM UserEntity u")
+    long getCatalogVersion();
 }
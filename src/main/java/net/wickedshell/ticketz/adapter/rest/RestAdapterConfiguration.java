@@ -1,13 +1,21 @@
 package net.wickedshell.ticketz.adapter.rest;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.rest.ratelimit.RateLimitFilter;
+import net.wickedshell.ticketz.adapter.rest.ratelimit.RateLimiter;
 import net.wickedshell.ticketz.adapter.rest.security.jwt.JwtAuthenticationRequestFilter;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -25,7 +33,8 @@ import java.io.IOException;
 public class RestAdapterConfiguration {
 
     @Bean
-    public SecurityFilterChain restFilterChain(HttpSecurity http, JwtAuthenticationRequestFilter jwtAuthenticationRequestFilter) throws Exception {
+    public SecurityFilterChain restFilterChain(HttpSecurity http, JwtAuthenticationRequestFilter jwtAuthenticationRequestFilter,
+                                               RateLimiter rateLimiter) throws Exception {
         return http
                 .securityMatcher("/api/**")
                 .csrf(AbstractHttpConfigurer::disable)
@@ -36,6 +45,7 @@ public class RestAdapterConfiguration {
                         .requestMatchers("/api/authentication/**").permitAll()
                         .anyRequest().hasRole("API"))
                 .addFilterBefore(jwtAuthenticationRequestFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter), JwtAuthenticationRequestFilter.class)
                 .build();
     }
 
@@ -51,5 +61,17 @@ public class RestAdapterConfiguration {
     public ModelMapper restModelMapper() {
         return new ModelMapper();
     }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        // replaces the default CBOR converter, which would not get the customizations of the JSON mapper
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer restFieldsFilter() {
+        // resources with a fields filter are written completely unless a response restricts them
+        return builder -> builder.filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
 }
 
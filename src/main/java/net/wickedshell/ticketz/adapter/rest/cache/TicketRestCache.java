@@ -0,0 +1,76 @@
+package net.wickedshell.ticketz.adapter.rest.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.rest.model.TicketRest;
+import net.wickedshell.ticketz.adapter.rest.model.UserRest;
+import net.wickedshell.ticketz.core.cache.BoundedCache;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+import static net.wickedshell.ticketz.core.cache.BoundedCache.estimateStringBytes;
+
+/**
+ * Keeps the REST representation of tickets in a bounded LRU cache, limited by the estimated memory of
+ * the entries. A ticket is only mapped again if its {@link TicketVersion} changed. The cached
+ * representations are shared between responses and must not be modified.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketRestCache {
+
+    private static final String METRIC_CACHE = "ticketz.rest.ticket.cache";
+    // object headers, references and the fields of ticket and users
+    private static final long TICKET_OVERHEAD_BYTES = 64;
+    private static final long USER_OVERHEAD_BYTES = 32;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ticketz.app.ticketRestCacheMaxBytes}")
+    private long maxBytes;
+
+    private BoundedCache<String, Entry> entries;
+
+    @PostConstruct
+    void createCache() {
+        entries = new BoundedCache<>(METRIC_CACHE, maxBytes, meterRegistry);
+    }
+
+    /**
+     * The REST representation of a completely loaded ticket, mapped only if the cached one is of another version.
+     *
+     * @param ticket the ticket, with all fields loaded
+     * @param mapper maps the ticket on a miss
+     * @return the cached or newly mapped representation
+     */
+    public TicketRest toRest(Ticket ticket, Function<Ticket, TicketRest> mapper) {
+        TicketVersion version = TicketVersion.of(ticket);
+        Entry entry = entries.get(ticket.getTicketNumber(), cached -> cached.version().equals(version));
+        if (entry != null) {
+            return entry.ticket();
+        }
+        // map outside the cache lock, a concurrent duplicate mapping is harmless
+        TicketRest ticketRest = mapper.apply(ticket);
+        entries.put(ticket.getTicketNumber(), new Entry(version, ticketRest), estimateBytes(ticketRest));
+        return ticketRest;
+    }
+
+    private static long estimateBytes(TicketRest ticketRest) {
+        return TICKET_OVERHEAD_BYTES + estimateStringBytes(ticketRest.getTicketNumber())
+                + estimateStringBytes(ticketRest.getTitle()) + estimateStringBytes(ticketRest.getDescription())
+                + estimateBytes(ticketRest.getAuthor()) + estimateBytes(ticketRest.getEditor());
+    }
+
+    private static long estimateBytes(UserRest user) {
+        return user == null ? 0 : USER_OVERHEAD_BYTES + estimateStringBytes(user.getEmail())
+                + estimateStringBytes(user.getFirstname()) + estimateStringBytes(user.getLastname());
+    }
+
+    private record Entry(TicketVersion version, TicketRest ticket) {
+    }
+}
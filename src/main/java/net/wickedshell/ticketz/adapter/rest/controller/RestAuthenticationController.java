@@ -4,6 +4,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import net.wickedshell.ticketz.adapter.rest.model.LoginRequest;
 import net.wickedshell.ticketz.adapter.rest.model.SignupRequest;
+import net.wickedshell.ticketz.adapter.rest.ratelimit.RateLimiter;
+import net.wickedshell.ticketz.adapter.rest.ratelimit.RateLimiter.Category;
 import net.wickedshell.ticketz.adapter.rest.security.jwt.JwtAuthenticationRequestFilter;
 import net.wickedshell.ticketz.adapter.rest.security.jwt.JwtService;
 import net.wickedshell.ticketz.core.model.Role;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Locale;
 import java.util.Set;
 
 @RequiredArgsConstructor
@@ -33,9 +36,12 @@ public class RestAuthenticationController {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserService userService;
+    private final RateLimiter rateLimiter;
 
     @PostMapping(value = "/logins", produces = MimeTypeUtils.TEXT_PLAIN_VALUE)
     public ResponseEntity<String> login(@Valid @RequestBody LoginRequest loginRequest) {
+        // the filter limits per client IP, guessing one account's password from many IPs is limited here
+        rateLimiter.acquire(Category.AUTHENTICATION, "email:" + loginRequest.getEmail().toLowerCase(Locale.ROOT));
         AbstractAuthenticationToken authenticationToken =
                 new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword());
         authenticationManager.authenticate(authenticationToken);
@@ -44,6 +50,7 @@ public class RestAuthenticationController {
 
     @PostMapping(value = "/signups")
     public ResponseEntity<Void> signup(@Valid @RequestBody SignupRequest signupRequest) {
+        rateLimiter.acquire(Category.AUTHENTICATION, "email:" + signupRequest.getEmail().toLowerCase(Locale.ROOT));
         User user = mapper.map(signupRequest, User.class);
         userService.create(user, signupRequest.getPassword(), Set.of(Role.ROLE_USER, Role.ROLE_API));
         return ResponseEntity.accepted().build();
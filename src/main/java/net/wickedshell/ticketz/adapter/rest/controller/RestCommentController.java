@@ -0,0 +1,103 @@
+package net.wickedshell.ticketz.adapter.rest.controller;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.rest.model.CommentRest;
+import net.wickedshell.ticketz.core.model.Comment;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.User;
+import net.wickedshell.ticketz.core.port.access.CommentService;
+import net.wickedshell.ticketz.core.port.access.TicketService;
+import net.wickedshell.ticketz.core.port.access.UserService;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * REST controller for the comments of a ticket.
+ * Comments are immutable, hence only reading and (batched) creation are supported.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(RestResource.RESOURCE_TICKET_COMMENTS)
+public class RestCommentController {
+
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final String HEADER_PREFER = "Prefer";
+    private static final String HEADER_PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String PREFERENCE_RESPOND_ASYNC = "respond-async";
+
+    private final CommentService commentService;
+    private final TicketService ticketService;
+    private final UserService userService;
+    @Qualifier("restModelMapper")
+    private final ModelMapper mapper;
+
+    /**
+     * List a page of the comments of a ticket, ordered by creation date.
+     *
+     * @param ticketNumber the ticket number
+     * @param page         the zero-based page index
+     * @param size         the page size (at most {@link CommentService#MAX_PAGE_SIZE})
+     * @return the comments of the requested page, 400 if paging parameters are out of range
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_API')")
+    public ResponseEntity<List<CommentRest>> ticketComments(@PathVariable("ticket-number") String ticketNumber,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        if (page < 0 || size < 1 || size > CommentService.MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<CommentRest> comments = commentService.findByTicketNumber(ticketNumber, page, size)
+                .stream()
+                .map(comment -> mapper.map(comment, CommentRest.class))
+                .toList();
+        return ResponseEntity.ok(comments);
+    }
+
+    /**
+     * Add a batch of comments to a ticket. All comments are persisted in a single transaction
+     * and are authored by the current user.
+     *
+     * With {@code Prefer: respond-async} the request is acknowledged as soon as the comments are queued
+     * for writing, instead of waiting until they are durable.
+     *
+     * @param ticketNumber the ticket number
+     * @param prefer       the {@code Prefer} request header
+     * @param commentRests the comments to add (at most {@link CommentService#MAX_BATCH_SIZE})
+     * @return 201 Created with Location of the comment collection (202 Accepted if responded asynchronously),
+     * 400 if the batch is empty, too large or contains invalid comments
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ROLE_API')")
+    public ResponseEntity<Void> create(@PathVariable("ticket-number") String ticketNumber,
+                                       @RequestHeader(value = HEADER_PREFER, required = false) String prefer,
+                                       @NotEmpty @Size(max = CommentService.MAX_BATCH_SIZE)
+                                       @RequestBody List<@Valid CommentRest> commentRests) {
+        Ticket ticket = ticketService.loadByTicketNumber(ticketNumber);
+        User author = userService.getCurrentUser();
+        List<Comment> comments = commentRests.stream().map(commentRest -> {
+            Comment comment = mapper.map(commentRest, Comment.class);
+            comment.setAuthor(author);
+            return comment;
+        }).toList();
+        URI location = URI.create(RestResource.RESOURCE_TICKET_COMMENTS.replace("{ticket-number}", ticketNumber));
+        if (prefer != null && prefer.contains(PREFERENCE_RESPOND_ASYNC)) {
+            commentService.createAllAsync(comments, ticket);
+            return ResponseEntity.accepted()
+                    .location(location)
+                    .header(HEADER_PREFERENCE_APPLIED, PREFERENCE_RESPOND_ASYNC)
+                    .build();
+        }
+        commentService.createAll(comments, ticket);
+        return ResponseEntity.created(location).build();
+    }
+}
@@ -1,11 +1,17 @@
 package net.wickedshell.ticketz.adapter.rest.controller;
 
 import jakarta.persistence.OptimisticLockException;
+import net.wickedshell.ticketz.adapter.rest.idempotency.IdempotencyKeyInProgressException;
+import net.wickedshell.ticketz.adapter.rest.idempotency.IdempotencyKeyReusedException;
+import net.wickedshell.ticketz.adapter.rest.ratelimit.RateLimitExceededException;
 import net.wickedshell.ticketz.core.exception.AuthenticationException;
+import net.wickedshell.ticketz.core.exception.ServiceUnavailableException;
+import net.wickedshell.ticketz.core.exception.UpdateConflictException;
 import net.wickedshell.ticketz.core.exception.ValidationException;
 import net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -48,6 +54,37 @@ public class RestExceptionAdvice extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
 
+    @ExceptionHandler(UpdateConflictException.class)
+    public ResponseEntity<Void> handleUpdateConflictException(UpdateConflictException exception) {
+        logger.error(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Void> handleServiceUnavailableException(ServiceUnavailableException exception) {
+        logger.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Void> handleRateLimitExceededException(RateLimitExceededException exception) {
+        logger.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds())).build();
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Void> handleIdempotencyKeyInProgressException(IdempotencyKeyInProgressException exception) {
+        logger.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Void> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException exception) {
+        logger.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+    }
+
     @ExceptionHandler(ObjectNotFoundException.class)
     public ResponseEntity<Void> handleObjectNotFoundException(ObjectNotFoundException exception) {
         logger.error(exception.getMessage());
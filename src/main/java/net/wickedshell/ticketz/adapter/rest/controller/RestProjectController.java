@@ -2,6 +2,7 @@ package net.wickedshell.ticketz.adapter.rest.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.rest.idempotency.IdempotencyStore;
 import net.wickedshell.ticketz.adapter.rest.model.ProjectRest;
 import net.wickedshell.ticketz.core.model.Project;
 import net.wickedshell.ticketz.core.port.access.ProjectService;
@@ -14,6 +15,8 @@ import org.springframework.web.bind.annotation.*;
 import java.net.URI;
 import java.util.List;
 
+import static net.wickedshell.ticketz.adapter.rest.idempotency.IdempotencyStore.HEADER_IDEMPOTENCY_KEY;
+
 /**
  * REST controller for Project management.
  * Provides CRUD operations for projects via REST API.
@@ -24,6 +27,7 @@ import java.util.List;
 public class RestProjectController {
 
     private final ProjectService projectService;
+    private final IdempotencyStore idempotencyStore;
     @Qualifier("restModelMapper")
     private final ModelMapper mapper;
 
@@ -58,16 +62,20 @@ public class RestProjectController {
     /**
      * Create a new project.
      *
-     * @param projectRest the project data
+     * @param projectRest    the project data
+     * @param idempotencyKey optional key, a retry with the same key replays the original response
      * @return 201 Created with Location header
      */
     @PostMapping
     @PreAuthorize("hasRole('ROLE_API')")
-    public ResponseEntity<ProjectRest> create(@Valid @RequestBody ProjectRest projectRest) {
-        Project newProject = projectService.create(mapper.map(projectRest, Project.class));
-        return ResponseEntity
-                .created(URI.create(RestResource.RESOURCE_PROJECTS + "/" + newProject.getCode()))
-                .build();
+    public ResponseEntity<ProjectRest> create(@Valid @RequestBody ProjectRest projectRest,
+                                              @RequestHeader(value = HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "POST " + RestResource.RESOURCE_PROJECTS, projectRest, () -> {
+            Project newProject = projectService.create(mapper.map(projectRest, Project.class));
+            return ResponseEntity
+                    .created(URI.create(RestResource.RESOURCE_PROJECTS + "/" + newProject.getCode()))
+                    .build();
+        });
     }
 
     /**
@@ -75,16 +83,20 @@ public class RestProjectController {
      *
      * @param code the project code from URL
      * @param projectRest the updated project data
+     * @param idempotencyKey optional key, a retry with the same key replays the original response
      * @return 204 No Content on success, 400 if codes don't match
      */
     @PutMapping("/{code}")
     @PreAuthorize("hasRole('ROLE_API')")
     public ResponseEntity<Void> update(@PathVariable("code") String code,
-                                       @Valid @RequestBody ProjectRest projectRest) {
+                                       @Valid @RequestBody ProjectRest projectRest,
+                                       @RequestHeader(value = HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         if (!code.equals(projectRest.getCode())) {
             return ResponseEntity.badRequest().build();
         }
-        projectService.update(mapper.map(projectRest, Project.class));
-        return ResponseEntity.noContent().build();
+        return idempotencyStore.execute(idempotencyKey, "PUT " + RestResource.RESOURCE_PROJECTS + "/" + code, projectRest, () -> {
+            projectService.update(mapper.map(projectRest, Project.class));
+            return ResponseEntity.noContent().build();
+        });
     }
 }
@@ -2,7 +2,9 @@ package net.wickedshell.ticketz.adapter.rest.controller;
 
 public class RestResource {
     public static final String RESOURCE_TICKETS = "/api/tickets";
+    public static final String RESOURCE_TICKET_COMMENTS = RESOURCE_TICKETS + "/{ticket-number}/comments";
     public static final String RESOURCE_PROJECTS = "/api/projects";
+    public static final String RESOURCE_STATISTICS = "/api/stats";
     public static final String RESOURCE_AUTHENTICATION = "/api/authentication";
 
     private RestResource() {
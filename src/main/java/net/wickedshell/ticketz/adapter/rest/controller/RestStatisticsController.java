@@ -0,0 +1,42 @@
+package net.wickedshell.ticketz.adapter.rest.controller;
+
+import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.rest.model.TicketCountRest;
+import net.wickedshell.ticketz.core.port.access.TicketService;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for ticket statistics.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(RestResource.RESOURCE_STATISTICS)
+public class RestStatisticsController {
+
+    private final TicketService ticketService;
+    @Qualifier("restModelMapper")
+    private final ModelMapper mapper;
+
+    /**
+     * Number of tickets per project and state; combinations without tickets are omitted.
+     *
+     * @return the ticket counts ordered by project code and state
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_API')")
+    public ResponseEntity<List<TicketCountRest>> ticketCounts() {
+        List<TicketCountRest> ticketCounts = ticketService.getTicketCounts()
+                .stream()
+                .map(ticketCount -> mapper.map(ticketCount, TicketCountRest.class))
+                .toList();
+        return ResponseEntity.ok(ticketCounts);
+    }
+}
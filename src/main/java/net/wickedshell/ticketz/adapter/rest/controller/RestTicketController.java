@@ -1,60 +1,257 @@
 package net.wickedshell.ticketz.adapter.rest.controller;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.rest.cache.TicketRestCache;
+import net.wickedshell.ticketz.adapter.rest.idempotency.IdempotencyStore;
+import net.wickedshell.ticketz.adapter.rest.model.CompactTicketListRest;
+import net.wickedshell.ticketz.adapter.rest.model.CompactTicketRest;
+import net.wickedshell.ticketz.adapter.rest.model.FacetCountRest;
+import net.wickedshell.ticketz.adapter.rest.model.ProjectRest;
+import net.wickedshell.ticketz.adapter.rest.model.TicketChangesRest;
 import net.wickedshell.ticketz.adapter.rest.model.TicketRest;
+import net.wickedshell.ticketz.adapter.rest.model.TicketSearchResultRest;
+import net.wickedshell.ticketz.adapter.rest.model.TicketStateRest;
+import net.wickedshell.ticketz.adapter.rest.model.UserRest;
+import net.wickedshell.ticketz.core.exception.ValidationException;
 import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketChanges;
+import net.wickedshell.ticketz.core.model.TicketField;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
+import net.wickedshell.ticketz.core.model.TicketState;
+import net.wickedshell.ticketz.core.model.User;
 import net.wickedshell.ticketz.core.port.access.TicketService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static net.wickedshell.ticketz.adapter.rest.idempotency.IdempotencyStore.HEADER_IDEMPOTENCY_KEY;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(RestResource.RESOURCE_TICKETS)
 public class RestTicketController {
 
+    private static final String FORMAT_COMPACT = "compact";
+    private static final MediaType COMPACT_MEDIA_TYPE = MediaType.valueOf(CompactTicketListRest.MEDIA_TYPE);
+    private static final Map<String, TicketField> TICKET_FIELDS = Map.of(
+            "ticketNumber", TicketField.TICKET_NUMBER,
+            "title", TicketField.TITLE,
+            "description", TicketField.DESCRIPTION,
+            "state", TicketField.STATE,
+            "version", TicketField.VERSION,
+            "author", TicketField.AUTHOR,
+            "editor", TicketField.EDITOR,
+            "archived", TicketField.ARCHIVED);
+
     private final TicketService ticketService;
+    private final IdempotencyStore idempotencyStore;
+    private final TicketRestCache ticketRestCache;
     @Qualifier("restModelMapper")
     private final ModelMapper mapper;
 
     @GetMapping
     @PreAuthorize("hasRole('ROLE_API')")
-    public ResponseEntity<List<TicketRest>> allTickets(@RequestParam(required = false) String search) {
-        List<TicketRest> ticketRests = ticketService.search(search)
-                .stream()
-                .map(ticket -> mapper.map(ticket, TicketRest.class))
-                .toList();
-        return ResponseEntity.ok(ticketRests);
+    public ResponseEntity<MappingJacksonValue> allTickets(@RequestParam(required = false) String search,
+                                                          @RequestParam(required = false) List<String> fields,
+                                                          @RequestParam(required = false) String format,
+                                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Set<TicketField> ticketFields = toTicketFields(fields);
+        List<Ticket> tickets = ticketFields.isEmpty()
+                ? ticketService.search(search)
+                : ticketService.search(search, ticketFields);
+        return toResponse(tickets, fields, format, accept);
+    }
+
+    @GetMapping(params = "ticketNumbers")
+    @PreAuthorize("hasRole('ROLE_API')")
+    public ResponseEntity<MappingJacksonValue> someTickets(@RequestParam @Size(max = TicketService.MAX_TICKET_NUMBERS) List<String> ticketNumbers,
+                                                           @RequestParam(required = false) List<String> fields,
+                                                           @RequestParam(required = false) String format,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return toResponse(ticketService.findByTicketNumbers(ticketNumbers, toTicketFields(fields)), fields, format, accept);
+    }
+
+    @GetMapping(params = "changedSince")
+    @PreAuthorize("hasRole('ROLE_API')")
+    public ResponseEntity<TicketChangesRest> changedTickets(@RequestParam @Min(0) long changedSince,
+                                                            @RequestParam(defaultValue = "500") @Min(1) @Max(TicketService.MAX_CHANGES) int limit) {
+        TicketChanges ticketChanges = ticketService.findChangedSince(changedSince, limit);
+
+        TicketChangesRest ticketChangesRest = new TicketChangesRest();
+        ticketChangesRest.setTickets(ticketChanges.getTickets().stream()
+                .map(this::toRest)
+                .toList());
+        ticketChangesRest.setDeletedTicketNumbers(ticketChanges.getDeletedTicketNumbers());
+        ticketChangesRest.setArchivedTicketNumbers(ticketChanges.getArchivedTicketNumbers());
+        ticketChangesRest.setWatermark(String.valueOf(ticketChanges.getWatermark()));
+        ticketChangesRest.setComplete(ticketChanges.isComplete());
+        return ResponseEntity.ok(ticketChangesRest);
+    }
+
+    @GetMapping(value = "/search")
+    @PreAuthorize("hasRole('ROLE_API')")
+    public ResponseEntity<TicketSearchResultRest> searchTickets(@RequestParam(required = false) String q,
+                                                                @RequestParam(required = false) TicketState state,
+                                                                @RequestParam(required = false) String project,
+                                                                @RequestParam(required = false) String author,
+                                                                @RequestParam(required = false) String editor,
+                                                                @RequestParam(defaultValue = "false") boolean archived,
+                                                                @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                                @RequestParam(defaultValue = "50") @Min(1) @Max(TicketSearch.MAX_PAGE_SIZE) int size) {
+        TicketSearch search = new TicketSearch();
+        search.setSearchText(q);
+        search.setState(state);
+        search.setProjectCode(project);
+        search.setAuthorEmail(author);
+        search.setEditorEmail(editor);
+        search.setArchived(archived);
+        search.setPage(page);
+        search.setSize(size);
+        TicketSearchResult searchResult = ticketService.searchFaceted(search);
+
+        TicketSearchResultRest searchResultRest = new TicketSearchResultRest();
+        searchResultRest.setTickets(searchResult.getTickets().stream()
+                .map(this::toRest)
+                .toList());
+        searchResultRest.setTotalHits(searchResult.getTotalHits());
+        searchResultRest.setPage(searchResult.getPage());
+        searchResultRest.setSize(searchResult.getSize());
+        searchResult.getFacets().forEach((facet, facetCounts) -> searchResultRest.getFacets().put(
+                facet.name().toLowerCase(Locale.ROOT), facetCounts.stream()
+                        .map(facetCount -> mapper.map(facetCount, FacetCountRest.class))
+                        .toList()));
+        return ResponseEntity.ok(searchResultRest);
     }
 
     @GetMapping(value = "/{ticket-number}")
     @PreAuthorize("hasRole('ROLE_API')")
     public ResponseEntity<TicketRest> oneTicket(@PathVariable("ticket-number") String ticketNumber) {
-        TicketRest ticketRest = mapper.map(ticketService.loadByTicketNumber(ticketNumber), TicketRest.class);
+        TicketRest ticketRest = toRest(ticketService.loadByTicketNumber(ticketNumber));
         return ResponseEntity.ok(ticketRest);
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ROLE_API')")
-    public ResponseEntity<TicketRest> create(@Valid @RequestBody TicketRest ticket) {
-        Ticket newTicket = ticketService.create(mapper.map(ticket, Ticket.class));
-        return ResponseEntity.created(URI.create(RestResource.RESOURCE_TICKETS + "/" + newTicket.getTicketNumber())).build();
+    public ResponseEntity<TicketRest> create(@Valid @RequestBody TicketRest ticket,
+                                             @RequestHeader(value = HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "POST " + RestResource.RESOURCE_TICKETS, ticket, () -> {
+            Ticket newTicket = ticketService.create(mapper.map(ticket, Ticket.class));
+            return ResponseEntity.created(URI.create(RestResource.RESOURCE_TICKETS + "/" + newTicket.getTicketNumber())).build();
+        });
     }
 
     @PutMapping(value = "/{ticket-number}")
     @PreAuthorize("hasRole('ROLE_API')")
     public ResponseEntity<Void> update(@PathVariable("ticket-number") String ticketNumber,
-                                       @Valid @RequestBody TicketRest ticket) {
+                                       @Valid @RequestBody TicketRest ticket,
+                                       @RequestHeader(value = HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         if (!ticketNumber.equals(ticket.getTicketNumber())) {
             return ResponseEntity.badRequest().build();
         }
-        ticketService.update(mapper.map(ticket, Ticket.class));
-        return ResponseEntity.noContent().build();
+        return idempotencyStore.execute(idempotencyKey, "PUT " + RestResource.RESOURCE_TICKETS + "/" + ticketNumber, ticket, () -> {
+            ticketService.update(mapper.map(ticket, Ticket.class));
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    private static Set<TicketField> toTicketFields(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return Set.of();
+        }
+        Set<TicketField> ticketFields = EnumSet.noneOf(TicketField.class);
+        for (String field : fields) {
+            TicketField ticketField = TICKET_FIELDS.get(field);
+            if (ticketField == null) {
+                throw new ValidationException("Unknown ticket field: " + field);
+            }
+            ticketFields.add(ticketField);
+        }
+        return ticketFields;
+    }
+
+    private ResponseEntity<MappingJacksonValue> toResponse(List<Ticket> tickets, List<String> fields, String format, String accept) {
+        boolean compactAccepted = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(COMPACT_MEDIA_TYPE::equalsTypeAndSubtype);
+        if (!compactAccepted && !FORMAT_COMPACT.equals(format)) {
+            // tickets loaded with only some fields are mapped each time, they must not end up in the cache
+            boolean allFields = fields == null || fields.isEmpty();
+            return ResponseEntity.ok(withFields(tickets.stream()
+                    .map(ticket -> allFields ? toRest(ticket) : mapper.map(ticket, TicketRest.class))
+                    .toList(), fields));
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (compactAccepted) {
+            response.contentType(COMPACT_MEDIA_TYPE);
+        }
+        return response.body(withFields(toCompactTicketList(tickets), fields));
+    }
+
+    private TicketRest toRest(Ticket ticket) {
+        return ticketRestCache.toRest(ticket, loadedTicket -> mapper.map(loadedTicket, TicketRest.class));
+    }
+
+    private CompactTicketListRest toCompactTicketList(List<Ticket> tickets) {
+        // each user and project is mapped once, the tickets only refer to them
+        CompactTicketListRest ticketList = new CompactTicketListRest();
+        ticketList.setTickets(tickets.stream()
+                .map(ticket -> {
+                    CompactTicketRest compactTicket = new CompactTicketRest();
+                    compactTicket.setTicketNumber(ticket.getTicketNumber());
+                    compactTicket.setTitle(ticket.getTitle());
+                    compactTicket.setDescription(ticket.getDescription());
+                    compactTicket.setAuthor(referTo(ticket.getAuthor(), ticketList));
+                    compactTicket.setEditor(referTo(ticket.getEditor(), ticketList));
+                    if (ticket.getProject() != null) {
+                        compactTicket.setProject(ticket.getProject().getCode());
+                        ticketList.getProjects().computeIfAbsent(ticket.getProject().getCode(),
+                                code -> mapper.map(ticket.getProject(), ProjectRest.class));
+                    }
+                    compactTicket.setState(ticket.getState() == null ? null : TicketStateRest.valueOf(ticket.getState().name()));
+                    compactTicket.setVersion(ticket.getVersion());
+                    compactTicket.setArchived(ticket.isArchived());
+                    return compactTicket;
+                })
+                .toList());
+        return ticketList;
+    }
+
+    private String referTo(User user, CompactTicketListRest ticketList) {
+        if (user == null) {
+            return null;
+        }
+        ticketList.getUsers().computeIfAbsent(user.getEmail(), email -> mapper.map(user, UserRest.class));
+        return user.getEmail();
+    }
+
+    private static MappingJacksonValue withFields(Object tickets, List<String> fields) {
+        // the fields not loaded are left out of the response instead of being sent as null
+        SimpleBeanPropertyFilter filter = fields == null || fields.isEmpty()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(Stream.concat(Stream.of("ticketNumber"), fields.stream())
+                .collect(Collectors.toSet()));
+        MappingJacksonValue response = new MappingJacksonValue(tickets);
+        response.setFilters(new SimpleFilterProvider().addFilter(TicketRest.FIELDS_FILTER, filter));
+        return response;
     }
 }
@@ -0,0 +1,12 @@
+package net.wickedshell.ticketz.adapter.rest.idempotency;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+
+    public IdempotencyKeyInProgressException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package net.wickedshell.ticketz.adapter.rest.idempotency;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
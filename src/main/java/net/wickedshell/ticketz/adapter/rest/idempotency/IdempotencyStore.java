@@ -0,0 +1,154 @@
+package net.wickedshell.ticketz.adapter.rest.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the responses of requests sent with an {@code Idempotency-Key} header, per user, operation
+ * and key. A retry with the same key gets the original response replayed without running the handler
+ * again, a duplicate arriving while the first request still runs waits for its response. A failed
+ * request is forgotten, so it can be retried. The store is bounded, entries expire after their TTL
+ * and the oldest entries are dropped when it is full.
+ * <p>
+ * The store is in memory per node and not persisted, an accepted trade-off: a restart or deploy loses it,
+ * so a retry spanning the restart runs the handler again and may create a duplicate.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String HEADER_IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    // insertion ordered, the eldest entry expires first
+    private final Map<Key, Entry> entries = new LinkedHashMap<>();
+
+    @Value("${ticketz.app.idempotencyMaxEntries}")
+    private int maxEntries;
+
+    @Value("${ticketz.app.idempotencyTtlMs}")
+    private long ttlMs;
+
+    @Value("${ticketz.app.idempotencyWaitTimeoutMs}")
+    private long waitTimeoutMs;
+
+    /**
+     * Runs the handler once per idempotency key, or right away if the request carries no key.
+     *
+     * @param idempotencyKey the value of the {@code Idempotency-Key} header, may be null
+     * @param operation      method and path of the request, a key is only valid for one operation
+     * @param request        the request body, a retry has to send an equal one
+     * @param handler        produces the response of the first request
+     * @return the response of the first request with this key
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String operation, Object request,
+                                         Supplier<ResponseEntity<T>> handler) {
+        if (idempotencyKey == null) {
+            return handler.get();
+        }
+        Key key = new Key(currentPrincipal(), operation, idempotencyKey);
+        Entry entry = new Entry(request, new CompletableFuture<>(), System.currentTimeMillis() + ttlMs);
+        Entry existingEntry;
+        synchronized (entries) {
+            existingEntry = entries.get(key);
+            if (existingEntry == null || existingEntry.isExpired(System.currentTimeMillis())) {
+                existingEntry = null;
+                entries.remove(key);
+                entries.put(key, entry);
+                trimToMaxEntries();
+            }
+        }
+        if (existingEntry != null) {
+            return replay(key, existingEntry, request);
+        }
+        try {
+            ResponseEntity<T> response = handler.get();
+            entry.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error exception) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.response().completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ticketz.app.idempotencyEvictionIntervalMs}")
+    public void evictExpiredEntries() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext() && iterator.next().isExpired(now)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Key key, Entry entry, Object request) {
+        if (!entry.request().equals(request)) {
+            throw new IdempotencyKeyReusedException("Idempotency key reused with a different request: " + key.idempotencyKey());
+        }
+        ResponseEntity<?> response;
+        try {
+            response = entry.response().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            throw new IdempotencyKeyInProgressException("Request with idempotency key still in progress: " + key.idempotencyKey(), exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted waiting for request with idempotency key: " + key.idempotencyKey(), exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+        return (ResponseEntity<T>) ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(HEADER_IDEMPOTENT_REPLAYED, "true")
+                .body(response.getBody());
+    }
+
+    private void trimToMaxEntries() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            // a waiting duplicate keeps its reference to a dropped entry and still gets the response
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+
+    private record Key(String principal, String operation, String idempotencyKey) {
+    }
+
+    private record Entry(Object request, CompletableFuture<ResponseEntity<?>> response, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package net.wickedshell.ticketz.adapter.rest.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CommentRest {
+
+    @NotBlank
+    private String text;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private UserRest author;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime dateCreated;
+}
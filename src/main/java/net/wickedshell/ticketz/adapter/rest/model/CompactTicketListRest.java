@@ -0,0 +1,28 @@
+package net.wickedshell.ticketz.adapter.rest.model;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tickets with the users and projects they refer to listed once, instead of embedded in every ticket.
+ */
+@Data
+public class CompactTicketListRest {
+
+    public static final String MEDIA_TYPE = "application/vnd.ticketz.compact+json";
+
+    private List<CompactTicketRest> tickets = List.of();
+
+    /**
+     * The authors and editors of the tickets, keyed by email.
+     */
+    private Map<String, UserRest> users = new LinkedHashMap<>();
+
+    /**
+     * The projects of the tickets, keyed by code.
+     */
+    private Map<String, ProjectRest> projects = new LinkedHashMap<>();
+}
@@ -0,0 +1,31 @@
+package net.wickedshell.ticketz.adapter.rest.model;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Data;
+
+/**
+ * A ticket of the compact list format, referring to its users by email and to its project by code.
+ */
+@Data
+@JsonFilter(TicketRest.FIELDS_FILTER)
+public class CompactTicketRest {
+
+    private String title;
+
+    private String ticketNumber;
+
+    private String description;
+
+    private String author;
+
+    private String editor;
+
+    private String project;
+
+    private TicketStateRest state;
+
+    private long version;
+
+    private boolean archived;
+
+}
@@ -0,0 +1,13 @@
+package net.wickedshell.ticketz.adapter.rest.model;
+
+import lombok.Data;
+
+@Data
+public class FacetCountRest {
+
+    private String value;
+
+    private String label;
+
+    private long count;
+}
@@ -0,0 +1,25 @@
+package net.wickedshell.ticketz.adapter.rest.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TicketChangesRest {
+
+    private List<TicketRest> tickets = List.of();
+
+    private List<String> deletedTicketNumbers = List.of();
+
+    private List<String> archivedTicketNumbers = List.of();
+
+    /**
+     * Opaque token to pass as {@code changedSince} with the next request.
+     */
+    private String watermark;
+
+    /**
+     * False if the limit was reached, requesting again with the watermark returns more changes.
+     */
+    private boolean complete;
+}
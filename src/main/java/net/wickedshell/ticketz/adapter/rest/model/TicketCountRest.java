@@ -0,0 +1,13 @@
+package net.wickedshell.ticketz.adapter.rest.model;
+
+import lombok.Data;
+
+@Data
+public class TicketCountRest {
+
+    private String projectCode;
+
+    private TicketStateRest state;
+
+    private long count;
+}
@@ -1,5 +1,7 @@
 package net.wickedshell.ticketz.adapter.rest.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -8,8 +10,14 @@ import lombok.RequiredArgsConstructor;
 
 @Data
 @RequiredArgsConstructor
+@JsonFilter(TicketRest.FIELDS_FILTER)
 public class TicketRest {
 
+    /**
+     * Leaves out the fields a client did not ask for, all fields are written by default.
+     */
+    public static final String FIELDS_FILTER = "ticketFields";
+
     @NotBlank
     @Size(max = 80)
     private String title;
@@ -31,4 +39,7 @@ public class TicketRest {
 
     private long version;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private boolean archived;
+
 }
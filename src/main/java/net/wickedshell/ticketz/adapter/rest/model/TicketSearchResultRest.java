@@ -0,0 +1,24 @@
+package net.wickedshell.ticketz.adapter.rest.model;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class TicketSearchResultRest {
+
+    private List<TicketRest> tickets = List.of();
+
+    private long totalHits;
+
+    private int page;
+
+    private int size;
+
+    /**
+     * Hits per facet value, keyed by facet name ({@code state}, {@code project}, {@code author}, {@code editor}).
+     */
+    private Map<String, List<FacetCountRest>> facets = new LinkedHashMap<>();
+}
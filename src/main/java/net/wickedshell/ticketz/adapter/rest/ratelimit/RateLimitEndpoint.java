@@ -0,0 +1,21 @@
+package net.wickedshell.ticketz.adapter.rest.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "ratelimits")
+@RequiredArgsConstructor
+public class RateLimitEndpoint {
+
+    private final RateLimiter rateLimiter;
+
+    @ReadOperation
+    public Map<String, Object> rateLimits() {
+        return rateLimiter.describe();
+    }
+}
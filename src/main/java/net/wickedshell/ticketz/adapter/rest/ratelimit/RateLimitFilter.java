@@ -0,0 +1,63 @@
+package net.wickedshell.ticketz.adapter.rest.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.rest.ratelimit.RateLimiter.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Limits REST requests per client IP and, once authenticated, per user. It runs inside the REST
+ * security filter chain after the JWT filter and is deliberately no bean, a bean would be registered
+ * for all requests as well.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String AUTHENTICATION_PATH = "/api/authentication/";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Category category = categoryOf(request);
+        try {
+            rateLimiter.acquire(category, "ip:" + request.getRemoteAddr());
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()) {
+                rateLimiter.acquire(category, "user:" + authentication.getName());
+            }
+        } catch (RateLimitExceededException exception) {
+            LOGGER.warn(exception.getMessage());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static Category categoryOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith(AUTHENTICATION_PATH)) {
+            return Category.AUTHENTICATION;
+        }
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+            return Category.READ;
+        }
+        return Category.WRITE;
+    }
+}
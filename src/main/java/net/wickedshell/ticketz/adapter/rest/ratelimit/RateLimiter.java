@@ -0,0 +1,132 @@
+package net.wickedshell.ticketz.adapter.rest.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets per category and client key (client IP, user email). Buckets that have refilled
+ * completely are evicted periodically, once the table is full new clients share one overflow bucket
+ * per category until the next eviction makes room.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private static final String METRIC_REQUESTS = "ticketz.ratelimit.requests";
+    private static final String OVERFLOW_KEY = "*";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<Category, Limit> limits = new EnumMap<>(Category.class);
+
+    @Value("${ticketz.app.rateLimitAuthenticationCapacity}")
+    private int authenticationCapacity;
+
+    @Value("${ticketz.app.rateLimitAuthenticationPerMinute}")
+    private int authenticationPerMinute;
+
+    @Value("${ticketz.app.rateLimitWriteCapacity}")
+    private int writeCapacity;
+
+    @Value("${ticketz.app.rateLimitWritePerMinute}")
+    private int writePerMinute;
+
+    @Value("${ticketz.app.rateLimitReadCapacity}")
+    private int readCapacity;
+
+    @Value("${ticketz.app.rateLimitReadPerMinute}")
+    private int readPerMinute;
+
+    @Value("${ticketz.app.rateLimitMaxBuckets}")
+    private int maxBuckets;
+
+    @PostConstruct
+    void configureLimits() {
+        configure(Category.AUTHENTICATION, authenticationCapacity, authenticationPerMinute);
+        configure(Category.WRITE, writeCapacity, writePerMinute);
+        configure(Category.READ, readCapacity, readPerMinute);
+    }
+
+    /**
+     * Takes a token from the bucket of the given client key.
+     *
+     * @throws RateLimitExceededException if the bucket is empty
+     */
+    public void acquire(Category category, String key) {
+        Limit limit = limits.get(category);
+        long now = System.nanoTime();
+        long retryAfterNanos = bucketOf(new BucketKey(category, key), limit, now).tryAcquire(now);
+        if (retryAfterNanos > 0) {
+            limit.rejected().increment();
+            throw new RateLimitExceededException("Rate limit exceeded: " + category + " " + key, retryAfterNanos);
+        }
+        limit.allowed().increment();
+    }
+
+    @Scheduled(fixedDelayString = "${ticketz.app.rateLimitEvictionIntervalMs}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    /**
+     * Configured limits and current state per category, for the rate limit actuator endpoint.
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        limits.forEach((category, limit) -> {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("capacity", limit.capacity());
+            state.put("perMinute", limit.perMinute());
+            state.put("buckets", buckets.keySet().stream().filter(key -> key.category() == category).count());
+            state.put("allowed", (long) limit.allowed().count());
+            state.put("rejected", (long) limit.rejected().count());
+            description.put(category.name().toLowerCase(Locale.ROOT), state);
+        });
+        description.put("maxBuckets", maxBuckets);
+        return description;
+    }
+
+    private TokenBucket bucketOf(BucketKey key, Limit limit, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            evictFullBuckets();
+            if (buckets.size() >= maxBuckets) {
+                key = new BucketKey(key.category(), OVERFLOW_KEY);
+            }
+        }
+        return buckets.computeIfAbsent(key, newKey -> new TokenBucket(limit.capacity(), limit.nanosPerToken(), now));
+    }
+
+    private void configure(Category category, int capacity, int perMinute) {
+        String tag = category.name().toLowerCase(Locale.ROOT);
+        limits.put(category, new Limit(capacity, perMinute, TimeUnit.MINUTES.toNanos(1) / perMinute,
+                Counter.builder(METRIC_REQUESTS).tag("category", tag).tag("outcome", "allowed").register(meterRegistry),
+                Counter.builder(METRIC_REQUESTS).tag("category", tag).tag("outcome", "rejected").register(meterRegistry)));
+    }
+
+    public enum Category {
+        AUTHENTICATION, WRITE, READ
+    }
+
+    private record BucketKey(Category category, String key) {
+    }
+
+    private record Limit(int capacity, int perMinute, long nanosPerToken, Counter allowed, Counter rejected) {
+    }
+}
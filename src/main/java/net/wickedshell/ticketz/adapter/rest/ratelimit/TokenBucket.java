@@ -0,0 +1,48 @@
+package net.wickedshell.ticketz.adapter.rest.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as the single point in time at which the bucket would be empty again
+ * if no more tokens were taken (generic cell rate algorithm). Taking a token moves that point one
+ * refill interval ahead with a compare-and-set, so concurrent requests never block each other.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, long nanosPerToken, long now) {
+        this.nanosPerToken = nanosPerToken;
+        this.burstNanos = (capacity - 1) * nanosPerToken;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the nanos until the next token is available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, now);
+            long wait = start - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + nanosPerToken)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket that has refilled completely behaves like a new one and can be dropped without loss.
+     */
+    boolean isFull(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+}
@@ -23,10 +23,7 @@ public class UserDetailsProvider implements org.springframework.security.core.us
     @Override
     public org.springframework.security.core.userdetails.UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         try {
-            AnonymousAuthenticationToken anonymousAuthenticationToken =
-                    new AnonymousAuthenticationToken(ANONYMOUS_USER, ANONYMOUS_USER, List.of(new SimpleGrantedAuthority(Role.ROLE_ANONYMOUS.name())));
-            anonymousAuthenticationToken.setAuthenticated(false);
-            SecurityContextHolder.getContext().setAuthentication(anonymousAuthenticationToken);
+            authenticateAnonymously();
             Optional<net.wickedshell.ticketz.core.model.User> maybeUser = userService.findByEmail(username);
             if (maybeUser.isEmpty()) {
                 throw new UsernameNotFoundException("unknown user");
@@ -39,4 +36,11 @@ public class UserDetailsProvider implements org.springframework.security.core.us
             SecurityContextHolder.clearContext();
         }
     }
+
+    private static void authenticateAnonymously() {
+        AnonymousAuthenticationToken anonymousAuthenticationToken =
+                new AnonymousAuthenticationToken(ANONYMOUS_USER, ANONYMOUS_USER, List.of(new SimpleGrantedAuthority(Role.ROLE_ANONYMOUS.name())));
+        anonymousAuthenticationToken.setAuthenticated(false);
+        SecurityContextHolder.getContext().setAuthentication(anonymousAuthenticationToken);
+    }
 }
@@ -0,0 +1,21 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares in the {@link RequestTiming} of the current request.
+ * The statements are passed on unchanged.
+ */
+@Component
+class RequestStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.countStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,167 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Splits the time of one request into phases. The request thread is always in exactly one phase and
+ * switching phases charges the elapsed time to the phase left, so nested phases only count their own
+ * time and all phases add up to the total. Bound to the request thread, calls on other threads are
+ * charged to the phase the request thread is waiting in.
+ * <p>
+ * The SQL statements of the request are counted as well, per statement text. Hibernate renders the same
+ * query always the same, with placeholders for its parameters, so a text repeated many times is the same
+ * query run for different rows.
+ */
+final class RequestTiming {
+
+    enum Phase {
+        FILTER("filter"),
+        HANDLER("handler"),
+        USER("user"),
+        DB("db"),
+        MAP("map"),
+        VIEW("view");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        String metricName() {
+            return metricName;
+        }
+    }
+
+    static final String TOTAL = "total";
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long start;
+    private final long[] nanos = new long[PHASES.length];
+    private Phase phase;
+    private long phaseStart;
+    private long end;
+    private boolean stopped;
+    private int statements;
+    // created with the first statement, most requests of a cached read run none
+    private Map<String, Integer> statementCounts;
+
+    private RequestTiming(long start) {
+        this.start = start;
+        this.phase = Phase.FILTER;
+        this.phaseStart = start;
+    }
+
+    /**
+     * Starts timing a request on the current thread, in the {@link Phase#FILTER} phase.
+     */
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * The timing of the request on the current thread, or null outside of a timed request.
+     */
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Switches to the given phase.
+     *
+     * @return the phase left, to switch back to once the given phase is over
+     */
+    Phase switchTo(Phase next) {
+        long now = System.nanoTime();
+        nanos[phase.ordinal()] += now - phaseStart;
+        Phase previous = phase;
+        phase = next;
+        phaseStart = now;
+        return previous;
+    }
+
+    /**
+     * Ends the timing and unbinds it from the current thread.
+     */
+    void stop() {
+        end = System.nanoTime();
+        stopped = true;
+        nanos[phase.ordinal()] += end - phaseStart;
+        phaseStart = end;
+        CURRENT.remove();
+    }
+
+    void countStatement(String sql) {
+        statements++;
+        if (statementCounts == null) {
+            statementCounts = new HashMap<>();
+        }
+        statementCounts.merge(sql, 1, Integer::sum);
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    /**
+     * The statement run most often by the request and its count, or null if it ran none.
+     */
+    Map.Entry<String, Integer> mostRepeatedStatement() {
+        if (statementCounts == null) {
+            return null;
+        }
+        Map.Entry<String, Integer> mostRepeated = null;
+        for (Map.Entry<String, Integer> statementCount : statementCounts.entrySet()) {
+            if (mostRepeated == null || statementCount.getValue() > mostRepeated.getValue()) {
+                mostRepeated = statementCount;
+            }
+        }
+        return mostRepeated;
+    }
+
+    /**
+     * The time spent in the phase so far, including the running one.
+     */
+    long nanos(Phase phase) {
+        long phaseNanos = nanos[phase.ordinal()];
+        return !stopped && phase == this.phase ? phaseNanos + System.nanoTime() - phaseStart : phaseNanos;
+    }
+
+    long totalNanos() {
+        return (stopped ? end : System.nanoTime()) - start;
+    }
+
+    /**
+     * The value of the Server-Timing header, the phases entered so far and the total, in milliseconds.
+     */
+    String serverTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase timedPhase : PHASES) {
+            long phaseNanos = nanos(timedPhase);
+            if (phaseNanos > 0) {
+                appendMetric(header, timedPhase.metricName(), phaseNanos);
+            }
+        }
+        appendMetric(header, TOTAL, totalNanos());
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        // milliseconds with microsecond precision, without the cost of formatting a double
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000;
+        header.append(name).append(";dur=").append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            header.append(fraction < 10 ? "00" : "0");
+        }
+        header.append(fraction);
+    }
+}
@@ -0,0 +1,44 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import net.wickedshell.ticketz.adapter.timing.RequestTiming.Phase;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Charges the calls of the persistence ports, the lookup of the current user and the model mapping to
+ * their phases of the {@link RequestTiming}. Calls outside of timed requests just proceed.
+ */
+@Aspect
+@Component
+class RequestTimingAspect {
+
+    @Around("execution(* net.wickedshell.ticketz.core.port.driven.persistence.*Persistence.*(..))")
+    public Object timePersistence(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, Phase.DB);
+    }
+
+    @Around("execution(* net.wickedshell.ticketz.core.port.access.UserService.getCurrentUser())")
+    public Object timeCurrentUser(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, Phase.USER);
+    }
+
+    @Around("execution(* org.modelmapper.ModelMapper.map(..))")
+    public Object timeMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, Phase.MAP);
+    }
+
+    private static Object time(ProceedingJoinPoint joinPoint, Phase phase) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        Phase previous = timing.switchTo(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.switchTo(previous);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "requesttimings")
+@RequiredArgsConstructor
+public class RequestTimingEndpoint {
+
+    private final RequestTimings requestTimings;
+
+    @ReadOperation
+    public Map<String, Object> requestTimings() {
+        return requestTimings.describe();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        requestTimings.reset();
+    }
+}
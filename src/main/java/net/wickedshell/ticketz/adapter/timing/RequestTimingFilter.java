@@ -0,0 +1,98 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Times every request in phases, see {@link RequestTiming}, records the phases per endpoint and sends
+ * them as Server-Timing header. Runs first, so the security filter chain is part of the timing. The header
+ * has to be set before the response is committed, rendered views commit while rendering, so it then
+ * reports the phases up to that point. Completed requests are checked against the {@link StatementBudget}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+    // the endpoint key is built from the request, unknown methods and paths must not add endpoints
+    private static final Set<String> METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+    private static final String OTHER_METHOD = "OTHER";
+    private static final String UNMATCHED = "unmatched";
+
+    private final RequestTimings requestTimings;
+
+    @Value("${ticketz.app.serverTimingHeader}")
+    private boolean serverTimingHeader;
+
+    @Value("${ticketz.app.statementBudget}")
+    private int statementBudgetMaxStatements;
+
+    @Value("${ticketz.app.statementBudgetMaxRepetitions}")
+    private int statementBudgetMaxRepetitions;
+
+    @Value("${ticketz.app.statementBudgetEnforced}")
+    private boolean statementBudgetEnforced;
+
+    private StatementBudget statementBudget;
+
+    @PostConstruct
+    void createStatementBudget() {
+        statementBudget = new StatementBudget(statementBudgetMaxStatements, statementBudgetMaxRepetitions,
+                statementBudgetEnforced);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        String endpoint;
+        try {
+            filterChain.doFilter(request, serverTimingHeader ? new ServerTimingResponseWrapper(response, timing) : response);
+        } finally {
+            timing.stop();
+            if (serverTimingHeader && !response.isCommitted()) {
+                response.setHeader(SERVER_TIMING, timing.serverTiming());
+            }
+            endpoint = endpointOf(request);
+            requestTimings.record(endpoint, timing);
+        }
+        // not in finally, an enforced budget must not hide the exception of a failed request
+        statementBudget.check(endpoint, timing);
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        String method = METHODS.contains(request.getMethod()) ? request.getMethod() : OTHER_METHOD;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return method + " " + (pattern == null ? UNMATCHED : pattern);
+    }
+
+    private static final class ServerTimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final RequestTiming timing;
+
+        private ServerTimingResponseWrapper(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(SERVER_TIMING, timing.serverTiming());
+        }
+    }
+}
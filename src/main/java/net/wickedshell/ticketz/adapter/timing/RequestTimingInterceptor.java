@@ -0,0 +1,39 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.wickedshell.ticketz.adapter.timing.RequestTiming.Phase;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Marks the start of the handler and of the view rendering in the {@link RequestTiming}. Everything
+ * before the handler is charged to the filter chain, REST responses are written by the handler.
+ */
+class RequestTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        switchTo(Phase.HANDLER);
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        switchTo(Phase.VIEW);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        switchTo(Phase.FILTER);
+    }
+
+    private static void switchTo(Phase phase) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.switchTo(phase);
+        }
+    }
+}
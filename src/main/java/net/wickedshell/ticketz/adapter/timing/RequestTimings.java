@@ -0,0 +1,116 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import net.wickedshell.ticketz.adapter.timing.RequestTiming.Phase;
+import org.HdrHistogram.AtomicHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Aggregates the phases of timed requests into HdrHistogram latency distributions per endpoint. Recording
+ * is lock free and takes constant memory, a histogram is only created once its phase was entered on the
+ * endpoint, so the count of a phase is the number of requests spending time in it. The number of SQL
+ * statements per request is aggregated alongside.
+ */
+@Component
+class RequestTimings {
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int TOTAL_INDEX = PHASES.length;
+    private static final int STATEMENTS_INDEX = PHASES.length + 1;
+    private static final String STATEMENTS = "statements";
+    // microseconds, longer requests are recorded as one minute, and statements
+    private static final long HIGHEST_VALUE = 60_000_000L;
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+
+    private final Map<String, EndpointTimings> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Records the stopped timing of a request.
+     *
+     * @param endpoint the request method and the matched pattern, must be of bounded cardinality
+     * @param timing   the timing of the request
+     */
+    void record(String endpoint, RequestTiming timing) {
+        EndpointTimings endpointTimings = endpoints.computeIfAbsent(endpoint, key -> new EndpointTimings());
+        for (Phase phase : PHASES) {
+            long nanos = timing.nanos(phase);
+            if (nanos > 0) {
+                endpointTimings.record(phase.ordinal(), nanos / 1_000);
+            }
+        }
+        endpointTimings.record(TOTAL_INDEX, timing.totalNanos() / 1_000);
+        endpointTimings.record(STATEMENTS_INDEX, timing.statements());
+    }
+
+    /**
+     * The percentiles of all phases per endpoint, in milliseconds.
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> description = new TreeMap<>();
+        endpoints.forEach((endpoint, endpointTimings) -> description.put(endpoint, endpointTimings.describe()));
+        return description;
+    }
+
+    void reset() {
+        endpoints.clear();
+    }
+
+    private static final class EndpointTimings {
+
+        private final AtomicReferenceArray<Histogram> histograms = new AtomicReferenceArray<>(PHASES.length + 2);
+
+        void record(int index, long value) {
+            Histogram histogram = histograms.get(index);
+            if (histogram == null) {
+                histograms.compareAndSet(index, null, new AtomicHistogram(HIGHEST_VALUE, SIGNIFICANT_DIGITS));
+                histogram = histograms.get(index);
+            }
+            histogram.recordValue(Math.min(value, HIGHEST_VALUE));
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            for (Phase phase : PHASES) {
+                Histogram histogram = histograms.get(phase.ordinal());
+                if (histogram != null) {
+                    description.put(phase.metricName(), describe(histogram));
+                }
+            }
+            Histogram total = histograms.get(TOTAL_INDEX);
+            if (total != null) {
+                description.put(RequestTiming.TOTAL, describe(total));
+            }
+            Histogram statements = histograms.get(STATEMENTS_INDEX);
+            if (statements != null) {
+                description.put(STATEMENTS, describe(statements, 1));
+            }
+            return description;
+        }
+
+        private static Map<String, Object> describe(Histogram histogram) {
+            // microseconds as milliseconds
+            return describe(histogram, 1_000);
+        }
+
+        private static Map<String, Object> describe(Histogram histogram, double unit) {
+            // a copy, so all values describe the same recordings
+            Histogram snapshot = histogram.copy();
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("count", snapshot.getTotalCount());
+            for (int percentile = 0; percentile < PERCENTILES.length; percentile++) {
+                description.put(PERCENTILE_NAMES[percentile], snapshot.getValueAtPercentile(PERCENTILES[percentile]) / unit);
+            }
+            description.put("max", snapshot.getMaxValue() / unit);
+            description.put("mean", Math.round(snapshot.getMean() / unit * 1_000) / 1_000.0);
+            return description;
+        }
+    }
+}
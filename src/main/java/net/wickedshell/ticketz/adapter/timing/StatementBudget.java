@@ -0,0 +1,50 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Checks the SQL statements of a finished request against a budget: the number of statements, and how
+ * often the same statement may run, more often is a suspected N+1 query. Violations are logged with the
+ * endpoint, when enforced they fail the request instead, meant for tests.
+ */
+final class StatementBudget {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementBudget.class);
+
+    private final int maxStatements;
+    private final int maxRepetitions;
+    private final boolean enforced;
+
+    StatementBudget(int maxStatements, int maxRepetitions, boolean enforced) {
+        this.maxStatements = maxStatements;
+        this.maxRepetitions = maxRepetitions;
+        this.enforced = enforced;
+    }
+
+    void check(String endpoint, RequestTiming timing) {
+        String violation = violationOf(endpoint, timing);
+        if (violation == null) {
+            return;
+        }
+        if (enforced) {
+            throw new StatementBudgetExceededException(violation);
+        }
+        LOGGER.warn(violation);
+    }
+
+    private String violationOf(String endpoint, RequestTiming timing) {
+        Map.Entry<String, Integer> mostRepeated = timing.mostRepeatedStatement();
+        if (mostRepeated != null && mostRepeated.getValue() > maxRepetitions) {
+            return "Suspected N+1 query on %s, %d of %d statements were: %s".formatted(endpoint,
+                    mostRepeated.getValue(), timing.statements(), mostRepeated.getKey());
+        }
+        if (timing.statements() > maxStatements) {
+            return "Statement budget exceeded on %s, %d statements, at most %d expected".formatted(endpoint,
+                    timing.statements(), maxStatements);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,8 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
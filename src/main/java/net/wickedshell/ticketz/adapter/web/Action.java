@@ -10,6 +10,7 @@ public class Action {
     public static final String ACTION_LOGIN = "/login";
     public static final String ACTION_SHOW_SIGNUP = "/show_signup";
     public static final String ACTION_SIGNUP = "/signup";
+    public static final String ACTION_SHOW_DASHBOARD = "/secure/dashboard";
     public static final String ACTION_SHOW_TICKET_LIST = "/secure/tickets";
     public static final String ACTION_NEW_TICKET = "/secure/tickets/" + TICKET_NUMBER_NEW;
     public static final String ACTION_SHOW_TICKET = "/secure/tickets/{ticketNumber}";
@@ -5,14 +5,22 @@ public class View {
     public static final String VIEW_LOGIN = "/login";
     public static final String VIEW_SIGNUP = "/signup";
     public static final String VIEW_ERROR = "/error";
+    public static final String VIEW_DASHBOARD = "/dashboard";
     public static final String VIEW_TICKET_LIST = "/ticket_list";
     public static final String VIEW_TICKET = "/ticket";
+    public static final String VIEW_TICKET_CONTENT = VIEW_TICKET + " :: content";
+    public static final String VIEW_TICKET_COMMENTS = VIEW_TICKET + " :: comments";
     public static final String VIEW_PROJECT_LIST = "/project_list";
     public static final String VIEW_PROJECT = "/project";
     public static final String VIEW_PREFERENCES = "/preferences";
     public static final String VIEW_USER_LIST = "/user_list";
     public static final String VIEW_USER = "/user";
 
+    /**
+     * Header sent by the page scripts when only a fragment of a view is requested (same name as used by htmx).
+     */
+    public static final String HEADER_FRAGMENT_REQUEST = "HX-Request";
+
     private View() {
         // private constructor to prevent instantiation
     }
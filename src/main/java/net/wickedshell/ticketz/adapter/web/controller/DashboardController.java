@@ -0,0 +1,54 @@
+package net.wickedshell.ticketz.adapter.web.controller;
+
+import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.web.model.ProjectTicketCountsWeb;
+import net.wickedshell.ticketz.core.model.TicketCount;
+import net.wickedshell.ticketz.core.model.TicketState;
+import net.wickedshell.ticketz.core.port.access.TicketService;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.wickedshell.ticketz.adapter.web.Action.ACTION_SHOW_DASHBOARD;
+import static net.wickedshell.ticketz.adapter.web.View.VIEW_DASHBOARD;
+
+@Controller
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private static final String ATTRIBUTE_NAME_STATES = "states";
+    private static final String ATTRIBUTE_NAME_PROJECT_TICKET_COUNTS = "projectTicketCounts";
+
+    private final TicketService ticketService;
+
+    @GetMapping(value = ACTION_SHOW_DASHBOARD)
+    public String showDashboard() {
+        return VIEW_DASHBOARD;
+    }
+
+    @ModelAttribute(ATTRIBUTE_NAME_STATES)
+    public List<String> populateStates() {
+        return Arrays.stream(TicketState.values()).map(TicketState::name).toList();
+    }
+
+    @ModelAttribute(ATTRIBUTE_NAME_PROJECT_TICKET_COUNTS)
+    public List<ProjectTicketCountsWeb> populateProjectTicketCounts() {
+        // the counts are ordered by project code, so one pass builds the rows in order
+        Map<String, ProjectTicketCountsWeb> projectTicketCounts = new LinkedHashMap<>();
+        for (TicketCount ticketCount : ticketService.getTicketCounts()) {
+            ProjectTicketCountsWeb counts = projectTicketCounts.computeIfAbsent(ticketCount.getProjectCode(), projectCode -> {
+                ProjectTicketCountsWeb projectCounts = new ProjectTicketCountsWeb();
+                projectCounts.setProjectCode(projectCode);
+                return projectCounts;
+            });
+            counts.getCountsByState().put(ticketCount.getState().name(), ticketCount.getCount());
+            counts.setTotal(counts.getTotal() + ticketCount.getCount());
+        }
+        return List.copyOf(projectTicketCounts.values());
+    }
+}
@@ -3,6 +3,7 @@ package net.wickedshell.ticketz.adapter.web.controller;
 import jakarta.servlet.http.HttpServletRequest;
 import net.wickedshell.ticketz.adapter.web.View;
 import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +23,10 @@ public class ExceptionAdvice {
         modelAndView.addObject("url", request.getRequestURL().toString());
         modelAndView.addObject("timestamp", Instant.now());
         modelAndView.addObject("message", exception.getMessage());
+        if (request.getHeader(View.HEADER_FRAGMENT_REQUEST) != null) {
+            // let the page script fall back to a regular request instead of inserting the error page
+            modelAndView.setStatus(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
         return modelAndView;
     }
 }
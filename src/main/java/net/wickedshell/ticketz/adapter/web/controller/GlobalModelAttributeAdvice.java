@@ -1,5 +1,6 @@
 package net.wickedshell.ticketz.adapter.web.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import net.wickedshell.ticketz.adapter.web.model.UserWeb;
 import net.wickedshell.ticketz.core.port.access.UserService;
@@ -12,6 +13,8 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
+import static net.wickedshell.ticketz.adapter.web.View.HEADER_FRAGMENT_REQUEST;
+
 @ControllerAdvice(annotations = Controller.class)
 @RequiredArgsConstructor
 public class GlobalModelAttributeAdvice {
@@ -24,7 +27,11 @@ public class GlobalModelAttributeAdvice {
     private final ModelMapper mapper;
 
     @ModelAttribute(ATTRIBUTE_NAME_CURRENT_USER)
-    public UserWeb populateCurrentUser() {
+    public UserWeb populateCurrentUser(HttpServletRequest request) {
+        if (request.getHeader(HEADER_FRAGMENT_REQUEST) != null) {
+            // fragments do not render the header, skip the user lookup
+            return null;
+        }
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()
                 && !"anonymousUser".equals(authentication.getPrincipal())) {
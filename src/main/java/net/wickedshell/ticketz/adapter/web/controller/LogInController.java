@@ -6,9 +6,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import net.wickedshell.ticketz.adapter.web.model.Login;
+import net.wickedshell.ticketz.core.exception.ServiceUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -77,6 +80,13 @@ public class LogInController {
                 successHandler.onAuthenticationSuccess(request, response, authentication);
                 return null; // Response is already committed by successHandler
             }
+        } catch (ServiceUnavailableException exception) {
+            LOGGER.warn(exception.getMessage());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            String message = messageSource.getMessage("message.login_busy", null, request.getLocale());
+            ModelAndView modelAndView = new ModelAndView(VIEW_LOGIN, "error", message);
+            modelAndView.setStatus(HttpStatus.SERVICE_UNAVAILABLE);
+            return modelAndView;
         } catch (AuthenticationException | ServletException | IOException exception) {
             LOGGER.info(exception.getMessage());
         }
@@ -8,9 +8,11 @@ import net.wickedshell.ticketz.adapter.web.model.CommentWeb;
 import net.wickedshell.ticketz.adapter.web.model.TicketWeb;
 import net.wickedshell.ticketz.adapter.web.model.UserWeb;
 import net.wickedshell.ticketz.adapter.web.model.ProjectWeb;
+import net.wickedshell.ticketz.core.exception.UpdateConflictException;
 import net.wickedshell.ticketz.core.model.Comment;
 import net.wickedshell.ticketz.core.model.Project;
 import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketDetails;
 import net.wickedshell.ticketz.core.model.TicketState;
 import net.wickedshell.ticketz.core.port.access.CommentService;
 import net.wickedshell.ticketz.core.port.access.ProjectService;
@@ -19,6 +21,7 @@ import net.wickedshell.ticketz.core.port.access.UserService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.MessageSource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -30,7 +33,10 @@ import java.util.List;
 import java.util.Set;
 
 import static net.wickedshell.ticketz.adapter.web.Action.*;
+import static net.wickedshell.ticketz.adapter.web.View.HEADER_FRAGMENT_REQUEST;
 import static net.wickedshell.ticketz.adapter.web.View.VIEW_TICKET;
+import static net.wickedshell.ticketz.adapter.web.View.VIEW_TICKET_COMMENTS;
+import static net.wickedshell.ticketz.adapter.web.View.VIEW_TICKET_CONTENT;
 import static net.wickedshell.ticketz.core.model.TicketState.*;
 
 @Controller
@@ -39,9 +45,13 @@ public class TicketController {
 
     private static final String ATTRIBUTE_NAME_TICKET = "ticket";
     private static final String ATTRIBUTE_NAME_MESSAGE = "message";
+    private static final String ATTRIBUTE_NAME_ERROR = "error";
     private static final String ATTRIBUTE_NAME_COMMENT_ERROR = "commentError";
     private static final String ATTRIBUTE_NAME_COMMENTS = "comments";
     private static final String ATTRIBUTE_NAME_PROJECTS = "projects";
+    private static final String ATTRIBUTE_NAME_MORE_COMMENTS = "moreComments";
+    private static final String ATTRIBUTE_NAME_FRAGMENT_MESSAGE = "fragmentMessage";
+    private static final int COMMENT_LIMIT = 20;
 
     @Qualifier("webModelMapper")
     private final ModelMapper mapper;
@@ -66,21 +76,8 @@ public class TicketController {
     }
 
     @GetMapping(ACTION_SHOW_TICKET)
-    public String showTicket(@PathVariable String ticketNumber, Model model) {
-        Ticket existingTicket = ticketService.loadByTicketNumber(ticketNumber);
-        TicketWeb ticket = mapper.map(existingTicket, TicketWeb.class);
-        ticket.setNewTicket(false);
-        Project project = existingTicket.getProject();
-        ticket.setProjectCode(project.getCode());
-        ticket.setProjectName(project.getName());
-        ticket.setProjectActive(project.isActive());
-        ticket.setCanEdit(ticketService.evaluateCanBeEdited(existingTicket));
-        updateWebTicketPossibleTransitions(ticket, existingTicket.getPossibleNextStates());
-        List<Comment> comments = commentService.findByTicketNumber(ticketNumber);
-        model.addAttribute(ATTRIBUTE_NAME_TICKET, ticket);
-        model.addAttribute(ATTRIBUTE_NAME_COMMENTS, comments.stream()
-                .map(comment -> mapper.map(comment, CommentWeb.class))
-                .toList());
+    public String showTicket(@PathVariable String ticketNumber, @RequestParam(defaultValue = "false") boolean allComments, Model model) {
+        populateTicketDetails(ticketNumber, allComments, model);
         return VIEW_TICKET;
     }
 
@@ -128,12 +125,26 @@ public class TicketController {
         }
         existingTicket.setTitle(ticket.getTitle());
         existingTicket.setDescription(ticket.getDescription());
-        ticketService.update(existingTicket);
+        // the version the form was rendered with, so concurrent changes are merged instead of overwritten
+        existingTicket.setVersion(ticket.getVersion());
+        try {
+            ticketService.update(existingTicket);
+        } catch (UpdateConflictException exception) {
+            redirectAttributes.addFlashAttribute(ATTRIBUTE_NAME_ERROR,
+                    messageSource.getMessage("message.ticket.update_conflict", new String[]{ticketNumber}, request.getLocale()));
+            return redirectTo(ACTION_SHOW_TICKET.replace("{ticketNumber}", ticketNumber));
+        }
         redirectAttributes.addFlashAttribute(ATTRIBUTE_NAME_MESSAGE,
                 messageSource.getMessage("message.ticket.save_succeeded", new String[]{ticketNumber}, request.getLocale()));
         return redirectTo(ACTION_SHOW_TICKET_LIST);
     }
 
+    @GetMapping(value = Action.ACTION_DELETE_TICKET, headers = HEADER_FRAGMENT_REQUEST)
+    public ResponseEntity<Void> deleteTicketFragment(@PathVariable String ticketNumber) {
+        ticketService.deleteByTicketNumber(ticketNumber);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping(ACTION_SAVE_TICKET_STATUS)
     public String changeTicketStatus(@PathVariable String ticketNumber, @RequestParam TicketState newState, HttpServletRequest request, RedirectAttributes redirectAttributes) {
         Ticket existingTicket = ticketService.loadByTicketNumber(ticketNumber);
@@ -144,6 +155,17 @@ public class TicketController {
         return redirectTo(ACTION_SHOW_TICKET_LIST);
     }
 
+    @PostMapping(value = ACTION_SAVE_TICKET_STATUS, headers = HEADER_FRAGMENT_REQUEST)
+    public String changeTicketStatusFragment(@PathVariable String ticketNumber, @RequestParam TicketState newState, HttpServletRequest request, Model model) {
+        Ticket existingTicket = ticketService.loadByTicketNumber(ticketNumber);
+        existingTicket.setState(newState);
+        ticketService.update(existingTicket);
+        populateTicketDetails(ticketNumber, false, model);
+        model.addAttribute(ATTRIBUTE_NAME_FRAGMENT_MESSAGE,
+                messageSource.getMessage("message.ticket.status_changed", new String[]{ticketNumber}, request.getLocale()));
+        return VIEW_TICKET_CONTENT;
+    }
+
     @PostMapping(ACTION_SAVE_TICKET_COMMENT)
     public String addTicketComment(@PathVariable String ticketNumber, @RequestParam String commentText, HttpServletRequest request, RedirectAttributes redirectAttributes) {
         if (commentText == null || commentText.isBlank()) {
@@ -161,6 +183,46 @@ public class TicketController {
         return redirectTo(ACTION_SHOW_TICKET.replace("{ticketNumber}", ticketNumber));
     }
 
+    @PostMapping(value = ACTION_SAVE_TICKET_COMMENT, headers = HEADER_FRAGMENT_REQUEST)
+    public String addTicketCommentFragment(@PathVariable String ticketNumber, @RequestParam String commentText, HttpServletRequest request, Model model) {
+        if (commentText == null || commentText.isBlank()) {
+            model.addAttribute(ATTRIBUTE_NAME_COMMENT_ERROR,
+                    messageSource.getMessage("message.ticket.comment_empty", null, request.getLocale()));
+        } else {
+            Ticket ticket = ticketService.loadByTicketNumber(ticketNumber);
+            Comment comment = new Comment();
+            comment.setText(commentText);
+            comment.setAuthor(userService.getCurrentUser());
+            commentService.create(comment, ticket);
+        }
+        populateTicketDetails(ticketNumber, false, model);
+        return VIEW_TICKET_COMMENTS;
+    }
+
+    private void populateTicketDetails(String ticketNumber, boolean allComments, Model model) {
+        TicketDetails ticketDetails = ticketService.loadDetailsByTicketNumber(ticketNumber, COMMENT_LIMIT);
+        Ticket existingTicket = ticketDetails.getTicket();
+        TicketWeb ticket = mapper.map(existingTicket, TicketWeb.class);
+        ticket.setNewTicket(false);
+        Project project = existingTicket.getProject();
+        ticket.setProjectCode(project.getCode());
+        ticket.setProjectName(project.getName());
+        ticket.setProjectActive(project.isActive());
+        ticket.setCanEdit(ticketDetails.isCanEdit());
+        updateWebTicketPossibleTransitions(ticket, existingTicket.getPossibleNextStates());
+        List<Comment> comments = ticketDetails.getComments();
+        boolean moreComments = ticketDetails.isMoreComments();
+        if (allComments && moreComments) {
+            comments = commentService.findByTicketNumber(ticketNumber);
+            moreComments = false;
+        }
+        model.addAttribute(ATTRIBUTE_NAME_TICKET, ticket);
+        model.addAttribute(ATTRIBUTE_NAME_COMMENTS, comments.stream()
+                .map(comment -> mapper.map(comment, CommentWeb.class))
+                .toList());
+        model.addAttribute(ATTRIBUTE_NAME_MORE_COMMENTS, moreComments);
+    }
+
     private void updateWebTicketPossibleTransitions(TicketWeb ticketWeb, Set<TicketState> possibleNextStates) {
         ticketWeb.setCanGoIntoProgress(possibleNextStates.contains(IN_PROGRESS));
         ticketWeb.setCanGoIntoFixed(possibleNextStates.contains(FIXED));
@@ -170,8 +232,7 @@ public class TicketController {
     }
 
     private List<ProjectWeb> getActiveProjects() {
-        return projectService.listAll().stream()
-                .filter(Project::isActive)
+        return projectService.listActive().stream()
                 .map(project -> mapper.map(project, ProjectWeb.class))
                 .toList();
     }
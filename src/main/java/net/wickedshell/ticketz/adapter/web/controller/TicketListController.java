@@ -1,7 +1,18 @@
 package net.wickedshell.ticketz.adapter.web.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.web.model.FacetValueWeb;
+import net.wickedshell.ticketz.adapter.web.model.TicketFacetWeb;
 import net.wickedshell.ticketz.adapter.web.model.TicketWeb;
+import net.wickedshell.ticketz.adapter.web.rendering.TicketRowRenderer;
+import net.wickedshell.ticketz.core.exception.ValidationException;
+import net.wickedshell.ticketz.core.model.FacetCount;
+import net.wickedshell.ticketz.core.model.TicketFacet;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
+import net.wickedshell.ticketz.core.model.TicketState;
 import net.wickedshell.ticketz.core.port.access.TicketService;
 
 import org.modelmapper.ModelMapper;
@@ -10,8 +21,13 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static net.wickedshell.ticketz.adapter.web.Action.ACTION_SHOW_TICKET_LIST;
 import static net.wickedshell.ticketz.adapter.web.View.VIEW_TICKET_LIST;
@@ -21,20 +37,146 @@ import static net.wickedshell.ticketz.adapter.web.View.VIEW_TICKET_LIST;
 public class TicketListController {
 
     private static final String ATTRIBUTE_NAME_TICKETS = "tickets";
+    private static final String ATTRIBUTE_NAME_TICKET_ROWS = "ticketRows";
     private static final String ATTRIBUTE_NAME_SEARCH = "search";
+    private static final String ATTRIBUTE_NAME_ERROR = "error";
+    private static final String ATTRIBUTE_NAME_FILTERS = "filters";
+    private static final String ATTRIBUTE_NAME_FACETS = "facets";
+    private static final String ATTRIBUTE_NAME_TOTAL_HITS = "totalHits";
+    private static final String ATTRIBUTE_NAME_PREVIOUS_PAGE_URL = "previousPageUrl";
+    private static final String ATTRIBUTE_NAME_NEXT_PAGE_URL = "nextPageUrl";
+    private static final String ATTRIBUTE_NAME_ARCHIVED = "archived";
+    private static final String ATTRIBUTE_NAME_ARCHIVE_TOGGLE_URL = "archiveToggleUrl";
+
+    private static final String PARAMETER_SEARCH = "search";
+    private static final String PARAMETER_PAGE = "page";
+    private static final String PARAMETER_ARCHIVED = "archived";
+    private static final Map<TicketFacet, String> FACET_PARAMETERS = Map.of(
+            TicketFacet.STATE, "state",
+            TicketFacet.PROJECT, "project",
+            TicketFacet.AUTHOR, "author",
+            TicketFacet.EDITOR, "editor");
+    private static final int PAGE_SIZE = 100;
 
     private final TicketService ticketService;
+    private final TicketRowRenderer ticketRowRenderer;
 
     @Qualifier("webModelMapper")
     private final ModelMapper mapper;
 
     @GetMapping(value = ACTION_SHOW_TICKET_LIST)
-    public String showTicketList(@RequestParam(required = false) String search, Model model) {
-        List<TicketWeb> tickets = ticketService.search(search).stream()
+    public String showTicketList(@RequestParam(required = false) String search,
+                                 @RequestParam(required = false) TicketState state,
+                                 @RequestParam(required = false) String project,
+                                 @RequestParam(required = false) String author,
+                                 @RequestParam(required = false) String editor,
+                                 @RequestParam(defaultValue = "false") boolean archived,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 Model model, HttpServletRequest request, HttpServletResponse response) {
+        TicketSearch ticketSearch = new TicketSearch();
+        ticketSearch.setSearchText(search);
+        ticketSearch.setState(state);
+        ticketSearch.setProjectCode(blankToNull(project));
+        ticketSearch.setAuthorEmail(blankToNull(author));
+        ticketSearch.setEditorEmail(blankToNull(editor));
+        ticketSearch.setArchived(archived);
+        ticketSearch.setPage(Math.max(0, page));
+        ticketSearch.setSize(PAGE_SIZE);
+        TicketSearchResult searchResult;
+        try {
+            searchResult = ticketService.searchFaceted(ticketSearch);
+        } catch (ValidationException exception) {
+            // an invalid query term, show the message instead of the error page
+            model.addAttribute(ATTRIBUTE_NAME_ERROR, exception.getMessage());
+            searchResult = new TicketSearchResult();
+        }
+
+        // the facet filters currently applied, in request parameter form
+        Map<String, String> filters = new LinkedHashMap<>();
+        putIfPresent(filters, FACET_PARAMETERS.get(TicketFacet.STATE), state != null ? state.name() : null);
+        putIfPresent(filters, FACET_PARAMETERS.get(TicketFacet.PROJECT), ticketSearch.getProjectCode());
+        putIfPresent(filters, FACET_PARAMETERS.get(TicketFacet.AUTHOR), ticketSearch.getAuthorEmail());
+        putIfPresent(filters, FACET_PARAMETERS.get(TicketFacet.EDITOR), ticketSearch.getEditorEmail());
+        // the archive is searched like another filter, so it is kept by the facet and paging links
+        Map<String, String> archiveToggleFilters = new LinkedHashMap<>(filters);
+        if (archived) {
+            filters.put(PARAMETER_ARCHIVED, Boolean.TRUE.toString());
+        } else {
+            archiveToggleFilters.put(PARAMETER_ARCHIVED, Boolean.TRUE.toString());
+        }
+
+        List<TicketWeb> tickets = searchResult.getTickets().stream()
                 .map(ticket -> mapper.map(ticket, TicketWeb.class))
                 .toList();
         model.addAttribute(ATTRIBUTE_NAME_TICKETS, tickets);
+        model.addAttribute(ATTRIBUTE_NAME_TICKET_ROWS, ticketRowRenderer.render(tickets, request, response));
         model.addAttribute(ATTRIBUTE_NAME_SEARCH, search);
+        model.addAttribute(ATTRIBUTE_NAME_FILTERS, filters);
+        model.addAttribute(ATTRIBUTE_NAME_FACETS, toFacetsWeb(searchResult, search, filters, request));
+        model.addAttribute(ATTRIBUTE_NAME_TOTAL_HITS, searchResult.getTotalHits());
+        model.addAttribute(ATTRIBUTE_NAME_ARCHIVED, archived);
+        model.addAttribute(ATTRIBUTE_NAME_ARCHIVE_TOGGLE_URL, listUrl(request, search, archiveToggleFilters, 0));
+        if (ticketSearch.getPage() > 0) {
+            model.addAttribute(ATTRIBUTE_NAME_PREVIOUS_PAGE_URL,
+                    listUrl(request, search, filters, ticketSearch.getPage() - 1));
+        }
+        if ((long) (ticketSearch.getPage() + 1) * PAGE_SIZE < searchResult.getTotalHits()) {
+            model.addAttribute(ATTRIBUTE_NAME_NEXT_PAGE_URL,
+                    listUrl(request, search, filters, ticketSearch.getPage() + 1));
+        }
         return VIEW_TICKET_LIST;
     }
+
+    private List<TicketFacetWeb> toFacetsWeb(TicketSearchResult searchResult, String search,
+                                             Map<String, String> filters, HttpServletRequest request) {
+        return searchResult.getFacets().entrySet().stream()
+                .filter(facet -> !facet.getValue().isEmpty())
+                .map(facet -> {
+                    String name = FACET_PARAMETERS.get(facet.getKey());
+                    TicketFacetWeb facetWeb = new TicketFacetWeb();
+                    facetWeb.setName(name);
+                    facetWeb.setMessageKey("table.header." + name);
+                    for (FacetCount facetCount : facet.getValue()) {
+                        // selecting a value drills down, selecting it again removes the filter
+                        boolean selected = facetCount.getValue().equals(filters.get(name));
+                        Map<String, String> valueFilters = new LinkedHashMap<>(filters);
+                        if (selected) {
+                            valueFilters.remove(name);
+                        } else {
+                            valueFilters.put(name, facetCount.getValue());
+                        }
+                        FacetValueWeb valueWeb = new FacetValueWeb();
+                        valueWeb.setValue(facetCount.getValue());
+                        valueWeb.setLabel(facetCount.getLabel());
+                        valueWeb.setCount(facetCount.getCount());
+                        valueWeb.setSelected(selected);
+                        valueWeb.setUrl(listUrl(request, search, valueFilters, 0));
+                        facetWeb.getValues().add(valueWeb);
+                    }
+                    return facetWeb;
+                })
+                .toList();
+    }
+
+    private String listUrl(HttpServletRequest request, String search, Map<String, String> filters, int page) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath(request.getContextPath() + ACTION_SHOW_TICKET_LIST);
+        if (search != null && !search.isBlank()) {
+            builder.queryParam(PARAMETER_SEARCH, URLEncoder.encode(search, StandardCharsets.UTF_8));
+        }
+        filters.forEach((name, value) -> builder.queryParam(name, URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        if (page > 0) {
+            builder.queryParam(PARAMETER_PAGE, page);
+        }
+        return builder.build(true).toUriString();
+    }
+
+    private static void putIfPresent(Map<String, String> filters, String name, String value) {
+        if (value != null) {
+            filters.put(name, value);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
 }
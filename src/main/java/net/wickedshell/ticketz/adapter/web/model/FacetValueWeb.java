@@ -0,0 +1,20 @@
+package net.wickedshell.ticketz.adapter.web.model;
+
+import lombok.Data;
+
+@Data
+public class FacetValueWeb {
+
+    private String value;
+
+    private String label;
+
+    private long count;
+
+    private boolean selected;
+
+    /**
+     * Link to the ticket list with this value selected, or deselected if it is selected already.
+     */
+    private String url;
+}
@@ -0,0 +1,16 @@
+package net.wickedshell.ticketz.adapter.web.model;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class ProjectTicketCountsWeb {
+
+    private String projectCode;
+
+    private Map<String, Long> countsByState = new HashMap<>();
+
+    private long total;
+}
@@ -0,0 +1,19 @@
+package net.wickedshell.ticketz.adapter.web.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TicketFacetWeb {
+
+    /**
+     * Name of the request parameter filtering by this facet.
+     */
+    private String name;
+
+    private String messageKey;
+
+    private List<FacetValueWeb> values = new ArrayList<>();
+}
@@ -24,6 +24,8 @@ public class TicketWeb {
     private String projectCode;
     private String projectName;
     private boolean projectActive;
+    private long version;
+    private boolean archived;
 
     private boolean newTicket;
     private boolean canEdit = false;
@@ -0,0 +1,106 @@
+package net.wickedshell.ticketz.adapter.web.rendering;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.adapter.web.model.TicketWeb;
+import net.wickedshell.ticketz.adapter.web.model.UserWeb;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the rows of the ticket list and keeps the rendered HTML in a bounded LRU cache.
+ * A row is only rendered again if something it displays has changed.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketRowRenderer {
+
+    private static final String TEMPLATE_TICKET_ROW = "/fragments/ticket_row";
+    private static final Set<String> FRAGMENT_ROW = Set.of("row");
+    private static final String VARIABLE_TICKET = "ticket";
+
+    private final ITemplateEngine templateEngine;
+
+    @Value("${ticketz.app.ticketRowCacheSize}")
+    private int cacheSize;
+
+    private final Map<TicketRowKey, String> renderedRows = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TicketRowKey, String> eldest) {
+                    return size() > cacheSize;
+                }
+            });
+
+    /**
+     * Render the table rows for the given tickets, reusing cached rows where possible.
+     *
+     * @param tickets  the tickets to render
+     * @param request  the current request (locale and context path)
+     * @param response the current response
+     * @return the rendered HTML of each row, in the order of the given tickets
+     */
+    public List<String> render(List<TicketWeb> tickets, HttpServletRequest request, HttpServletResponse response) {
+        Locale locale = request.getLocale();
+        String contextPath = request.getContextPath();
+        WebContext context = null;
+        List<String> rows = new ArrayList<>(tickets.size());
+        for (TicketWeb ticket : tickets) {
+            TicketRowKey key = TicketRowKey.of(ticket, locale, contextPath);
+            String row = renderedRows.get(key);
+            if (row == null) {
+                // render outside the cache lock, a concurrent duplicate render is harmless
+                if (context == null) {
+                    context = createContext(request, response, locale);
+                }
+                context.setVariable(VARIABLE_TICKET, ticket);
+                row = templateEngine.process(TEMPLATE_TICKET_ROW, FRAGMENT_ROW, context);
+                renderedRows.put(key, row);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    int getCachedRowCount() {
+        return renderedRows.size();
+    }
+
+    private WebContext createContext(HttpServletRequest request, HttpServletResponse response, Locale locale) {
+        JakartaServletWebApplication application = JakartaServletWebApplication.buildApplication(request.getServletContext());
+        return new WebContext(application.buildExchange(request, response), locale);
+    }
+
+    /**
+     * Everything a rendered row depends on. Names of author and editor are part of the key since they
+     * can change without the ticket version changing; project activity controls the row actions.
+     */
+    private record TicketRowKey(String ticketNumber, long version, String title, String state,
+                                String projectCode, boolean projectActive,
+                                String authorName, String editorName,
+                                Locale locale, String contextPath) {
+
+        static TicketRowKey of(TicketWeb ticket, Locale locale, String contextPath) {
+            return new TicketRowKey(ticket.getTicketNumber(), ticket.getVersion(), ticket.getTitle(), ticket.getState(),
+                    ticket.getProjectCode(), ticket.isProjectActive(),
+                    fullName(ticket.getAuthor()), fullName(ticket.getEditor()),
+                    locale, contextPath);
+        }
+
+        private static String fullName(UserWeb user) {
+            return user == null ? null : user.getFirstname() + ' ' + user.getLastname();
+        }
+    }
+}
@@ -1,18 +1,39 @@
 package net.wickedshell.ticketz.core;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.core.CommentWriteBehindQueue.PendingComments;
+import net.wickedshell.ticketz.core.exception.ServiceException;
 import net.wickedshell.ticketz.core.model.Comment;
 import net.wickedshell.ticketz.core.model.Ticket;
 import net.wickedshell.ticketz.core.port.access.CommentService;
 import net.wickedshell.ticketz.core.port.driven.persistence.CommentPersistence;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Implementation of CommentService.
+ * <p>
+ * With {@code ticketz.app.commentWriteBehind} enabled, comment batches created outside a transaction
+ * are queued and written by a background writer, which commits everything queued in the meantime in
+ * one transaction (group commit). A full queue makes the caller write its comments itself.
+ * <p>
+ * Concurrent identical comment reads share one database load, see {@link SingleFlight}.
+ */
 @Service
 @Validated
 @Transactional
@@ -20,16 +41,114 @@ import java.util.List;
 public class CommentServiceImpl implements CommentService {
 
     private final CommentPersistence commentPersistence;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${ticketz.app.commentWriteBehind}")
+    private boolean writeBehind;
+
+    @Value("${ticketz.app.commentWriteBehindCapacity}")
+    private int writeBehindCapacity;
+
+    @Value("${ticketz.app.commentWriteBehindMaxGroupSize}")
+    private int writeBehindMaxGroupSize;
+
+    private CommentWriteBehindQueue writeBehindQueue;
+
+    private final SingleFlight<String, List<Comment>> commentLoads = new SingleFlight<>(List::copyOf);
+    private final SingleFlight<CommentPage, List<Comment>> commentPageLoads = new SingleFlight<>(List::copyOf);
+
+    @PostConstruct
+    void startWriteBehind() {
+        if (writeBehind) {
+            writeBehindQueue = new CommentWriteBehindQueue(writeBehindCapacity, writeBehindMaxGroupSize, this::writeGroup);
+            writeBehindQueue.start();
+        }
+    }
+
+    @PreDestroy
+    void stopWriteBehind() throws InterruptedException {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.stop();
+        }
+    }
 
     @Override
     @Transactional(readOnly = true)
     public List<Comment> findByTicketNumber(String ticketNumber) {
-        return commentPersistence.findByTicketNumber(ticketNumber);
+        return commentLoads.load(ticketNumber, () -> commentPersistence.findByTicketNumber(ticketNumber));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> findByTicketNumber(String ticketNumber, int page, int size) {
+        return commentPageLoads.load(new CommentPage(ticketNumber, page, size),
+                () -> commentPersistence.findByTicketNumber(ticketNumber, page, size));
     }
 
     @Override
     public void create(Comment comment, Ticket ticket) {
         commentPersistence.create(comment, ticket);
+        invalidateReadsAfterCommit();
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void createAll(List<Comment> comments, Ticket ticket) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // part of the caller's transaction
+            commentPersistence.createAll(comments, ticket);
+            invalidateReadsAfterCommit();
+            return;
+        }
+        try {
+            createAllAsync(comments, ticket).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServiceException("Writing comments failed for ticket: " + ticket.getTicketNumber(), exception.getCause());
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Void> createAllAsync(List<Comment> comments, Ticket ticket) {
+        if (writeBehindQueue != null) {
+            CompletableFuture<Void> durable = writeBehindQueue.offer(comments, ticket);
+            if (durable != null) {
+                return durable;
+            }
+        }
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> commentPersistence.createAll(comments, ticket));
+        invalidateReads();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void writeGroup(List<PendingComments> group) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> group.forEach(
+                pendingComments -> commentPersistence.createAll(pendingComments.comments(), pendingComments.ticket())));
+        invalidateReads();
+    }
+
+    private void invalidateReadsAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateReads();
+                }
+            });
+        } else {
+            invalidateReads();
+        }
+    }
+
+    private void invalidateReads() {
+        commentLoads.invalidate();
+        commentPageLoads.invalidate();
+    }
+
+    private record CommentPage(String ticketNumber, int page, int size) {
+    }
 }
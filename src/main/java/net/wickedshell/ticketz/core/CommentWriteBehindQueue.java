@@ -0,0 +1,125 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.model.Comment;
+import net.wickedshell.ticketz.core.model.Ticket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bounded buffer of comments waiting to be written. A single background writer takes everything queued
+ * while the previous group was written, up to a maximum group size, and hands it to the group writer
+ * to be committed at once. A failing group is retried comment batch by comment batch, so one invalid
+ * batch does not fail the others.
+ */
+final class CommentWriteBehindQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommentWriteBehindQueue.class);
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final BlockingQueue<PendingComments> pending;
+    private final int maxGroupSize;
+    private final Consumer<List<PendingComments>> groupWriter;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    CommentWriteBehindQueue(int capacity, int maxGroupSize, Consumer<List<PendingComments>> groupWriter) {
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        this.maxGroupSize = maxGroupSize;
+        this.groupWriter = groupWriter;
+        this.writer = new Thread(this::writeQueued, "comment-write-behind");
+        this.writer.setDaemon(true);
+    }
+
+    void start() {
+        writer.start();
+    }
+
+    /**
+     * Queue comments to be written by the background writer.
+     *
+     * @return completes once the comments are durable, {@code null} if the buffer is full or stopped
+     */
+    CompletableFuture<Void> offer(List<Comment> comments, Ticket ticket) {
+        if (!running) {
+            return null;
+        }
+        PendingComments pendingComments = new PendingComments(comments, ticket, new CompletableFuture<>());
+        return pending.offer(pendingComments) ? pendingComments.durable() : null;
+    }
+
+    /**
+     * Stop the background writer after it wrote everything queued so far.
+     */
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join();
+        // offered while stopping
+        List<PendingComments> remaining = new ArrayList<>();
+        pending.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    private void writeQueued() {
+        List<PendingComments> group = new ArrayList<>(maxGroupSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingComments first = pending.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            pending.drainTo(group, maxGroupSize - 1);
+            write(group);
+            group.clear();
+        }
+    }
+
+    private void write(List<PendingComments> group) {
+        try {
+            groupWriter.accept(group);
+            group.forEach(pendingComments -> pendingComments.durable().complete(null));
+        } catch (RuntimeException groupException) {
+            if (group.size() == 1) {
+                fail(group.get(0), groupException);
+                return;
+            }
+            for (PendingComments pendingComments : group) {
+                try {
+                    groupWriter.accept(List.of(pendingComments));
+                    pendingComments.durable().complete(null);
+                } catch (RuntimeException exception) {
+                    fail(pendingComments, exception);
+                }
+            }
+        }
+    }
+
+    private static void fail(PendingComments pendingComments, RuntimeException exception) {
+        LOGGER.error("Writing queued comments of ticket {} failed", pendingComments.ticket().getTicketNumber(), exception);
+        pendingComments.durable().completeExceptionally(exception);
+    }
+
+    /**
+     * Comments of one ticket queued together, written in the same transaction.
+     */
+    record PendingComments(List<Comment> comments, Ticket ticket, CompletableFuture<Void> durable) {
+    }
+}
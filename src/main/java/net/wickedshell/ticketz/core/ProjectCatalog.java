@@ -0,0 +1,70 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.model.Project;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of all projects, stamped with the catalog version it was loaded for.
+ * Projects are handed out as copies since {@link Project} is mutable.
+ */
+final class ProjectCatalog {
+
+    private final long version;
+    private final long checkedAtMillis;
+    private final Map<String, Project> projectsByCode;
+
+    private ProjectCatalog(long version, long checkedAtMillis, Map<String, Project> projectsByCode) {
+        this.version = version;
+        this.checkedAtMillis = checkedAtMillis;
+        this.projectsByCode = projectsByCode;
+    }
+
+    static ProjectCatalog of(long version, List<Project> projects, long checkedAtMillis) {
+        Map<String, Project> projectsByCode = new LinkedHashMap<>();
+        projects.forEach(project -> projectsByCode.put(project.getCode(), copy(project)));
+        return new ProjectCatalog(version, checkedAtMillis, projectsByCode);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    boolean isCheckDue(long nowMillis, long checkIntervalMillis) {
+        return nowMillis - checkedAtMillis >= checkIntervalMillis;
+    }
+
+    /**
+     * @return the same snapshot, marked as confirmed up to date at the given time
+     */
+    ProjectCatalog confirmedAt(long nowMillis) {
+        return new ProjectCatalog(version, nowMillis, projectsByCode);
+    }
+
+    List<Project> findAll() {
+        return projectsByCode.values().stream().map(ProjectCatalog::copy).toList();
+    }
+
+    List<Project> findActive() {
+        return projectsByCode.values().stream().filter(Project::isActive).map(ProjectCatalog::copy).toList();
+    }
+
+    Optional<Project> findByCode(String code) {
+        return Optional.ofNullable(projectsByCode.get(code)).map(ProjectCatalog::copy);
+    }
+
+    private static Project copy(Project project) {
+        Project copy = new Project();
+        copy.setCode(project.getCode());
+        copy.setName(project.getName());
+        copy.setDescription(project.getDescription());
+        copy.setActive(project.isActive());
+        copy.setDateCreated(project.getDateCreated());
+        copy.setDateUpdated(project.getDateUpdated());
+        copy.setVersion(project.getVersion());
+        return copy;
+    }
+}
@@ -1,5 +1,7 @@
 package net.wickedshell.ticketz.core;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import net.wickedshell.ticketz.core.exception.ValidationException;
@@ -9,13 +11,20 @@ import net.wickedshell.ticketz.core.port.driven.persistence.ProjectPersistence;
 import net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of ProjectService.
  * Contains business logic and validation for project management.
+ * <p>
+ * Reads are served from an in-memory {@link ProjectCatalog}. Local changes invalidate the catalog
+ * (again after commit), changes made by other nodes are detected by comparing the catalog version
+ * with the persisted one, at most once per {@code ticketz.app.projectCatalogCheckIntervalMs}.
  */
 @Service
 @Validated
@@ -24,6 +33,13 @@ import java.util.List;
 public class ProjectServiceImpl implements ProjectService {
     
     private final ProjectPersistence projectPersistence;
+
+    @Value("${ticketz.app.projectCatalogCheckIntervalMs}")
+    private long catalogCheckIntervalMs;
+
+    private final Object catalogLock = new Object();
+    private final AtomicLong catalogGeneration = new AtomicLong();
+    private volatile ProjectCatalog catalog;
     
     @Override
     public Project create(Project project) {
@@ -32,7 +48,9 @@ public class ProjectServiceImpl implements ProjectService {
         
         // Timestamps managed by JPA @CreationTimestamp and @UpdateTimestamp
         // Code uniqueness enforced by @NaturalId database constraint
-        return projectPersistence.create(project);
+        Project createdProject = projectPersistence.create(project);
+        invalidateCatalog();
+        return createdProject;
     }
     
     @Override
@@ -48,28 +66,35 @@ public class ProjectServiceImpl implements ProjectService {
         // If you need to change the code, delete the old project and create a new one
         
         // Timestamps managed by JPA @UpdateTimestamp
-        return projectPersistence.update(project);
+        Project updatedProject = projectPersistence.update(project);
+        invalidateCatalog();
+        return updatedProject;
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Project loadByCode(String code) {
         if (code == null || code.trim().isEmpty()) {
             throw new ValidationException("Project code cannot be null or empty");
         }
-        return projectPersistence.loadByCode(code);
+        // a project created on another node may not be in the catalog yet
+        return currentCatalog().findByCode(code).orElseGet(() -> projectPersistence.loadByCode(code));
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Project> listAll() {
-        return projectPersistence.findAll();
+        return currentCatalog().findAll();
     }
 
-
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Project> listActive() {
+        return currentCatalog().findActive();
+    }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public void validateProjectCode(String projectCode) {
         if (projectCode == null || projectCode.trim().isEmpty()) {
             throw new ValidationException("Project code is required");
@@ -85,4 +110,43 @@ public class ProjectServiceImpl implements ProjectService {
         
         }
     }
+
+    private ProjectCatalog currentCatalog() {
+        long now = System.currentTimeMillis();
+        ProjectCatalog current = catalog;
+        if (current != null && !current.isCheckDue(now, catalogCheckIntervalMs)) {
+            return current;
+        }
+        synchronized (catalogLock) {
+            current = catalog;
+            if (current != null && !current.isCheckDue(now, catalogCheckIntervalMs)) {
+                return current;
+            }
+            long generation = catalogGeneration.get();
+            long version = projectPersistence.getCatalogVersion();
+            ProjectCatalog refreshed = current != null && current.getVersion() == version
+                    ? current.confirmedAt(now)
+                    : ProjectCatalog.of(version, projectPersistence.findAll(), now);
+            // do not publish a snapshot loaded while a local change was being committed
+            if (generation == catalogGeneration.get()) {
+                catalog = refreshed;
+            }
+            return refreshed;
+        }
+    }
+
+    private void invalidateCatalog() {
+        catalogGeneration.incrementAndGet();
+        catalog = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a concurrent reader may have reloaded the uncommitted state meanwhile
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    catalogGeneration.incrementAndGet();
+                    catalog = null;
+                }
+            });
+        }
+    }
 }
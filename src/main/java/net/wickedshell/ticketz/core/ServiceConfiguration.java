@@ -1,19 +1,27 @@
 package net.wickedshell.ticketz.core;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.security.SecureRandom;
 
 @Configuration
+@EnableScheduling
 @ComponentScan(basePackageClasses = ServiceConfiguration.class)
 public class ServiceConfiguration {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12, new SecureRandom());
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${ticketz.app.passwordHashStrength}") int strength,
+                                           @Value("${ticketz.app.passwordHashThreads}") int threads,
+                                           @Value("${ticketz.app.passwordHashQueueCapacity}") int queueCapacity) {
+        // hashes below the configured strength are upgraded on the next successful login
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength, new SecureRandom()), threads, queueCapacity, meterRegistry);
     }
 }
@@ -0,0 +1,70 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.exception.ServiceException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent identical reads: the first caller for a key loads, callers arriving while the
+ * load is in flight wait for it instead of loading again. Every caller gets its own copy of the value,
+ * so per-user state set on it afterwards stays with that caller. Once a write committed, {@link #invalidate()}
+ * makes new callers start a fresh load rather than joining one that may have read before the write.
+ */
+final class SingleFlight<K, V> {
+
+    private final Map<Flight<K>, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final UnaryOperator<V> copy;
+
+    SingleFlight(UnaryOperator<V> copy) {
+        this.copy = copy;
+    }
+
+    V load(K key, Supplier<V> loader) {
+        Flight<K> flight = new Flight<>(key, generation.get());
+        CompletableFuture<V> result = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = flights.putIfAbsent(flight, result);
+        if (inFlight != null) {
+            return copy.apply(join(inFlight));
+        }
+        try {
+            V value = loader.get();
+            result.complete(value);
+            return copy.apply(value);
+        } catch (RuntimeException | Error exception) {
+            result.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            flights.remove(flight, result);
+        }
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    int inFlight() {
+        return flights.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException exception) {
+            // the waiting callers fail like the loading one, e.g. with ObjectNotFoundException
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServiceException("Coalesced read failed", exception.getCause());
+        }
+    }
+
+    private record Flight<K>(K key, long generation) {
+    }
+}
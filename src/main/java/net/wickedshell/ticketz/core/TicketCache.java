@@ -0,0 +1,85 @@
+package net.wickedshell.ticketz.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.wickedshell.ticketz.core.cache.BoundedCache;
+import net.wickedshell.ticketz.core.model.Project;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketVersion;
+import net.wickedshell.ticketz.core.model.User;
+
+import static net.wickedshell.ticketz.core.cache.BoundedCache.estimateStringBytes;
+
+/**
+ * Bounded LRU cache of mapped tickets, one entry per ticket number, limited by the estimated memory of
+ * the entries rather than their number. An entry is only returned for the version it was cached with,
+ * so a version read from the database decides whether it is still current, also after changes made on
+ * other nodes. The cached tickets are never handed out, callers get copies.
+ */
+final class TicketCache {
+
+    private static final String METRIC_CACHE = "ticketz.ticket.cache";
+    // object headers, references and the fields of ticket, users and project
+    private static final long TICKET_OVERHEAD_BYTES = 96;
+    private static final long USER_OVERHEAD_BYTES = 72;
+    private static final long PROJECT_OVERHEAD_BYTES = 96;
+
+    private final BoundedCache<String, Entry> entries;
+
+    TicketCache(long maxBytes, MeterRegistry meterRegistry) {
+        entries = new BoundedCache<>(METRIC_CACHE, maxBytes, meterRegistry);
+    }
+
+    /**
+     * The cached ticket of the given version, or null if it is not cached or was cached for another version.
+     */
+    Ticket get(TicketVersion version) {
+        Entry entry = entries.get(version.ticketNumber(), cached -> cached.version().equals(version));
+        return entry == null ? null : entry.ticket();
+    }
+
+    void put(Ticket ticket) {
+        entries.put(ticket.getTicketNumber(), new Entry(TicketVersion.of(ticket), ticket), estimateBytes(ticket));
+    }
+
+    void evict(String ticketNumber) {
+        entries.evict(ticketNumber);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    long bytes() {
+        return entries.bytes();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    double hitRatio() {
+        return entries.hitRatio();
+    }
+
+    static long estimateBytes(Ticket ticket) {
+        // users and project are usually shared between tickets, counting them per ticket errs on the safe side
+        return TICKET_OVERHEAD_BYTES + estimateStringBytes(ticket.getTicketNumber()) + estimateStringBytes(ticket.getTitle())
+                + estimateStringBytes(ticket.getDescription())
+                + estimateBytes(ticket.getAuthor()) + estimateBytes(ticket.getEditor())
+                + estimateBytes(ticket.getProject());
+    }
+
+    private static long estimateBytes(User user) {
+        return user == null ? 0 : USER_OVERHEAD_BYTES + estimateStringBytes(user.getEmail())
+                + estimateStringBytes(user.getFirstname()) + estimateStringBytes(user.getLastname())
+                + estimateStringBytes(user.getPasswordHash());
+    }
+
+    private static long estimateBytes(Project project) {
+        return project == null ? 0 : PROJECT_OVERHEAD_BYTES + estimateStringBytes(project.getCode())
+                + estimateStringBytes(project.getName()) + estimateStringBytes(project.getDescription());
+    }
+
+    private record Entry(TicketVersion version, Ticket ticket) {
+    }
+}
@@ -0,0 +1,55 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.model.TicketCount;
+import net.wickedshell.ticketz.core.model.TicketState;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory ticket counters keyed by project and state. They are maintained incrementally and
+ * replaced by the persisted counts on {@link #reset(List)}, which bounds any drift.
+ */
+final class TicketCounters {
+
+    private final Map<Key, AtomicLong> counts = new ConcurrentHashMap<>();
+    private volatile boolean initialized;
+
+    boolean isInitialized() {
+        return initialized;
+    }
+
+    void add(String projectCode, TicketState state, long delta) {
+        counts.computeIfAbsent(new Key(projectCode, state), key -> new AtomicLong()).addAndGet(delta);
+    }
+
+    void reset(List<TicketCount> ticketCounts) {
+        Set<Key> keys = ticketCounts.stream()
+                .map(ticketCount -> new Key(ticketCount.getProjectCode(), ticketCount.getState()))
+                .collect(Collectors.toSet());
+        counts.keySet().retainAll(keys);
+        ticketCounts.forEach(ticketCount -> counts
+                .computeIfAbsent(new Key(ticketCount.getProjectCode(), ticketCount.getState()), key -> new AtomicLong())
+                .set(ticketCount.getCount()));
+        initialized = true;
+    }
+
+    /**
+     * @return the non-zero counts ordered by project code and state
+     */
+    List<TicketCount> snapshot() {
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getValue().get() > 0)
+                .map(entry -> new TicketCount(entry.getKey().projectCode(), entry.getKey().state(), entry.getValue().get()))
+                .sorted(Comparator.comparing(TicketCount::getProjectCode).thenComparing(TicketCount::getState))
+                .toList();
+    }
+
+    private record Key(String projectCode, TicketState state) {
+    }
+}
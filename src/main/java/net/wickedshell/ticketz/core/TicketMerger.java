@@ -0,0 +1,97 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.exception.UpdateConflictException;
+import net.wickedshell.ticketz.core.model.Project;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Rebases ticket updates made against an outdated version onto the current one. The ticket as read
+ * by a client is remembered per version in a bounded LRU, so a stale update can be compared field by
+ * field with what the client read: fields changed by only one side are kept, fields changed by both
+ * sides to different values are a conflict.
+ */
+final class TicketMerger {
+
+    private final Map<Key, Snapshot> snapshots;
+
+    TicketMerger(int capacity) {
+        snapshots = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Snapshot> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    void remember(Ticket ticket) {
+        snapshots.put(new Key(ticket.getTicketNumber(), ticket.getVersion()), Snapshot.of(ticket));
+    }
+
+    /**
+     * Rebase the given ticket, read at an older version, onto the current ticket. On success the fields
+     * only changed concurrently are taken over and the ticket carries the current version.
+     *
+     * @param ticket  the updated ticket as sent by the client
+     * @param current the ticket as currently persisted
+     * @return false if the version read by the client is unknown and no merge is possible
+     * @throws UpdateConflictException if both sides changed the same field to different values
+     */
+    boolean rebase(Ticket ticket, Ticket current) {
+        Snapshot base = snapshots.get(new Key(ticket.getTicketNumber(), ticket.getVersion()));
+        if (base == null) {
+            return false;
+        }
+        Snapshot theirs = Snapshot.of(current);
+        Snapshot ours = Snapshot.of(ticket);
+        List<String> conflicts = new ArrayList<>();
+        String title = merge("title", base.title(), ours.title(), theirs.title(), conflicts);
+        String description = merge("description", base.description(), ours.description(), theirs.description(), conflicts);
+        TicketState state = merge("state", base.state(), ours.state(), theirs.state(), conflicts);
+        String projectCode = merge("project", base.projectCode(), ours.projectCode(), theirs.projectCode(), conflicts);
+        if (!conflicts.isEmpty()) {
+            throw new UpdateConflictException(String.format("Conflicting update of ticket %s: %s changed concurrently.",
+                    ticket.getTicketNumber(), String.join(", ", conflicts)));
+        }
+        ticket.setTitle(title);
+        ticket.setDescription(description);
+        ticket.setState(state);
+        if (Objects.equals(projectCode, theirs.projectCode())) {
+            ticket.setProject(current.getProject());
+        }
+        ticket.setVersion(current.getVersion());
+        return true;
+    }
+
+    int size() {
+        return snapshots.size();
+    }
+
+    private static <T> T merge(String field, T base, T ours, T theirs, List<String> conflicts) {
+        boolean changedByUs = !Objects.equals(base, ours);
+        boolean changedByThem = !Objects.equals(base, theirs);
+        if (changedByUs && changedByThem && !Objects.equals(ours, theirs)) {
+            conflicts.add(field);
+        }
+        return changedByUs ? ours : theirs;
+    }
+
+    private record Key(String ticketNumber, long version) {
+    }
+
+    private record Snapshot(String title, String description, TicketState state, String projectCode) {
+
+        static Snapshot of(Ticket ticket) {
+            Project project = ticket.getProject();
+            return new Snapshot(ticket.getTitle(), ticket.getDescription(), ticket.getState(),
+                    project != null ? project.getCode() : null);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.exception.ValidationException;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketState;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the ticket query language into search filters, e.g.
+ * {@code state:IN_PROGRESS project:WEB editor:me updated>2026-01-01 login}.
+ * <ul>
+ *     <li>{@code state:}, {@code project:}, {@code author:} and {@code editor:} filter by equality,
+ *     {@code me} stands for the current user</li>
+ *     <li>{@code created} and {@code updated} take a date ({@code yyyy-MM-dd}) with {@code :}, {@code >},
+ *     {@code >=}, {@code <} or {@code <=}</li>
+ *     <li>all other words and {@code "quoted phrases"} are the free text</li>
+ * </ul>
+ * Filters given explicitly on the search take precedence over the ones in the text.
+ */
+final class TicketQueryParser {
+
+    private static final Pattern TOKEN = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+    private static final Pattern TERM = Pattern.compile("(?i)(state|project|author|editor|created|updated)(:|>=|<=|>|<)(.+)");
+    private static final String CURRENT_USER = "me";
+
+    private TicketQueryParser() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Parse the search text of the given search.
+     *
+     * @param search           the search to parse, not modified
+     * @param currentUserEmail supplies the email of the current user, only called for {@code me}
+     * @return a new search with the parsed filters and the free text as search text ({@code null} if there is none)
+     */
+    static TicketSearch parse(TicketSearch search, Supplier<String> currentUserEmail) {
+        TicketSearch parsed = new TicketSearch();
+        List<String> freeText = new ArrayList<>();
+        String searchText = search.getSearchText() == null ? "" : search.getSearchText();
+        Matcher token = TOKEN.matcher(searchText);
+        while (token.find()) {
+            if (token.group(1) != null) {
+                freeText.add(token.group(1));
+                continue;
+            }
+            Matcher term = TERM.matcher(token.group(2));
+            if (!term.matches()) {
+                freeText.add(token.group(2));
+                continue;
+            }
+            String key = term.group(1).toLowerCase(Locale.ROOT);
+            String operator = term.group(2);
+            String value = term.group(3);
+            switch (key) {
+                case "state" -> parsed.setState(parseState(requireEquality(key, operator, value)));
+                case "project" -> parsed.setProjectCode(requireEquality(key, operator, value));
+                case "author" -> parsed.setAuthorEmail(resolveUser(requireEquality(key, operator, value), currentUserEmail));
+                case "editor" -> parsed.setEditorEmail(resolveUser(requireEquality(key, operator, value), currentUserEmail));
+                case "created" -> {
+                    LocalDateTime[] range = parseRange(key, operator, value, parsed.getCreatedFrom(), parsed.getCreatedTo());
+                    parsed.setCreatedFrom(range[0]);
+                    parsed.setCreatedTo(range[1]);
+                }
+                case "updated" -> {
+                    LocalDateTime[] range = parseRange(key, operator, value, parsed.getUpdatedFrom(), parsed.getUpdatedTo());
+                    parsed.setUpdatedFrom(range[0]);
+                    parsed.setUpdatedTo(range[1]);
+                }
+                default -> throw new ValidationException("Unexpected query term: " + key);
+            }
+        }
+        String text = String.join(" ", freeText).trim();
+        parsed.setSearchText(text.isEmpty() ? null : text);
+        parsed.setState(search.getState() != null ? search.getState() : parsed.getState());
+        parsed.setProjectCode(search.getProjectCode() != null ? search.getProjectCode() : parsed.getProjectCode());
+        parsed.setAuthorEmail(search.getAuthorEmail() != null ? search.getAuthorEmail() : parsed.getAuthorEmail());
+        parsed.setEditorEmail(search.getEditorEmail() != null ? search.getEditorEmail() : parsed.getEditorEmail());
+        parsed.setCreatedFrom(search.getCreatedFrom() != null ? search.getCreatedFrom() : parsed.getCreatedFrom());
+        parsed.setCreatedTo(search.getCreatedTo() != null ? search.getCreatedTo() : parsed.getCreatedTo());
+        parsed.setUpdatedFrom(search.getUpdatedFrom() != null ? search.getUpdatedFrom() : parsed.getUpdatedFrom());
+        parsed.setUpdatedTo(search.getUpdatedTo() != null ? search.getUpdatedTo() : parsed.getUpdatedTo());
+        parsed.setArchived(search.isArchived());
+        parsed.setPage(search.getPage());
+        parsed.setSize(search.getSize());
+        return parsed;
+    }
+
+    private static String requireEquality(String key, String operator, String value) {
+        if (!":".equals(operator)) {
+            throw new ValidationException(String.format("Invalid query: '%s' only supports ':', not '%s'.", key, operator));
+        }
+        return value;
+    }
+
+    private static TicketState parseState(String value) {
+        try {
+            return TicketState.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new ValidationException(String.format("Invalid query: unknown state '%s'.", value), exception);
+        }
+    }
+
+    private static String resolveUser(String value, Supplier<String> currentUserEmail) {
+        return CURRENT_USER.equalsIgnoreCase(value) ? currentUserEmail.get() : value;
+    }
+
+    /**
+     * @return the narrowed range as {inclusive from, exclusive to}
+     */
+    private static LocalDateTime[] parseRange(String key, String operator, String value, LocalDateTime from, LocalDateTime to) {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(value);
+        } catch (DateTimeParseException exception) {
+            throw new ValidationException(String.format("Invalid query: '%s' expects a date like 2026-01-31, not '%s'.", key, value), exception);
+        }
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime startOfNextDay = date.plusDays(1).atStartOfDay();
+        LocalDateTime newFrom = switch (operator) {
+            case ":", ">=" -> startOfDay;
+            case ">" -> startOfNextDay;
+            default -> null;
+        };
+        LocalDateTime newTo = switch (operator) {
+            case ":", "<=" -> startOfNextDay;
+            case "<" -> startOfDay;
+            default -> null;
+        };
+        return new LocalDateTime[]{
+                newFrom == null || (from != null && from.isAfter(newFrom)) ? from : newFrom,
+                newTo == null || (to != null && to.isBefore(newTo)) ? to : newTo};
+    }
+}
@@ -0,0 +1,143 @@
+package net.wickedshell.ticketz.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search results, limited by the number of entries and their estimated memory.
+ * Every entry is stamped with the global ticket change sequence it was loaded at, any ticket write on any
+ * node moves the sequence on and makes all entries stale without tracking which tickets they contain.
+ * The cached tickets carry their project and users as well, so the stamp also holds the catalog versions
+ * of projects and users, a deactivated or renamed project makes all entries stale just the same.
+ * <p>
+ * A write drawing its sequence before a search but committing after it would not move the sequence on,
+ * so writes on this node also {@link #invalidate()} the cache, and a search running meanwhile does not
+ * store its result. The cached tickets are never handed out, callers get copies.
+ */
+final class TicketSearchCache {
+
+    private static final String METRIC_CACHE = "ticketz.ticket.search.cache";
+    private static final long LIST_OVERHEAD_BYTES = 64;
+    private static final long REFERENCE_BYTES = 8;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Supplier<Stamp> stamp;
+    // access ordered, the least recently used entry is dropped first
+    private final Map<TicketSearch, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private long bytes;
+
+    TicketSearchCache(int maxEntries, long maxBytes, Supplier<Stamp> stamp, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.stamp = stamp;
+        hits = Counter.builder(METRIC_CACHE + ".gets").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder(METRIC_CACHE + ".gets").tag("result", "miss").register(meterRegistry);
+        Gauge.builder(METRIC_CACHE + ".hit.ratio", this, TicketSearchCache::hitRatio).register(meterRegistry);
+        Gauge.builder(METRIC_CACHE + ".size", this, TicketSearchCache::bytes).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder(METRIC_CACHE + ".entries", this, TicketSearchCache::size).register(meterRegistry);
+    }
+
+    /**
+     * The cached result of the search if no ticket, project or user changed since it was loaded, otherwise
+     * the result of the loader.
+     *
+     * @param search the normalized search, must not be modified afterwards
+     * @param loader runs the search
+     * @return the cached or loaded tickets
+     */
+    List<Ticket> load(TicketSearch search, Supplier<List<Ticket>> loader) {
+        long loadGeneration = generation.get();
+        Stamp loadStamp = stamp.get();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(search);
+        }
+        if (entry != null && entry.stamp().equals(loadStamp)) {
+            hits.increment();
+            return entry.tickets();
+        }
+        misses.increment();
+        List<Ticket> tickets = loader.get();
+        put(search, new Entry(loadStamp, tickets, estimateBytes(tickets)), loadGeneration);
+        return tickets;
+    }
+
+    void invalidate() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    double hitRatio() {
+        double gets = hits.count() + misses.count();
+        return gets == 0 ? 0 : hits.count() / gets;
+    }
+
+    private void put(TicketSearch search, Entry entry, long loadGeneration) {
+        if (entry.bytes() > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation.get() != loadGeneration) {
+                // a write committed on this node while loading, the result may be missing it
+                return;
+            }
+            Entry replaced = entries.put(search, entry);
+            bytes += entry.bytes() - (replaced == null ? 0 : replaced.bytes());
+            Iterator<Entry> iterator = entries.values().iterator();
+            while ((bytes > maxBytes || entries.size() > maxEntries) && iterator.hasNext()) {
+                bytes -= iterator.next().bytes();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long estimateBytes(List<Ticket> tickets) {
+        long ticketBytes = LIST_OVERHEAD_BYTES + REFERENCE_BYTES * tickets.size();
+        for (Ticket ticket : tickets) {
+            ticketBytes += TicketCache.estimateBytes(ticket);
+        }
+        return ticketBytes;
+    }
+
+    /**
+     * The state of the data a search result was loaded at.
+     *
+     * @param changeSequence        the global ticket change sequence
+     * @param projectCatalogVersion the catalog version of the projects
+     * @param userCatalogVersion    the catalog version of the users
+     */
+    record Stamp(long changeSequence, long projectCatalogVersion, long userCatalogVersion) {
+    }
+
+    private record Entry(Stamp stamp, List<Ticket> tickets, long bytes) {
+    }
+}
@@ -1,28 +1,76 @@
 package net.wickedshell.ticketz.core;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import net.wickedshell.ticketz.core.exception.UpdateConflictException;
 import net.wickedshell.ticketz.core.exception.ValidationException;
 import net.wickedshell.ticketz.core.model.Comment;
 import net.wickedshell.ticketz.core.model.Project;
 import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketChanges;
+import net.wickedshell.ticketz.core.model.TicketCount;
+import net.wickedshell.ticketz.core.model.TicketDetails;
+import net.wickedshell.ticketz.core.model.TicketField;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
 import net.wickedshell.ticketz.core.model.TicketState;
+import net.wickedshell.ticketz.core.model.TicketVersion;
 import net.wickedshell.ticketz.core.model.User;
 import net.wickedshell.ticketz.core.port.access.CommentService;
 import net.wickedshell.ticketz.core.port.access.ProjectService;
 import net.wickedshell.ticketz.core.port.access.TicketService;
 import net.wickedshell.ticketz.core.port.access.UserService;
+import net.wickedshell.ticketz.core.port.driven.persistence.ProjectPersistence;
 import net.wickedshell.ticketz.core.port.driven.persistence.TicketPersistence;
+import net.wickedshell.ticketz.core.port.driven.persistence.UserPersistence;
 
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
 import static net.wickedshell.ticketz.core.model.TicketState.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+/**
+ * Implementation of TicketService.
+ * <p>
+ * Keeps the ticket counts per project and state in memory. Changes made through this service are
+ * applied after commit, everything else (other nodes, direct database changes, lost updates) is
+ * corrected by a reconciliation every {@code ticketz.app.ticketCountReconcileIntervalMs}.
+ * <p>
+ * Tickets closed longer than {@code ticketz.app.ticketArchiveAfterDays} are moved to the archive in
+ * bounded batches. They stay readable by ticket number and through an archive search, but can no
+ * longer be changed or deleted.
+ * <p>
+ * An update made against an outdated version is rebased onto the current one while the ticket is
+ * locked, as long as the client and the concurrent writers changed different fields. The outcome is
+ * counted by {@code ticketz.ticket.update.conflicts}.
+ * <p>
+ * Changes of one ticket are queued per node by {@link TicketWriteAspect} and, with
+ * {@code ticketz.app.ticketWriteLockDatabase}, additionally locked in the database across nodes.
+ * <p>
+ * Concurrent identical reads of a ticket or a search share one database load, see {@link SingleFlight}.
+ * The possible next states and permissions are evaluated per caller on its own copy.
+ * Loaded tickets are kept in a {@link TicketCache}, a version probe tells whether the cached one is current.
+ * Search results are kept in a {@link TicketSearchCache} until the next ticket change.
+ */
 @Service
 @Validated
 @Transactional
@@ -30,26 +78,87 @@ import java.util.Set;
 public class TicketServiceImpl implements TicketService {
 
     private static final String TICKET_NUMBER_TEMPLATE = "%s-%d";
+    private static final int ARCHIVE_BATCH_SIZE = 500;
+    private static final int MERGE_BASE_CAPACITY = 10_000;
+    private static final String METRIC_UPDATE_CONFLICTS = "ticketz.ticket.update.conflicts";
+    private static final String TAG_OUTCOME = "outcome";
     private final TicketPersistence ticketPersistence;
+    private final ProjectPersistence projectPersistence;
+    private final UserPersistence userPersistence;
     private final UserService userService;
     private final CommentService commentService;
     private final ProjectService projectService;
+    private final MeterRegistry meterRegistry;
+    private final TicketCounters ticketCounters = new TicketCounters();
+    private final TicketMerger ticketMerger = new TicketMerger(MERGE_BASE_CAPACITY);
+    private final SingleFlight<String, Ticket> ticketLoads = new SingleFlight<>(TicketServiceImpl::copyOf);
+    private final SingleFlight<TicketSearch, List<Ticket>> ticketSearches = new SingleFlight<>(TicketServiceImpl::copyOf);
+    private final SingleFlight<TicketSearch, TicketSearchResult> facetedSearches = new SingleFlight<>(TicketServiceImpl::copyOf);
+
+    @Value("${ticketz.app.ticketArchiveAfterDays}")
+    private int archiveAfterDays;
+
+    @Value("${ticketz.app.ticketCacheMaxBytes}")
+    private long ticketCacheMaxBytes;
+
+    @Value("${ticketz.app.ticketSearchCacheMaxEntries}")
+    private int searchCacheMaxEntries;
+
+    @Value("${ticketz.app.ticketSearchCacheMaxBytes}")
+    private long searchCacheMaxBytes;
+
+    private TicketCache ticketCache;
+    private TicketSearchCache searchCache;
+
+    @PostConstruct
+    void createTicketCache() {
+        ticketCache = new TicketCache(ticketCacheMaxBytes, meterRegistry);
+        searchCache = new TicketSearchCache(searchCacheMaxEntries, searchCacheMaxBytes, this::searchStamp, meterRegistry);
+    }
 
     @Override
     @PreAuthorize("hasRole('ROLE_USER')")
     @Transactional(readOnly = true)
     public Ticket loadByTicketNumber(String ticketNumber) {
-        Ticket ticket = ticketPersistence.loadByTicketNumber(ticketNumber);
+        Ticket ticket = ticketLoads.load(ticketNumber, () -> loadCached(ticketNumber));
+        ticketMerger.remember(ticket);
         updatePossibleNextStates(ticket);
         return ticket;
     }
 
     @Override
     @PreAuthorize("hasRole('ROLE_USER')")
+    @Transactional(readOnly = true)
+    public TicketDetails loadDetailsByTicketNumber(String ticketNumber, int commentLimit) {
+        Ticket ticket = ticketLoads.load(ticketNumber, () -> loadCached(ticketNumber));
+        ticketMerger.remember(ticket);
+        // resolve the current user once for both transitions and permissions
+        User currentUser = userService.getCurrentUser();
+        Supplier<User> currentUserSupplier = () -> currentUser;
+        updatePossibleNextStates(ticket, currentUserSupplier);
+        // fetch one extra comment to find out whether there are more without a count query
+        List<Comment> comments = commentService.findByTicketNumber(ticketNumber, 0, commentLimit + 1);
+
+        TicketDetails ticketDetails = new TicketDetails();
+        ticketDetails.setTicket(ticket);
+        ticketDetails.setCanEdit(evaluateCanBeEdited(ticket, currentUserSupplier));
+        ticketDetails.setComments(comments.size() > commentLimit ? comments.subList(0, commentLimit) : comments);
+        ticketDetails.setMoreComments(comments.size() > commentLimit);
+        return ticketDetails;
+    }
+
+    @Override
+    @TicketWrite
+    @PreAuthorize("hasRole('ROLE_USER')")
     public void deleteByTicketNumber(String ticketNumber) {
         Ticket ticket = ticketPersistence.loadByTicketNumber(ticketNumber);
+        if (ticket.isArchived()) {
+            throw new ValidationException("Invalid action: archived tickets cannot be deleted: " + ticketNumber);
+        }
         validateProject(ticket.getProject());
         ticketPersistence.deleteByTicketNumber(ticketNumber);
+        countChange(ticket, null);
+        afterCommit(() -> invalidateReads(ticketNumber));
     }
 
     @Override
@@ -61,14 +170,21 @@ public class TicketServiceImpl implements TicketService {
         ticket.setTicketNumber(String.format(TICKET_NUMBER_TEMPLATE, ticket.getProject().getCode(), nextTicketNumber));
         ticket.setState(CREATED);
         ticket.setAuthor(userService.getCurrentUser());
-        return ticketPersistence.create(ticket);
+        Ticket createdTicket = ticketPersistence.create(ticket);
+        countChange(null, createdTicket);
+        afterCommit(this::invalidateReads);
+        return createdTicket;
     }
 
     @Override
+    @TicketWrite
     @PreAuthorize("hasRole('ROLE_USER')")
     public Ticket update(Ticket ticket) {
-        Ticket existingTicket = ticketPersistence.loadByTicketNumber(ticket.getTicketNumber());
-        
+        Ticket existingTicket = ticketPersistence.loadByTicketNumberForUpdate(ticket.getTicketNumber());
+        if (existingTicket.getVersion() != ticket.getVersion()) {
+            rebase(ticket, existingTicket);
+        }
+
         // Validate project is active before allowing updates
         validateProject(ticket.getProject());
         
@@ -86,6 +202,8 @@ public class TicketServiceImpl implements TicketService {
         }
         ticket.setAuthor(existingTicket.getAuthor());
         Ticket updatedTicket = ticketPersistence.update(ticket);
+        countChange(existingTicket, updatedTicket);
+        afterCommit(() -> invalidateReads(ticket.getTicketNumber()));
         updatePossibleNextStates(updatedTicket);
 
         return updatedTicket;
@@ -93,6 +211,7 @@ public class TicketServiceImpl implements TicketService {
 
 
     @Override
+    @TicketWrite
     @PreAuthorize("hasRole('ROLE_USER')")
     public Ticket updateWithComment(Ticket ticket, Comment comment) {
         comment.setAuthor(userService.getCurrentUser());
@@ -105,27 +224,122 @@ public class TicketServiceImpl implements TicketService {
     @Transactional(readOnly = true)
     public List<Ticket> findAll() {
         List<Ticket> tickets = ticketPersistence.findAll();
-        tickets.forEach(this::updatePossibleNextStates);
+        updatePossibleNextStates(tickets);
         return tickets;
     }
 
+    @Override
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Transactional(readOnly = true)
+    public TicketChanges findChangedSince(long changeSequence, int limit) {
+        TicketChanges ticketChanges = ticketPersistence.findChangedSince(changeSequence, limit);
+        updatePossibleNextStates(ticketChanges.getTickets());
+        return ticketChanges;
+    }
+
     @Override
     @PreAuthorize("hasRole('ROLE_USER')")
     @Transactional(readOnly = true)
     public List<Ticket> search(String searchText) {
         List<Ticket> tickets;
         if (searchText == null || searchText.isBlank()) {
-            tickets = ticketPersistence.findAll();
+            TicketSearch allTickets = new TicketSearch();
+            tickets = ticketSearches.load(allTickets, () -> searchCache.load(allTickets, ticketPersistence::findAll));
         } else {
-            tickets = ticketPersistence.search(searchText.trim());
+            TicketSearch search = new TicketSearch();
+            search.setSearchText(searchText);
+            // coalesced and cached by the parsed query, "me" differs per user
+            TicketSearch parsedSearch = normalize(parseQuery(search));
+            tickets = ticketSearches.load(parsedSearch,
+                    () -> searchCache.load(parsedSearch, () -> ticketPersistence.findMatching(parsedSearch)));
+        }
+        updatePossibleNextStates(tickets);
+        return tickets;
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Transactional(readOnly = true)
+    public List<Ticket> search(String searchText, Set<TicketField> fields) {
+        if (fields.isEmpty()) {
+            return search(searchText);
+        }
+        TicketSearch search = new TicketSearch();
+        search.setSearchText(searchText);
+        return ticketPersistence.findMatching(parseQuery(search), fields);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Transactional(readOnly = true)
+    public List<Ticket> findByTicketNumbers(List<String> ticketNumbers, Set<TicketField> fields) {
+        Map<String, Ticket> ticketsByNumber = ticketPersistence.findByTicketNumbers(ticketNumbers, fields).stream()
+                .collect(Collectors.toMap(Ticket::getTicketNumber, Function.identity()));
+        List<Ticket> tickets = ticketNumbers.stream()
+                .distinct()
+                .map(ticketsByNumber::get)
+                .filter(Objects::nonNull)
+                .toList();
+        if (fields.isEmpty()) {
+            updatePossibleNextStates(tickets);
         }
-        tickets.forEach(this::updatePossibleNextStates);
         return tickets;
     }
 
+    @Override
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Transactional(readOnly = true)
+    public TicketSearchResult searchFaceted(TicketSearch search) {
+        TicketSearch parsedSearch = parseQuery(search);
+        TicketSearchResult searchResult = facetedSearches.load(parsedSearch, () -> ticketPersistence.searchFaceted(parsedSearch));
+        updatePossibleNextStates(searchResult.getTickets());
+        return searchResult;
+    }
+
     @Override
     @PreAuthorize("hasRole('ROLE_USER')")
     public boolean evaluateCanBeEdited(Ticket ticket) {
+        return evaluateCanBeEdited(ticket, userService::getCurrentUser);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Transactional(readOnly = true)
+    public List<TicketCount> getTicketCounts() {
+        if (!ticketCounters.isInitialized()) {
+            reconcileTicketCounts();
+        }
+        return ticketCounters.snapshot();
+    }
+
+    /**
+     * Replace the in-memory ticket counts with the persisted ones.
+     */
+    @Scheduled(fixedDelayString = "${ticketz.app.ticketCountReconcileIntervalMs}")
+    @Transactional(readOnly = true)
+    public void reconcileTicketCounts() {
+        ticketCounters.reset(ticketPersistence.countByProjectAndState());
+    }
+
+    /**
+     * Move the tickets closed longer than {@code ticketz.app.ticketArchiveAfterDays} to the archive, at
+     * most {@value #ARCHIVE_BATCH_SIZE} per run. The counts include archived tickets and stay untouched.
+     *
+     * @return the number of archived tickets
+     */
+    @Scheduled(fixedDelayString = "${ticketz.app.ticketArchiveIntervalMs}")
+    public int archiveClosedTickets() {
+        int archived = ticketPersistence.archiveClosedTickets(LocalDateTime.now().minusDays(archiveAfterDays), ARCHIVE_BATCH_SIZE);
+        if (archived > 0) {
+            afterCommit(() -> {
+                ticketCache.clear();
+                invalidateReads();
+            });
+        }
+        return archived;
+    }
+
+    private boolean evaluateCanBeEdited(Ticket ticket, Supplier<User> currentUser) {
         if (!ticket.getProject().isActive()) {
             return false;
         }
@@ -133,14 +347,38 @@ public class TicketServiceImpl implements TicketService {
             return false;
         }
         if (Set.of(FIXED, REJECTED).contains(ticket.getState())) {
-            return userService.getCurrentUser().getEmail().equals(ticket.getAuthor().getEmail());
+            return currentUser.get().getEmail().equals(ticket.getAuthor().getEmail());
         }
         if (ticket.getState() == IN_PROGRESS) {
-            return userService.getCurrentUser().getEmail().equals(ticket.getEditor().getEmail());
+            return currentUser.get().getEmail().equals(ticket.getEditor().getEmail());
         }
         return true;
     }
 
+    private void rebase(Ticket ticket, Ticket existingTicket) {
+        boolean rebased;
+        try {
+            rebased = ticketMerger.rebase(ticket, existingTicket);
+        } catch (UpdateConflictException exception) {
+            countConflict("rejected");
+            throw exception;
+        }
+        if (!rebased) {
+            countConflict("unknown_base");
+            throw new UpdateConflictException(String.format("Staled ticket data for update: %s version %d is no longer known.",
+                    ticket.getTicketNumber(), ticket.getVersion()));
+        }
+        countConflict("merged");
+    }
+
+    private void countConflict(String outcome) {
+        Counter.builder(METRIC_UPDATE_CONFLICTS)
+                .description("Updates of tickets made against an outdated version")
+                .tag(TAG_OUTCOME, outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
     private void changeEditorIfRequired(Ticket ticket) {
         TicketState newState = ticket.getState();
         if (newState == IN_PROGRESS) {
@@ -164,7 +402,17 @@ public class TicketServiceImpl implements TicketService {
         }
     }
 
+    private void updatePossibleNextStates(List<Ticket> tickets) {
+        // look up the current user at most once per list, and only if a ticket state requires it
+        Supplier<User> currentUser = new CurrentUserOnce(userService);
+        tickets.forEach(ticket -> updatePossibleNextStates(ticket, currentUser));
+    }
+
     private void updatePossibleNextStates(Ticket ticket) {
+        updatePossibleNextStates(ticket, userService::getCurrentUser);
+    }
+
+    private void updatePossibleNextStates(Ticket ticket, Supplier<User> currentUser) {
         if (ticket == null || ticket.getState() == null) {
             return;
         }
@@ -174,14 +422,14 @@ public class TicketServiceImpl implements TicketService {
         }
         switch (ticket.getState()) {
             case IN_PROGRESS -> {
-                if (ticket.getEditor().getEmail().equals(userService.getCurrentUser().getEmail())) {
+                if (ticket.getEditor().getEmail().equals(currentUser.get().getEmail())) {
                     ticket.setPossibleNextStates(ticket.getState().getPermittedSuccessors());
                 } else {
                     ticket.setPossibleNextStates(Set.of());
                 }
             }
             case FIXED, REJECTED -> {
-                if (ticket.getAuthor().getEmail().equals(userService.getCurrentUser().getEmail())) {
+                if (ticket.getAuthor().getEmail().equals(currentUser.get().getEmail())) {
                     ticket.setPossibleNextStates(ticket.getState().getPermittedSuccessors());
                 } else {
                     ticket.setPossibleNextStates(Set.of());
@@ -192,10 +440,135 @@ public class TicketServiceImpl implements TicketService {
         }
     }
 
+    private void countChange(Ticket before, Ticket after) {
+        String projectBefore = before != null ? before.getProject().getCode() : null;
+        String projectAfter = after != null ? after.getProject().getCode() : null;
+        if (before != null && after != null
+                && Objects.equals(projectBefore, projectAfter) && before.getState() == after.getState()) {
+            return;
+        }
+        afterCommit(() -> {
+            if (before != null) {
+                ticketCounters.add(projectBefore, before.getState(), -1);
+            }
+            if (after != null) {
+                ticketCounters.add(projectAfter, after.getState(), 1);
+            }
+        });
+    }
+
+    private Ticket loadCached(String ticketNumber) {
+        // reading the versions is cheap compared to loading and mapping ticket, users and project
+        Optional<TicketVersion> version = ticketPersistence.findVersionByTicketNumber(ticketNumber);
+        Ticket cachedTicket = version.map(ticketCache::get).orElse(null);
+        if (cachedTicket != null) {
+            return cachedTicket;
+        }
+        Ticket ticket = ticketPersistence.loadByTicketNumber(ticketNumber);
+        if (version.isPresent() && !ticket.isArchived()) {
+            ticketCache.put(ticket);
+        }
+        return ticket;
+    }
+
+    private TicketSearchCache.Stamp searchStamp() {
+        // cached tickets carry project and users, their edits do not move the ticket change sequence
+        return new TicketSearchCache.Stamp(ticketPersistence.getChangeSequence(),
+                projectPersistence.getCatalogVersion(), userPersistence.getCatalogVersion());
+    }
+
+    private void invalidateReads(String ticketNumber) {
+        ticketCache.evict(ticketNumber);
+        invalidateReads();
+    }
+
+    private void invalidateReads() {
+        searchCache.invalidate();
+        ticketLoads.invalidate();
+        ticketSearches.invalidate();
+        facetedSearches.invalidate();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static Ticket copyOf(Ticket ticket) {
+        // users and project are shared, only the ticket itself gets per-user state
+        Ticket copy = new Ticket();
+        copy.setTitle(ticket.getTitle());
+        copy.setTicketNumber(ticket.getTicketNumber());
+        copy.setDescription(ticket.getDescription());
+        copy.setAuthor(ticket.getAuthor());
+        copy.setEditor(ticket.getEditor());
+        copy.setState(ticket.getState());
+        copy.setPossibleNextStates(ticket.getPossibleNextStates());
+        copy.setProject(ticket.getProject());
+        copy.setVersion(ticket.getVersion());
+        copy.setArchived(ticket.isArchived());
+        return copy;
+    }
+
+    private static List<Ticket> copyOf(List<Ticket> tickets) {
+        return tickets.stream().map(TicketServiceImpl::copyOf).toList();
+    }
+
+    private static TicketSearchResult copyOf(TicketSearchResult searchResult) {
+        TicketSearchResult copy = new TicketSearchResult();
+        copy.setTickets(copyOf(searchResult.getTickets()));
+        copy.setTotalHits(searchResult.getTotalHits());
+        copy.setPage(searchResult.getPage());
+        copy.setSize(searchResult.getSize());
+        copy.getFacets().putAll(searchResult.getFacets());
+        return copy;
+    }
+
+    private static TicketSearch normalize(TicketSearch search) {
+        // the text is matched case-insensitively, so all spellings share one cache entry
+        if (search.getSearchText() != null) {
+            search.setSearchText(search.getSearchText().toLowerCase(Locale.ROOT));
+        }
+        return search;
+    }
+
+    private TicketSearch parseQuery(TicketSearch search) {
+        return TicketQueryParser.parse(search, () -> userService.getCurrentUser().getEmail());
+    }
+
     private void validateProject(Project project) {
         if (project == null) {
             throw new ValidationException("Project is required");
         }
         projectService.validateProjectCode(project.getCode());
     }
+
+    /**
+     * The current user, looked up on first use and then remembered.
+     */
+    private static final class CurrentUserOnce implements Supplier<User> {
+
+        private final UserService userService;
+        private User currentUser;
+
+        private CurrentUserOnce(UserService userService) {
+            this.userService = userService;
+        }
+
+        @Override
+        public User get() {
+            if (currentUser == null) {
+                currentUser = userService.getCurrentUser();
+            }
+            return currentUser;
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package net.wickedshell.ticketz.core;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method changing an existing ticket. Calls for the same ticket are serialized by
+ * {@link TicketWriteAspect}; the ticket is identified by the first {@code Ticket} or {@code String}
+ * argument.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@interface TicketWrite {
+}
@@ -0,0 +1,50 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.model.Ticket;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes the {@link TicketWrite} methods per ticket on this node. Runs inside the method security
+ * checks but outside the transaction, so queued writers do not hold a database connection and each
+ * writer sees the changes committed by its predecessor.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+class TicketWriteAspect {
+
+    private static final int STRIPES = 256;
+
+    private final TicketWriteLocks ticketWriteLocks = new TicketWriteLocks(STRIPES);
+
+    @Value("${ticketz.app.ticketWriteLockTimeoutMs}")
+    private long timeoutMs;
+
+    @Around("@annotation(net.wickedshell.ticketz.core.TicketWrite)")
+    public Object serialize(ProceedingJoinPoint joinPoint) throws Throwable {
+        String ticketNumber = ticketNumberOf(joinPoint.getArgs());
+        if (ticketNumber == null) {
+            // invalid arguments are rejected by the method validation
+            return joinPoint.proceed();
+        }
+        return ticketWriteLocks.callLocked(ticketNumber, timeoutMs, joinPoint::proceed);
+    }
+
+    private static String ticketNumberOf(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Ticket ticket) {
+                return ticket.getTicketNumber();
+            }
+            if (arg instanceof String ticketNumber) {
+                return ticketNumber;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.exception.UpdateConflictException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed number of fair locks, each guarding all tickets whose number hashes to it. Writers of one
+ * ticket queue up in arrival order, writers of different tickets rarely share a lock.
+ */
+final class TicketWriteLocks {
+
+    private final ReentrantLock[] stripes;
+
+    TicketWriteLocks(int stripeCount) {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    <T> T callLocked(String ticketNumber, long timeoutMs, LockedWrite<T> write) throws Throwable {
+        ReentrantLock lock = stripeOf(ticketNumber);
+        try {
+            if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new UpdateConflictException("Ticket is busy, timed out waiting for concurrent updates: " + ticketNumber);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new UpdateConflictException("Interrupted waiting for concurrent updates: " + ticketNumber, exception);
+        }
+        try {
+            return write.call();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getQueueLength(String ticketNumber) {
+        return stripeOf(ticketNumber).getQueueLength();
+    }
+
+    private ReentrantLock stripeOf(String ticketNumber) {
+        int hash = ticketNumber.hashCode();
+        // spread the high bits, similar ticket numbers differ in the last characters only
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    @FunctionalInterface
+    interface LockedWrite<T> {
+        T call() throws Throwable;
+    }
+}
@@ -82,6 +82,20 @@ public class UserServiceImpl implements UserService {
         return userPersistence.update(existingUser);
     }
 
+    @Override
+    public User rehashPassword(String email, String password) {
+        User existingUser = userPersistence.loadByEmail(email);
+        if (!passwordEncoder.matches(password, existingUser.getPasswordHash())) {
+            throw new AuthenticationException("Error: Invalid Authentication Details");
+        }
+        // another login may have re-hashed it meanwhile
+        if (passwordEncoder.upgradeEncoding(existingUser.getPasswordHash())) {
+            existingUser.setPasswordHash(passwordEncoder.encode(password));
+            return userPersistence.update(existingUser);
+        }
+        return existingUser;
+    }
+
     @Override
     public User updateRoles(String email, Set<Role> roles) {
         User currentUser = getCurrentUser();
@@ -0,0 +1,119 @@
+package net.wickedshell.ticketz.core.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Bounded LRU cache limited by the estimated memory of its entries rather than their number. The
+ * callers estimate the size of a value and decide whether a cached value is still current. Hits,
+ * misses, size and limit are published under the given metric name.
+ *
+ * @param <K> the key
+ * @param <V> the cached value
+ */
+public final class BoundedCache<K, V> {
+
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private final long maxBytes;
+    // access ordered, the least recently used entry is dropped first
+    private final Map<K, Entry<V>> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private long bytes;
+
+    public BoundedCache(String metricName, long maxBytes, MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        hits = Counter.builder(metricName + ".gets").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder(metricName + ".gets").tag("result", "miss").register(meterRegistry);
+        Gauge.builder(metricName + ".hit.ratio", this, BoundedCache::hitRatio).register(meterRegistry);
+        Gauge.builder(metricName + ".size", this, BoundedCache::bytes).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder(metricName + ".entries", this, BoundedCache::size).register(meterRegistry);
+        Gauge.builder(metricName + ".max", this, cache -> cache.maxBytes).baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * The cached value if it is still current, counted as hit, otherwise null, counted as miss.
+     */
+    public V get(K key, Predicate<? super V> current) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || !current.test(entry.value())) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    /**
+     * Caches the value and drops the least recently used entries beyond the limit. A value larger than
+     * the limit on its own is not cached.
+     */
+    public void put(K key, V value, long valueBytes) {
+        if (valueBytes > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry<V> replaced = entries.put(key, new Entry<>(value, valueBytes));
+            bytes += valueBytes - (replaced == null ? 0 : replaced.bytes());
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (bytes > maxBytes && iterator.hasNext()) {
+                bytes -= iterator.next().bytes();
+                iterator.remove();
+            }
+        }
+    }
+
+    public void evict(K key) {
+        synchronized (entries) {
+            Entry<V> evicted = entries.remove(key);
+            if (evicted != null) {
+                bytes -= evicted.bytes();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    public long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public double hitRatio() {
+        double gets = hits.count() + misses.count();
+        return gets == 0 ? 0 : hits.count() / gets;
+    }
+
+    /**
+     * The estimated memory of a string, for the size estimates of the callers.
+     */
+    public static long estimateStringBytes(String value) {
+        // two bytes per character, an upper bound: compact strings with only Latin-1 characters take one
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+
+    private record Entry<V>(V value, long bytes) {
+    }
+}
@@ -0,0 +1,12 @@
+package net.wickedshell.ticketz.core.exception;
+
+public class ServiceUnavailableException extends ServiceException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
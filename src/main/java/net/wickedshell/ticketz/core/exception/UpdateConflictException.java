@@ -0,0 +1,12 @@
+package net.wickedshell.ticketz.core.exception;
+
+public class UpdateConflictException extends ServiceException {
+
+    public UpdateConflictException(String message) {
+        super(message);
+    }
+
+    public UpdateConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
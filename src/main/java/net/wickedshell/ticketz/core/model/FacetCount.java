@@ -0,0 +1,27 @@
+package net.wickedshell.ticketz.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of search hits sharing a facet value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCount {
+
+    /**
+     * The value to filter by, e.g. the state name, project code or user email.
+     */
+    private String value;
+
+    /**
+     * The value for display, e.g. the user name.
+     */
+    private String label;
+
+    private long count;
+
+}
@@ -40,4 +40,9 @@ public class Ticket {
     @NotNull
     private long version;
 
+    /**
+     * Closed long enough to be moved to the archive, read-only from then on.
+     */
+    private boolean archived;
+
 }
@@ -0,0 +1,26 @@
+package net.wickedshell.ticketz.core.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tickets created, updated and removed since a change sequence, in sequence order. A client passes
+ * the watermark to the next call to get the changes from there on.
+ */
+@Data
+public class TicketChanges {
+
+    private List<Ticket> tickets = new ArrayList<>();
+
+    private List<String> deletedTicketNumbers = new ArrayList<>();
+
+    private List<String> archivedTicketNumbers = new ArrayList<>();
+
+    private long watermark;
+
+    // false if the limit was reached, the next call with the watermark returns more changes
+    private boolean complete = true;
+
+}
@@ -0,0 +1,21 @@
+package net.wickedshell.ticketz.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of tickets of a project in a given state.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCount {
+
+    private String projectCode;
+
+    private TicketState state;
+
+    private long count;
+
+}
@@ -0,0 +1,21 @@
+package net.wickedshell.ticketz.core.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Read model combining a ticket with the data needed to display it.
+ */
+@Data
+public class TicketDetails {
+
+    private Ticket ticket;
+
+    private boolean canEdit;
+
+    private List<Comment> comments = List.of();
+
+    private boolean moreComments;
+
+}
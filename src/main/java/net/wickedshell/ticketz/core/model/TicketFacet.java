@@ -0,0 +1,9 @@
+package net.wickedshell.ticketz.core.model;
+
+/**
+ * Ticket attributes the search results are counted by.
+ */
+public enum TicketFacet {
+
+    STATE, PROJECT, AUTHOR, EDITOR
+}
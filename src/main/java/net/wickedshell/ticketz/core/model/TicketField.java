@@ -0,0 +1,9 @@
+package net.wickedshell.ticketz.core.model;
+
+/**
+ * Ticket attributes a client can restrict the loaded tickets to. The ticket number is always loaded.
+ */
+public enum TicketField {
+
+    TICKET_NUMBER, TITLE, DESCRIPTION, STATE, VERSION, AUTHOR, EDITOR, ARCHIVED
+}
@@ -0,0 +1,60 @@
+package net.wickedshell.ticketz.core.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria of a ticket search. All given filters must match; {@code null} filters are ignored.
+ * The search text may contain filter terms, see {@code TicketQueryParser}.
+ */
+@Data
+public class TicketSearch {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private String searchText;
+
+    private TicketState state;
+
+    private String projectCode;
+
+    private String authorEmail;
+
+    private String editorEmail;
+
+    /**
+     * Inclusive lower bound of the creation date.
+     */
+    private LocalDateTime createdFrom;
+
+    /**
+     * Exclusive upper bound of the creation date.
+     */
+    private LocalDateTime createdTo;
+
+    /**
+     * Inclusive lower bound of the last update.
+     */
+    private LocalDateTime updatedFrom;
+
+    /**
+     * Exclusive upper bound of the last update.
+     */
+    private LocalDateTime updatedTo;
+
+    /**
+     * Search the archived tickets instead of the active ones.
+     */
+    private boolean archived;
+
+    @Min(0)
+    private int page;
+
+    @Min(1)
+    @Max(MAX_PAGE_SIZE)
+    private int size = 50;
+
+}
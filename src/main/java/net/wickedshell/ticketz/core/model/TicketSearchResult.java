@@ -0,0 +1,25 @@
+package net.wickedshell.ticketz.core.model;
+
+import lombok.Data;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of search hits together with the facet counts over all hits.
+ */
+@Data
+public class TicketSearchResult {
+
+    private List<Ticket> tickets = List.of();
+
+    private long totalHits;
+
+    private int page;
+
+    private int size;
+
+    private Map<TicketFacet, List<FacetCount>> facets = new EnumMap<>(TicketFacet.class);
+
+}
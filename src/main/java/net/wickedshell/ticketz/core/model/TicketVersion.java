@@ -0,0 +1,18 @@
+package net.wickedshell.ticketz.core.model;
+
+/**
+ * Everything a mapped ticket depends on that can change: the versions of the ticket, its author, editor
+ * and project. Renaming a user or deactivating a project leaves the ticket version alone, but changes
+ * this one.
+ */
+public record TicketVersion(String ticketNumber, long version, Long authorVersion, Long editorVersion,
+                            Long projectVersion, boolean archived) {
+
+    public static TicketVersion of(Ticket ticket) {
+        return new TicketVersion(ticket.getTicketNumber(), ticket.getVersion(),
+                ticket.getAuthor() == null ? null : ticket.getAuthor().getVersion(),
+                ticket.getEditor() == null ? null : ticket.getEditor().getVersion(),
+                ticket.getProject() == null ? null : ticket.getProject().getVersion(),
+                ticket.isArchived());
+    }
+}
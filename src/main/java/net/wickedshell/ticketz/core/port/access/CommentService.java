@@ -1,17 +1,32 @@
 package net.wickedshell.ticketz.core.port.access;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import net.wickedshell.ticketz.core.model.Comment;
 import net.wickedshell.ticketz.core.model.Ticket;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Access port for comment management operations.
  */
 public interface CommentService {
 
+    /**
+     * Maximum number of comments accepted by a single batch creation.
+     */
+    int MAX_BATCH_SIZE = 100;
+
+    /**
+     * Maximum number of comments returned by a single page.
+     */
+    int MAX_PAGE_SIZE = 200;
+
     /**
      * Find all comments belonging to a ticket.
      *
@@ -20,6 +35,16 @@ public interface CommentService {
      */
     List<Comment> findByTicketNumber(@NotBlank String ticketNumber);
 
+    /**
+     * Find a page of comments belonging to a ticket.
+     *
+     * @param ticketNumber the ticket number
+     * @param page         the zero-based page index
+     * @param size         the page size
+     * @return list of comments of the requested page ordered by creation date
+     */
+    List<Comment> findByTicketNumber(@NotBlank String ticketNumber, @Min(0) int page, @Min(1) @Max(MAX_PAGE_SIZE) int size);
+
     /**
      * Create a new comment for a ticket.
      *
@@ -27,4 +52,24 @@ public interface CommentService {
      * @param ticket  the ticket the comment belongs to
      */
     void create(@Valid Comment comment, @Valid Ticket ticket);
+
+    /**
+     * Create a batch of comments for a ticket in a single transaction. Outside a transaction and with
+     * write-behind enabled, the batch is committed together with other queued batches; this method
+     * returns once it is durable.
+     *
+     * @param comments the comments to create
+     * @param ticket   the ticket the comments belong to
+     */
+    void createAll(@NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid Comment> comments, @Valid Ticket ticket);
+
+    /**
+     * Create a batch of comments for a ticket in a single transaction, returning as soon as the batch is
+     * queued if write-behind is enabled.
+     *
+     * @param comments the comments to create
+     * @param ticket   the ticket the comments belong to
+     * @return completes once the comments are durable, exceptionally if they could not be written
+     */
+    CompletableFuture<Void> createAllAsync(@NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid Comment> comments, @Valid Ticket ticket);
 }
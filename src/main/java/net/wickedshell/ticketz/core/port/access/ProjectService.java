@@ -48,6 +48,13 @@ public interface ProjectService {
      */
     List<Project> listAll();
 
+    /**
+     * List all active projects, i.e. the projects tickets can be created for.
+     *
+     * @return list of active projects (may be empty)
+     */
+    List<Project> listActive();
+
     /**
      * Validate that the project exists and is active.
      * Inactive projects cannot have new tickets or modifications.
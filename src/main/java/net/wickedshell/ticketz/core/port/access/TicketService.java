@@ -1,11 +1,23 @@
 package net.wickedshell.ticketz.core.port.access;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import net.wickedshell.ticketz.core.model.Comment;
 import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketChanges;
+import net.wickedshell.ticketz.core.model.TicketCount;
+import net.wickedshell.ticketz.core.model.TicketDetails;
+import net.wickedshell.ticketz.core.model.TicketField;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Access port for ticket management operations.
@@ -13,7 +25,22 @@ import java.util.List;
 public interface TicketService {
 
     /**
-     * Load a ticket by its unique ticket number.
+     * Maximum number of comments included in {@link TicketDetails}.
+     */
+    int MAX_DETAIL_COMMENTS = 100;
+
+    /**
+     * Maximum number of changes returned by {@link #findChangedSince(long, int)}.
+     */
+    int MAX_CHANGES = 1000;
+
+    /**
+     * Maximum number of ticket numbers requested by {@link #findByTicketNumbers(List, Set)}.
+     */
+    int MAX_TICKET_NUMBERS = 100;
+
+    /**
+     * Load a ticket by its unique ticket number, active or archived.
      *
      * @param ticketNumber the ticket number
      * @return the ticket with possible next states populated
@@ -21,7 +48,18 @@ public interface TicketService {
     Ticket loadByTicketNumber(@NotBlank String ticketNumber);
 
     /**
-     * Delete a ticket by its ticket number. The ticket's project must be active.
+     * Load everything needed to display a ticket in one read: the ticket with possible next states,
+     * the edit permission of the current user and the first comments. The current user is resolved
+     * only once.
+     *
+     * @param ticketNumber the ticket number
+     * @param commentLimit the maximum number of comments to include, oldest first
+     * @return the ticket details
+     */
+    TicketDetails loadDetailsByTicketNumber(@NotBlank String ticketNumber, @Min(1) @Max(MAX_DETAIL_COMMENTS) int commentLimit);
+
+    /**
+     * Delete a ticket by its ticket number. The ticket's project must be active, archived tickets cannot be deleted.
      *
      * @param ticketNumber the ticket number
      */
@@ -60,14 +98,56 @@ public interface TicketService {
     List<Ticket> findAll();
 
     /**
-     * Search tickets by text across multiple fields.
+     * Find the tickets created, updated, deleted or archived after a change sequence, for clients keeping
+     * a copy of the active tickets in sync. Only the changes are read, not the whole ticket table.
+     *
+     * @param changeSequence the watermark returned by the previous call, 0 to start with all tickets
+     * @param limit          the maximum number of changes, call again with the new watermark for more
+     * @return the changes with possible next states populated and the new watermark
+     */
+    TicketChanges findChangedSince(@Min(0) long changeSequence, @Min(1) @Max(MAX_CHANGES) int limit);
+
+    /**
+     * Search tickets by a query like {@code state:IN_PROGRESS project:WEB editor:me updated>2026-01-01 login}.
+     * Filter terms restrict by equality or date range, the remaining words are searched across multiple fields.
      * Returns all tickets if searchText is null or blank.
      *
-     * @param searchText the text to search for (case-insensitive, partial match)
+     * @param searchText the query (text is case-insensitive, partial match)
      * @return list of matching tickets with possible next states populated
      */
     List<Ticket> search(String searchText);
 
+    /**
+     * Search tickets like {@link #search(String)}, loading only the given fields from the database.
+     * Tickets restricted to some fields have no possible next states.
+     *
+     * @param searchText the query (text is case-insensitive, partial match)
+     * @param fields     the fields to load, all if empty
+     * @return list of matching tickets
+     */
+    List<Ticket> search(String searchText, @NotNull Set<TicketField> fields);
+
+    /**
+     * Load several tickets by their ticket numbers at once, falling back to the archive. Unknown ticket
+     * numbers are skipped. Tickets restricted to some fields have no possible next states.
+     *
+     * @param ticketNumbers the ticket numbers
+     * @param fields        the fields to load, all if empty
+     * @return the found tickets in the order of the ticket numbers
+     */
+    List<Ticket> findByTicketNumbers(@NotEmpty @Size(max = MAX_TICKET_NUMBERS) List<@NotBlank String> ticketNumbers,
+                                     @NotNull Set<TicketField> fields);
+
+    /**
+     * Search tickets by query and facet filters. Returns one page of hits plus the number of hits per
+     * state, project, author and editor, so results can be narrowed down without another search.
+     * Only searches the archived tickets if the search asks for them.
+     *
+     * @param search the search criteria, filters given explicitly take precedence over the ones in the query
+     * @return the requested page of matching tickets with possible next states populated and the facet counts
+     */
+    TicketSearchResult searchFaceted(@Valid TicketSearch search);
+
     /**
      * Evaluate whether the current user can edit the given ticket based on state, project
      * status, and user role (author/editor).
@@ -76,4 +156,12 @@ public interface TicketService {
      * @return true if the current user can edit the ticket
      */
     boolean evaluateCanBeEdited(@Valid Ticket ticket);
+
+    /**
+     * Get the number of tickets per project and state. Served from counters maintained in memory,
+     * so the cost does not depend on the number of tickets.
+     *
+     * @return the non-zero counts ordered by project code and state
+     */
+    List<TicketCount> getTicketCounts();
 }
@@ -76,6 +76,18 @@ public interface UserService {
                         @NotBlank String currentPassword,
                         @NotBlank @Size(min = 8) String newPassword);
 
+    /**
+     * Re-hash the password of a user who just authenticated with it, if it is stored with a weaker
+     * strength than configured. The password is verified against the stored hash once more, so this
+     * cannot change a password, it only replaces the hash of the same password.
+     *
+     * @param email    the email address of the authenticated user
+     * @param password the plain text password the user authenticated with
+     * @return the user with the current password hash
+     * @throws net.wickedshell.ticketz.core.exception.AuthenticationException if the password does not match
+     */
+    User rehashPassword(@Email @NotNull @Size(max = 255) String email, @NotBlank String password);
+
     /**
      * Update the roles of a user. Only accessible by admins.
      * Validates that the admin cannot remove their own ROLE_ADMIN.
@@ -2,6 +2,7 @@ package net.wickedshell.ticketz.core.port.driven.persistence;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import net.wickedshell.ticketz.core.model.Comment;
 import net.wickedshell.ticketz.core.model.Ticket;
 
@@ -13,13 +14,23 @@ import java.util.List;
 public interface CommentPersistence {
 
     /**
-     * Find all comments belonging to a ticket.
+     * Find all comments belonging to a ticket, active or archived.
      *
      * @param ticketNumber the ticket number
      * @return list of comments
      */
     List<Comment> findByTicketNumber(@NotBlank String ticketNumber);
 
+    /**
+     * Find a page of comments belonging to a ticket, active or archived, ordered by creation date.
+     *
+     * @param ticketNumber the ticket number
+     * @param page         the zero-based page index
+     * @param size         the page size
+     * @return list of comments of the requested page
+     */
+    List<Comment> findByTicketNumber(@NotBlank String ticketNumber, int page, int size);
+
     /**
      * Persist a new comment for a ticket.
      *
@@ -28,4 +39,14 @@ public interface CommentPersistence {
      * @return the created comment
      */
     Comment create(@Valid Comment comment, @Valid Ticket ticket);
+
+    /**
+     * Persist a batch of new comments for a ticket.
+     *
+     * @param comments the comments to create
+     * @param ticket   the ticket the comments belong to
+     * @return the created comments
+     * @throws net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException if ticket or author not found
+     */
+    List<Comment> createAll(@NotEmpty List<@Valid Comment> comments, @Valid Ticket ticket);
 }
@@ -43,4 +43,12 @@ public interface ProjectPersistence {
      * @return list of all projects
      */
     List<Project> findAll();
+
+    /**
+     * Get a version of the project data as a whole. It changes whenever a project is created or
+     * updated and is cheap to read, so it can be used to check whether cached projects are stale.
+     *
+     * @return the current catalog version
+     */
+    long getCatalogVersion();
 }
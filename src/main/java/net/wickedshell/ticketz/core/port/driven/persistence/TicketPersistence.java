@@ -1,10 +1,22 @@
 package net.wickedshell.ticketz.core.port.driven.persistence;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketChanges;
+import net.wickedshell.ticketz.core.model.TicketCount;
+import net.wickedshell.ticketz.core.model.TicketField;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
+import net.wickedshell.ticketz.core.model.TicketVersion;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Driven port for ticket persistence operations.
@@ -12,7 +24,7 @@ import java.util.List;
 public interface TicketPersistence {
 
     /**
-     * Load a ticket by its ticket number.
+     * Load a ticket by its ticket number, falling back to the archive.
      *
      * @param ticketNumber the ticket number
      * @return the ticket
@@ -20,6 +32,26 @@ public interface TicketPersistence {
      */
     Ticket loadByTicketNumber(@NotBlank String ticketNumber);
 
+    /**
+     * Read the version of an active ticket without loading it, a cheap check whether a mapped copy is
+     * still current.
+     *
+     * @param ticketNumber the ticket number
+     * @return the version, empty if there is no active ticket with this number
+     */
+    Optional<TicketVersion> findVersionByTicketNumber(@NotBlank String ticketNumber);
+
+    /**
+     * Load a ticket by its ticket number for an update. If database write locks are enabled, the ticket
+     * stays locked until the end of the transaction so concurrent updates from several nodes are applied
+     * one after the other. Falls back to the archive.
+     *
+     * @param ticketNumber the ticket number
+     * @return the ticket
+     * @throws net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException if not found
+     */
+    Ticket loadByTicketNumberForUpdate(@NotBlank String ticketNumber);
+
     /**
      * Delete a ticket by its ticket number.
      *
@@ -46,25 +78,91 @@ public interface TicketPersistence {
     Ticket update(@Valid Ticket ticket);
 
     /**
-     * Find all tickets.
+     * Find all active tickets.
      *
-     * @return list of all tickets
+     * @return list of all active tickets
      */
     List<Ticket> findAll();
 
     /**
-     * Search tickets by text across multiple fields.
-     * Searches: ticketNumber, title, description, author name, editor name, state, project code/name.
+     * Find all tickets matching the filters of the search, ignoring paging. Searches the active tickets
+     * unless the search asks for the archived ones.
+     * The search text matches ticketNumber, title, description, author name, editor name, state and
+     * project code/name (case-insensitive, partial match).
+     *
+     * @param search the search criteria
+     * @return list of matching tickets
+     */
+    List<Ticket> findMatching(@Valid TicketSearch search);
+
+    /**
+     * Find all tickets matching the filters of the search like {@link #findMatching(TicketSearch)}, selecting
+     * only the columns of the given fields. The ticket number is always set.
      *
-     * @param searchText the text to search for (case-insensitive, partial match)
+     * @param search the search criteria
+     * @param fields the fields to load, all if empty
      * @return list of matching tickets
      */
-    List<Ticket> search(@NotBlank String searchText);
+    List<Ticket> findMatching(@Valid TicketSearch search, @NotNull Set<TicketField> fields);
+
+    /**
+     * Find the tickets with the given ticket numbers in one query, falling back to the archive for
+     * the ticket numbers not found.
+     *
+     * @param ticketNumbers the ticket numbers
+     * @param fields the fields to load, all if empty
+     * @return the found tickets in no particular order
+     */
+    List<Ticket> findByTicketNumbers(@NotNull Collection<String> ticketNumbers, @NotNull Set<TicketField> fields);
 
     /**
-     * Get the total number of tickets.
+     * Search tickets by filters, counting the hits per facet value with grouped queries. Searches the
+     * active tickets unless the search asks for the archived ones.
+     *
+     * @param search the search criteria
+     * @return the requested page of matching tickets and the facet counts over all matching tickets
+     */
+    TicketSearchResult searchFaceted(@Valid TicketSearch search);
+
+    /**
+     * Find the active tickets created or updated and the tickets deleted or archived after the given
+     * change sequence. Stops below changes of transactions still running, so a client passing the
+     * returned watermark next time misses none of them.
+     *
+     * @param changeSequence the watermark of the previous call, 0 for all tickets
+     * @param limit the maximum number of changes
+     * @return the changes and the new watermark
+     */
+    TicketChanges findChangedSince(@Min(0) long changeSequence, @Min(1) int limit);
+
+    /**
+     * Get the highest committed change sequence of the tickets, it moves on with every ticket written,
+     * deleted or archived on any node.
+     *
+     * @return the change sequence, 0 if there are no changes
+     */
+    long getChangeSequence();
+
+    /**
+     * Get the total number of tickets, active and archived.
      *
      * @return the ticket count
      */
     long getTicketCount();
+
+    /**
+     * Count the tickets, active and archived, grouped by project and state.
+     *
+     * @return one entry per project and state that has tickets
+     */
+    List<TicketCount> countByProjectAndState();
+
+    /**
+     * Move CLOSED tickets last updated before the given time, together with their comments, to the archive.
+     *
+     * @param closedBefore only tickets closed before are archived
+     * @param limit the maximum number of tickets to archive
+     * @return the number of archived tickets
+     */
+    int archiveClosedTickets(@NotNull LocalDateTime closedBefore, @Min(1) int limit);
 }
@@ -54,4 +54,12 @@ public interface UserPersistence {
      * @return list of all users
      */
     List<User> findAll();
+
+    /**
+     * Get a version of the user data as a whole. It changes whenever a user is created or
+     * updated and is cheap to read, so it can be used to check whether cached users are stale.
+     *
+     * @return the current catalog version
+     */
+    long getCatalogVersion();
 }
@@ -0,0 +1,83 @@
+-- initial schema, matches the JPA entities (validated on startup with ddl-auto=validate)
+
+CREATE SEQUENCE user_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE project_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE ticket_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comment_entity_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE user_entity (
+    id            BIGINT         NOT NULL,
+    email         VARCHAR(255)   NOT NULL,
+    firstname     VARCHAR(255)   NOT NULL,
+    lastname      VARCHAR(255)   NOT NULL,
+    password_hash VARCHAR(255)   NOT NULL,
+    roles         TINYINT ARRAY  NOT NULL,
+    version       BIGINT,
+    date_created  TIMESTAMP(6)   NOT NULL,
+    date_updated  TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_user_entity PRIMARY KEY (id),
+    CONSTRAINT uk_user_email UNIQUE (email)
+);
+
+CREATE TABLE project_entity (
+    id           BIGINT        NOT NULL,
+    code         VARCHAR(50)   NOT NULL,
+    name         VARCHAR(255)  NOT NULL,
+    description  VARCHAR(1000),
+    active       BOOLEAN       NOT NULL,
+    version      BIGINT,
+    date_created TIMESTAMP(6)  NOT NULL,
+    date_updated TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_project_entity PRIMARY KEY (id),
+    CONSTRAINT uk_project_code UNIQUE (code)
+);
+
+CREATE TABLE ticket_entity (
+    id            BIGINT        NOT NULL,
+    ticket_number VARCHAR(255)  NOT NULL,
+    title         VARCHAR(80)   NOT NULL,
+    description   VARCHAR(255)  NOT NULL,
+    state         TINYINT       NOT NULL CHECK (state BETWEEN 0 AND 5),
+    author_id     BIGINT        NOT NULL,
+    editor_id     BIGINT,
+    project_id    BIGINT        NOT NULL,
+    version       BIGINT        NOT NULL,
+    date_created  TIMESTAMP(6)  NOT NULL,
+    date_updated  TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_ticket_entity PRIMARY KEY (id),
+    CONSTRAINT uk_ticket_number UNIQUE (ticket_number)
+);
+
+CREATE TABLE comment_entity (
+    id           BIGINT        NOT NULL,
+    text         VARCHAR(255)  NOT NULL,
+    author_id    BIGINT        NOT NULL,
+    ticket_id    BIGINT        NOT NULL,
+    date_created TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_comment_entity PRIMARY KEY (id)
+);
+
+-- indexes for the hot queries: ticket list filters and facets, dashboard counters, comment pages
+-- (created before the foreign keys, H2 reuses them instead of creating its own constraint indexes)
+
+-- state filter and project/state counters (GROUP BY project, state)
+CREATE INDEX idx_ticket_project_state ON ticket_entity (project_id, state);
+CREATE INDEX idx_ticket_state ON ticket_entity (state);
+
+-- author:/editor: filters and the corresponding facets
+CREATE INDEX idx_ticket_author ON ticket_entity (author_id);
+CREATE INDEX idx_ticket_editor ON ticket_entity (editor_id);
+
+-- created:/updated: ranges
+CREATE INDEX idx_ticket_date_created ON ticket_entity (date_created);
+CREATE INDEX idx_ticket_date_updated ON ticket_entity (date_updated);
+
+-- comments of a ticket, in page order (ORDER BY date_created, id)
+CREATE INDEX idx_comment_ticket_created ON comment_entity (ticket_id, date_created, id);
+
+-- foreign keys
+ALTER TABLE ticket_entity ADD CONSTRAINT fk_ticket_author FOREIGN KEY (author_id) REFERENCES user_entity (id);
+ALTER TABLE ticket_entity ADD CONSTRAINT fk_ticket_editor FOREIGN KEY (editor_id) REFERENCES user_entity (id);
+ALTER TABLE ticket_entity ADD CONSTRAINT fk_ticket_project FOREIGN KEY (project_id) REFERENCES project_entity (id);
+ALTER TABLE comment_entity ADD CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES user_entity (id);
+ALTER TABLE comment_entity ADD CONSTRAINT fk_comment_ticket FOREIGN KEY (ticket_id) REFERENCES ticket_entity (id);
@@ -0,0 +1,43 @@
+-- archive tier: CLOSED tickets and their comments are moved here after ticketz.app.ticketArchiveAfterDays
+
+CREATE TABLE archived_ticket_entity (
+    id            BIGINT        NOT NULL,
+    ticket_number VARCHAR(255)  NOT NULL,
+    title         VARCHAR(80)   NOT NULL,
+    description   VARCHAR(255)  NOT NULL,
+    state         TINYINT       NOT NULL CHECK (state BETWEEN 0 AND 5),
+    author_id     BIGINT        NOT NULL,
+    editor_id     BIGINT,
+    project_id    BIGINT        NOT NULL,
+    version       BIGINT        NOT NULL,
+    date_created  TIMESTAMP(6)  NOT NULL,
+    date_updated  TIMESTAMP(6)  NOT NULL,
+    archive_date  TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_archived_ticket_entity PRIMARY KEY (id),
+    CONSTRAINT uk_archived_ticket_number UNIQUE (ticket_number)
+);
+
+CREATE TABLE archived_comment_entity (
+    id           BIGINT        NOT NULL,
+    text         VARCHAR(255)  NOT NULL,
+    author_id    BIGINT        NOT NULL,
+    ticket_id    BIGINT        NOT NULL,
+    date_created TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_archived_comment_entity PRIMARY KEY (id)
+);
+
+-- archive search filters and the per project counters
+CREATE INDEX idx_archived_ticket_project ON archived_ticket_entity (project_id);
+CREATE INDEX idx_archived_ticket_author ON archived_ticket_entity (author_id);
+CREATE INDEX idx_archived_ticket_editor ON archived_ticket_entity (editor_id);
+CREATE INDEX idx_archived_ticket_date_updated ON archived_ticket_entity (date_updated);
+
+-- comments of an archived ticket, in page order
+CREATE INDEX idx_archived_comment_ticket_created ON archived_comment_entity (ticket_id, date_created, id);
+
+-- foreign keys
+ALTER TABLE archived_ticket_entity ADD CONSTRAINT fk_archived_ticket_author FOREIGN KEY (author_id) REFERENCES user_entity (id);
+ALTER TABLE archived_ticket_entity ADD CONSTRAINT fk_archived_ticket_editor FOREIGN KEY (editor_id) REFERENCES user_entity (id);
+ALTER TABLE archived_ticket_entity ADD CONSTRAINT fk_archived_ticket_project FOREIGN KEY (project_id) REFERENCES project_entity (id);
+ALTER TABLE archived_comment_entity ADD CONSTRAINT fk_archived_comment_author FOREIGN KEY (author_id) REFERENCES user_entity (id);
+ALTER TABLE archived_comment_entity ADD CONSTRAINT fk_archived_comment_ticket FOREIGN KEY (ticket_id) REFERENCES archived_ticket_entity (id);
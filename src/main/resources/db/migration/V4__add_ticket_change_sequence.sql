@@ -0,0 +1,20 @@
+-- delta sync: every insert and update of a ticket draws the next change sequence, removed tickets leave a
+-- tombstone with their own change sequence, clients ask for all changes above the last sequence they saw
+
+CREATE SEQUENCE ticket_change_seq START WITH 1 INCREMENT BY 1;
+
+ALTER TABLE ticket_entity ADD COLUMN change_sequence BIGINT;
+UPDATE ticket_entity SET change_sequence = NEXT VALUE FOR ticket_change_seq;
+ALTER TABLE ticket_entity ALTER COLUMN change_sequence SET NOT NULL;
+
+-- changes above a watermark, in sequence order
+CREATE UNIQUE INDEX idx_ticket_change_sequence ON ticket_entity (change_sequence);
+
+-- deleted and archived tickets, the primary key serves the range scans
+CREATE TABLE ticket_tombstone_entity (
+    change_sequence BIGINT        NOT NULL,
+    ticket_number   VARCHAR(255)  NOT NULL,
+    archived        BOOLEAN       NOT NULL,
+    date_created    TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_ticket_tombstone_entity PRIMARY KEY (change_sequence)
+);
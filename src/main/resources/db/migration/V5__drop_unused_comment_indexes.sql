@@ -0,0 +1,6 @@
+-- H2 creates an index of its own for every foreign key whose columns no index matches exactly, so the
+-- comments of a ticket are looked up through the ticket_id index of the foreign key, and the planner
+-- prefers it over the wider page order indexes. These were only maintained on every comment insert.
+
+DROP INDEX idx_comment_ticket_created;
+DROP INDEX idx_archived_comment_ticket_created;
@@ -0,0 +1,71 @@
+/*
+ * Progressive enhancement for partial page updates.
+ *
+ * Forms with a data-fragment-target attribute are posted in the background and the returned
+ * fragment replaces the element with that id. Links with a data-fragment-remove attribute are
+ * requested in the background and the element with that id is removed on success.
+ * Both send the HX-Request header so the server answers with a fragment instead of a redirect.
+ * If the request does not get through, the regular (full page) request is made instead. If the
+ * server answers with an error, the request may have had an effect already, so it is not repeated
+ * and the page is reloaded to show the current state.
+ */
+(function () {
+    'use strict';
+
+    const FRAGMENT_HEADERS = {'HX-Request': 'true'};
+
+    document.addEventListener('submit', async function (event) {
+        const form = event.target;
+        const targetId = form.dataset.fragmentTarget;
+        if (!targetId) {
+            return;
+        }
+        event.preventDefault();
+        const submitter = event.submitter;
+        let response;
+        try {
+            response = await fetch(form.action, {
+                method: 'POST',
+                headers: FRAGMENT_HEADERS,
+                body: new URLSearchParams(new FormData(form, submitter))
+            });
+        } catch (error) {
+            delete form.dataset.fragmentTarget;
+            form.requestSubmit(submitter);
+            return;
+        }
+        const target = document.getElementById(targetId);
+        if (!response.ok || !target) {
+            window.location.reload();
+            return;
+        }
+        target.outerHTML = await response.text();
+    });
+
+    document.addEventListener('click', async function (event) {
+        const link = event.target.closest('a[data-fragment-remove]');
+        if (!link) {
+            return;
+        }
+        event.preventDefault();
+        let response;
+        try {
+            response = await fetch(link.href, {headers: FRAGMENT_HEADERS});
+        } catch (error) {
+            window.location.href = link.href;
+            return;
+        }
+        if (!response.ok) {
+            window.location.reload();
+            return;
+        }
+        const element = document.getElementById(link.dataset.fragmentRemove);
+        if (element) {
+            element.remove();
+        }
+        const modal = link.closest('.modal');
+        if (modal) {
+            bootstrap.Modal.getOrCreateInstance(modal).hide();
+        }
+    });
+})();
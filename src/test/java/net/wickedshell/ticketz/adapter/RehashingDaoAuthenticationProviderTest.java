@@ -0,0 +1,98 @@
+package net.wickedshell.ticketz.adapter;
+
+import net.wickedshell.ticketz.core.exception.ServiceUnavailableException;
+import net.wickedshell.ticketz.core.port.access.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RehashingDaoAuthenticationProviderTest {
+
+    private static final String WEAK_HASH = "weak-hash";
+    private static final String STRONG_HASH = "strong-hash";
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserService userService;
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private RehashingDaoAuthenticationProvider unitUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        unitUnderTest = new RehashingDaoAuthenticationProvider(passwordEncoder, userService);
+        unitUnderTest.setUserDetailsService(userDetailsService);
+        UserDetails user = new User("test@us.er", WEAK_HASH, List.of());
+        when(userDetailsService.loadUserByUsername("test@us.er")).thenReturn(user);
+        // the provider hashes a dummy password once, to compare unknown users against
+        when(passwordEncoder.encode("userNotFoundPassword")).thenReturn("dummy-hash");
+        when(passwordEncoder.matches("secret123", WEAK_HASH)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(WEAK_HASH)).thenReturn(true);
+    }
+
+    @Test
+    void testAuthenticate_weakHash_rehashed() {
+        // given
+        when(userService.rehashPassword("test@us.er", "secret123")).thenReturn(createUser(STRONG_HASH));
+
+        // when
+        Authentication authentication = unitUnderTest.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("test@us.er", "secret123"));
+
+        // then
+        assertTrue(authentication.isAuthenticated());
+        verify(userService).rehashPassword("test@us.er", "secret123");
+    }
+
+    @Test
+    void testAuthenticate_hashingSaturated_loginSucceedsWithOldHash() {
+        // given
+        when(userService.rehashPassword("test@us.er", "secret123"))
+                .thenThrow(new ServiceUnavailableException("Password hashing is saturated"));
+
+        // when
+        Authentication authentication = unitUnderTest.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("test@us.er", "secret123"));
+
+        // then
+        assertTrue(authentication.isAuthenticated());
+    }
+
+    @Test
+    void testAuthenticate_userEditedConcurrently_loginSucceedsWithOldHash() {
+        // given
+        when(userService.rehashPassword("test@us.er", "secret123"))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Object.class, "test@us.er"));
+
+        // when
+        Authentication authentication = unitUnderTest.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("test@us.er", "secret123"));
+
+        // then
+        assertTrue(authentication.isAuthenticated());
+    }
+
+    private static net.wickedshell.ticketz.core.model.User createUser(String passwordHash) {
+        net.wickedshell.ticketz.core.model.User user = new net.wickedshell.ticketz.core.model.User();
+        user.setEmail("test@us.er");
+        user.setPasswordHash(passwordHash);
+        return user;
+    }
+}
@@ -2,6 +2,7 @@ package net.wickedshell.ticketz.adapter.jpa.persistence;
 
 import jakarta.inject.Inject;
 import net.wickedshell.ticketz.adapter.jpa.converter.UserToUserEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedCommentRepository;
 import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
 import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
 import net.wickedshell.ticketz.adapter.jpa.repository.UserRepository;
@@ -12,7 +13,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,12 +26,18 @@ class CommentJPAPersistenceImplTest {
     @Inject
     private CommentRepository commentRepository;
 
+    @Inject
+    private ArchivedCommentRepository archivedCommentRepository;
+
     @Inject
     private TicketRepository ticketRepository;
 
     @Inject
     private UserRepository userRepository;
 
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
     private CommentJPAPersistenceImpl unitUnderTest;
 
     @BeforeEach
@@ -36,7 +45,7 @@ class CommentJPAPersistenceImplTest {
         UserToUserEntityConverter userConverter = new UserToUserEntityConverter(userRepository);
         ModelMapper mapper = new ModelMapper();
         mapper.addConverter(userConverter);
-        unitUnderTest = new CommentJPAPersistenceImpl(commentRepository, ticketRepository, mapper);
+        unitUnderTest = new CommentJPAPersistenceImpl(commentRepository, archivedCommentRepository, ticketRepository, userRepository, mapper);
     }
 
     @Test
@@ -94,4 +103,105 @@ class CommentJPAPersistenceImplTest {
         assertEquals(1, comments.size());
         assertEquals("Test comment", comments.get(0).getText());
     }
+
+    @Test
+    void testCreateAll_success() {
+        // given
+        User author = new User();
+        author.setEmail("test@us.er");
+
+        Comment first = new Comment();
+        first.setText("First batch comment");
+        first.setAuthor(author);
+
+        Comment second = new Comment();
+        second.setText("Second batch comment");
+        second.setAuthor(author);
+
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("test_ticket");
+
+        // when
+        List<Comment> createdComments = unitUnderTest.createAll(List.of(first, second), ticket);
+
+        // then
+        assertEquals(2, createdComments.size());
+        assertEquals("First batch comment", createdComments.get(0).getText());
+        assertEquals("test@us.er", createdComments.get(1).getAuthor().getEmail());
+        assertEquals(2, unitUnderTest.findByTicketNumber("test_ticket").size());
+    }
+
+    @Test
+    void testFindByTicketNumber_paged() {
+        // given
+        User author = new User();
+        author.setEmail("test@us.er");
+
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("test_ticket");
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setAuthor(author);
+            comments.add(comment);
+        }
+        unitUnderTest.createAll(comments, ticket);
+
+        // when
+        List<Comment> firstPage = unitUnderTest.findByTicketNumber("test_ticket", 0, 2);
+        List<Comment> lastPage = unitUnderTest.findByTicketNumber("test_ticket", 2, 2);
+
+        // then
+        assertEquals(2, firstPage.size());
+        assertEquals("Comment 0", firstPage.get(0).getText());
+        assertEquals(1, lastPage.size());
+        assertEquals("Comment 4", lastPage.get(0).getText());
+    }
+
+    @Test
+    void testFindByTicketNumber_inCreationOrder() {
+        // given
+        User author = new User();
+        author.setEmail("test@us.er");
+
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("test_ticket");
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setAuthor(author);
+            comments.add(comment);
+        }
+        unitUnderTest.createAll(comments, ticket);
+
+        // when
+        List<Comment> foundComments = unitUnderTest.findByTicketNumber("test_ticket");
+
+        // then
+        assertEquals(List.of("Comment 0", "Comment 1", "Comment 2"), foundComments.stream().map(Comment::getText).toList());
+    }
+
+    @Test
+    void testFindByTicketNumber_archivedTicket() {
+        // given
+        jdbcTemplate.update("INSERT INTO archived_ticket_entity (id, ticket_number, title, description, state, author_id, "
+                + "project_id, version, date_created, date_updated, archive_date) "
+                + "VALUES (-10, 'archived_ticket', 'Title', 'Description', 5, -1, -3, 0, NOW(), NOW(), NOW())");
+        jdbcTemplate.update("INSERT INTO archived_comment_entity (id, text, author_id, ticket_id, date_created) "
+                + "VALUES (-11, 'Archived comment', -1, -10, NOW())");
+
+        // when
+        List<Comment> comments = unitUnderTest.findByTicketNumber("archived_ticket");
+        List<Comment> firstPage = unitUnderTest.findByTicketNumber("archived_ticket", 0, 2);
+
+        // then
+        assertEquals(1, comments.size());
+        assertEquals("Archived comment", comments.get(0).getText());
+        assertEquals("test@us.er", comments.get(0).getAuthor().getEmail());
+        assertEquals(1, firstPage.size());
+    }
 }
@@ -93,4 +93,27 @@ class ProjectJPAPersistenceImplTest {
         assertFalse(projects.isEmpty());
         assertTrue(projects.stream().anyMatch(p -> "DEFAULT".equals(p.getCode())));
     }
+
+    @Test
+    void testGetCatalogVersion_changesOnCreateAndUpdate() {
+        // given
+        long initialVersion = unitUnderTest.getCatalogVersion();
+        Project project = new Project();
+        project.setCode("VERSIONED");
+        project.setName("Versioned Project");
+        project.setActive(true);
+
+        // when
+        Project createdProject = unitUnderTest.create(project);
+        projectRepository.flush();
+        long versionAfterCreate = unitUnderTest.getCatalogVersion();
+        createdProject.setName("Renamed Project");
+        unitUnderTest.update(createdProject);
+        projectRepository.flush();
+        long versionAfterUpdate = unitUnderTest.getCatalogVersion();
+
+        // then
+        assertTrue(versionAfterCreate > initialVersion);
+        assertTrue(versionAfterUpdate > versionAfterCreate);
+    }
 }
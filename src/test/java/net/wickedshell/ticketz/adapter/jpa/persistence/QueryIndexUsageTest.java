@@ -0,0 +1,205 @@
+package net.wickedshell.ticketz.adapter.jpa.persistence;
+
+import jakarta.inject.Inject;
+import net.wickedshell.ticketz.adapter.jpa.converter.ProjectToProjectEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.converter.UserToUserEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedCommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedTicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.ProjectRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketTombstoneRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.UserRepository;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketState;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Captures the SQL Hibernate generates for the hot queries, runs {@code EXPLAIN} on it against the
+ * migrated schema and checks that H2 picks the index created for them.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "net.wickedshell.ticketz.adapter.jpa.persistence.QueryIndexUsageTest$CapturingStatementInspector")
+class QueryIndexUsageTest {
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+    @Inject
+    private TicketRepository ticketRepository;
+    @Inject
+    private ArchivedTicketRepository archivedTicketRepository;
+    @Inject
+    private CommentRepository commentRepository;
+    @Inject
+    private ArchivedCommentRepository archivedCommentRepository;
+    @Inject
+    private TicketTombstoneRepository ticketTombstoneRepository;
+    @Inject
+    private UserRepository userRepository;
+    @Inject
+    private ProjectRepository projectRepository;
+
+    private TicketJPAPersistenceImpl ticketPersistence;
+    private CommentJPAPersistenceImpl commentPersistence;
+
+    @BeforeEach
+    public void setupTest() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.addConverter(new UserToUserEntityConverter(userRepository));
+        mapper.addConverter(new ProjectToProjectEntityConverter(projectRepository));
+        ticketPersistence = new TicketJPAPersistenceImpl(mapper, ticketRepository, archivedTicketRepository, commentRepository,
+                ticketTombstoneRepository, new TicketChangeSequence(ticketRepository, ticketTombstoneRepository));
+        commentPersistence = new CommentJPAPersistenceImpl(commentRepository, archivedCommentRepository, ticketRepository,
+                userRepository, mapper);
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testExplain_stateAndProjectFilter_usesIndex() {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setProjectCode("DEFAULT");
+        search.setState(TicketState.IN_PROGRESS);
+
+        // when
+        ticketPersistence.findMatching(search);
+
+        // then
+        assertUsesIndex("IDX_TICKET_PROJECT_STATE");
+    }
+
+    @Test
+    void testExplain_projectCounters_usesIndex() {
+        // when
+        ticketPersistence.countByProjectAndState();
+
+        // then
+        assertUsesIndex("IDX_TICKET_PROJECT_STATE");
+    }
+
+    @Test
+    void testExplain_stateFilter_usesIndex() {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setState(TicketState.FIXED);
+
+        // when
+        ticketPersistence.findMatching(search);
+
+        // then
+        assertUsesIndex("IDX_TICKET_STATE");
+    }
+
+    @Test
+    void testExplain_authorFilter_usesIndex() {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setAuthorEmail("test@us.er");
+
+        // when
+        ticketPersistence.findMatching(search);
+
+        // then
+        assertUsesIndex("IDX_TICKET_AUTHOR");
+    }
+
+    @Test
+    void testExplain_editorFilter_usesIndex() {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setEditorEmail("test@us.er");
+
+        // when
+        ticketPersistence.findMatching(search);
+
+        // then
+        assertUsesIndex("IDX_TICKET_EDITOR");
+    }
+
+    @Test
+    void testExplain_createdRange_usesIndex() {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setCreatedFrom(LocalDateTime.of(2026, 1, 1, 0, 0));
+
+        // when
+        ticketPersistence.findMatching(search);
+
+        // then
+        assertUsesIndex("IDX_TICKET_DATE_CREATED");
+    }
+
+    @Test
+    void testExplain_updatedRange_usesIndex() {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setUpdatedFrom(LocalDateTime.of(2026, 1, 1, 0, 0));
+
+        // when
+        ticketPersistence.findMatching(search);
+
+        // then
+        assertUsesIndex("IDX_TICKET_DATE_UPDATED");
+    }
+
+    @Test
+    void testExplain_changesSinceWatermark_usesIndex() {
+        // when
+        ticketRepository.findChangedBetween(10, 20, PageRequest.of(0, 100));
+
+        // then
+        assertUsesIndex("IDX_TICKET_CHANGE_SEQUENCE");
+    }
+
+    @Test
+    void testExplain_tombstonesSinceWatermark_usesIndex() {
+        // when
+        ticketTombstoneRepository.findChangedBetween(10, 20, PageRequest.of(0, 100));
+
+        // then
+        assertUsesIndex("PRIMARY_KEY");
+    }
+
+    @Test
+    void testExplain_commentPageOfTicket_usesIndex() {
+        // when
+        commentPersistence.findByTicketNumber("test_ticket", 0, 20);
+
+        // then
+        assertUsesIndex("FK_COMMENT_TICKET");
+    }
+
+    private void assertUsesIndex(String expectedIndex) {
+        List<String> plans = CapturingStatementInspector.STATEMENTS.stream()
+                .map(sql -> jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class))
+                .toList();
+        assertTrue(plans.stream().anyMatch(plan -> plan.toUpperCase().contains(expectedIndex)),
+                () -> "no statement uses " + expectedIndex + ":\n" + String.join("\n", plans));
+    }
+
+    /**
+     * Collects the statements Hibernate prepares, instantiated by Hibernate for the session factory.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package net.wickedshell.ticketz.adapter.jpa.persistence;
+
+import jakarta.inject.Inject;
+import net.wickedshell.ticketz.adapter.jpa.converter.ProjectToProjectEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.converter.UserToUserEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedCommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedTicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.ProjectRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketTombstoneRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.UserRepository;
+import net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException;
+import net.wickedshell.ticketz.core.model.Comment;
+import net.wickedshell.ticketz.core.model.Project;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketState;
+import net.wickedshell.ticketz.core.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Archives tickets and adds comments concurrently in separate transactions, so both run without the rollback of
+ * the test transaction and the committed data is dropped with the context.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TicketArchivingConcurrencyTest {
+
+    // well below the lock timeout of H2, long enough for the other transaction to reach the lock
+    private static final long BLOCKED_MILLIS = 200;
+
+    @Inject
+    private TicketRepository ticketRepository;
+
+    @Inject
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Inject
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Inject
+    private CommentRepository commentRepository;
+
+    @Inject
+    private TicketTombstoneRepository ticketTombstoneRepository;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private ProjectRepository projectRepository;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private TicketJPAPersistenceImpl ticketPersistence;
+
+    private CommentJPAPersistenceImpl commentPersistence;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setupTest() {
+        // setup units under test
+        ModelMapper mapper = new ModelMapper();
+        mapper.addConverter(new UserToUserEntityConverter(userRepository));
+        mapper.addConverter(new ProjectToProjectEntityConverter(projectRepository));
+        ticketPersistence = new TicketJPAPersistenceImpl(mapper, ticketRepository, archivedTicketRepository, commentRepository,
+                ticketTombstoneRepository, new TicketChangeSequence(ticketRepository, ticketTombstoneRepository));
+        commentPersistence = new CommentJPAPersistenceImpl(commentRepository, archivedCommentRepository, ticketRepository,
+                userRepository, mapper);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newSingleThreadExecutor();
+        transactionTemplate.executeWithoutResult(status -> {
+            createTicket("test archive", TicketState.CLOSED);
+            createTicket("test open", TicketState.IN_PROGRESS);
+        });
+    }
+
+    @AfterEach
+    public void tearDownTest() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testArchiveClosedTickets_commentCommittedWhileArchiving_commentArchived() throws Exception {
+        // given
+        CountDownLatch commentCreated = new CountDownLatch(1);
+        CountDownLatch archivingStarted = new CountDownLatch(1);
+        Future<?> commenting = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            commentPersistence.create(comment("Late comment"), ticket("test archive"));
+            commentCreated.countDown();
+            await(archivingStarted);
+            sleep(BLOCKED_MILLIS);
+        }));
+        assertTrue(commentCreated.await(5, TimeUnit.SECONDS));
+
+        // when
+        archivingStarted.countDown();
+        Integer archived = transactionTemplate.execute(status ->
+                ticketPersistence.archiveClosedTickets(LocalDateTime.now().plusMinutes(1), 10));
+
+        // then
+        commenting.get(5, TimeUnit.SECONDS);
+        assertEquals(1, archived);
+        assertTrue(ticketRepository.findByTicketNumber("test archive").isEmpty());
+        assertTrue(commentRepository.findByTicketNumber("test archive").isEmpty());
+        assertEquals(List.of("Late comment"), transactionTemplate.execute(status ->
+                commentPersistence.findByTicketNumber("test archive").stream().map(Comment::getText).toList()));
+    }
+
+    @Test
+    void testCreateComment_whileArchiving_ticketNotFound() throws Exception {
+        // given
+        CountDownLatch ticketsArchived = new CountDownLatch(1);
+        CountDownLatch commentingStarted = new CountDownLatch(1);
+        Future<Integer> archiving = executor.submit(() -> transactionTemplate.execute(status -> {
+            int archived = ticketPersistence.archiveClosedTickets(LocalDateTime.now().plusMinutes(1), 10);
+            ticketsArchived.countDown();
+            await(commentingStarted);
+            sleep(BLOCKED_MILLIS);
+            return archived;
+        }));
+        assertTrue(ticketsArchived.await(5, TimeUnit.SECONDS));
+
+        // when / then
+        commentingStarted.countDown();
+        assertThrows(ObjectNotFoundException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                commentPersistence.create(comment("Late comment"), ticket("test archive"))));
+        assertEquals(1, archiving.get(5, TimeUnit.SECONDS));
+        assertEquals(0, archivedCommentRepository.count());
+    }
+
+    private void createTicket(String ticketNumber, TicketState state) {
+        User user = new User();
+        user.setEmail("test@us.er");
+
+        Project project = new Project();
+        project.setCode("DEFAULT");
+
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber(ticketNumber);
+        ticket.setTitle("Test Ticket Title");
+        ticket.setDescription("Test Description");
+        ticket.setState(state);
+        ticket.setAuthor(user);
+        ticket.setProject(project);
+        ticketPersistence.create(ticket);
+    }
+
+    @Test
+    void testCreateComment_otherCommentUncommittedOnOpenTicket_notBlocked() throws Exception {
+        // given
+        CountDownLatch firstCommentCreated = new CountDownLatch(1);
+        CountDownLatch secondCommentCreated = new CountDownLatch(1);
+        Future<?> commenting = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            commentPersistence.create(comment("First comment"), ticket("test open"));
+            firstCommentCreated.countDown();
+            await(secondCommentCreated);
+        }));
+        assertTrue(firstCommentCreated.await(5, TimeUnit.SECONDS));
+
+        // when
+        transactionTemplate.executeWithoutResult(status ->
+                commentPersistence.create(comment("Second comment"), ticket("test open")));
+
+        // then
+        secondCommentCreated.countDown();
+        commenting.get(5, TimeUnit.SECONDS);
+        assertEquals(2, commentRepository.findByTicketNumber("test open").size());
+    }
+
+    private static Comment comment(String text) {
+        User author = new User();
+        author.setEmail("test@us.er");
+
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setAuthor(author);
+        return comment;
+    }
+
+    private static Ticket ticket(String ticketNumber) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber(ticketNumber);
+        return ticket;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
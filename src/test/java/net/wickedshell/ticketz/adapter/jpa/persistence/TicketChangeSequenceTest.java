@@ -0,0 +1,75 @@
+package net.wickedshell.ticketz.adapter.jpa.persistence;
+
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketChangeSequenceTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketTombstoneRepository ticketTombstoneRepository;
+
+    private TicketChangeSequence unitUnderTest;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setupTest() {
+        unitUnderTest = new TicketChangeSequence(ticketRepository, ticketTombstoneRepository);
+        executor = Executors.newSingleThreadExecutor();
+        when(ticketRepository.findMaxChangeSequence()).thenReturn(10L);
+        when(ticketTombstoneRepository.findMaxChangeSequence()).thenReturn(0L);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void tearDownTest() {
+        executor.shutdownNow();
+        if (TransactionSynchronizationManager.hasResource(unitUnderTest)) {
+            TransactionSynchronizationManager.unbindResource(unitUnderTest);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testCommittedUpTo_higherSequenceDrawnWhileDrawing_stopsBelowRunningTransaction() throws Exception {
+        // given
+        long[] committedWhileDrawing = new long[1];
+        when(ticketRepository.nextChangeSequence()).thenAnswer(invocation -> {
+            // another transaction draws and commits the next sequence before this draw returns
+            executor.submit(() -> unitUnderTest.next()).get(5, TimeUnit.SECONDS);
+            committedWhileDrawing[0] = executor.submit(() -> unitUnderTest.committedUpTo()).get(5, TimeUnit.SECONDS);
+            return 11L;
+        }).thenReturn(12L);
+
+        // when
+        long changeSequence = unitUnderTest.next();
+
+        // then
+        assertEquals(11, changeSequence);
+        assertEquals(10, committedWhileDrawing[0]);
+        assertEquals(10, executor.submit(() -> unitUnderTest.committedUpTo()).get(5, TimeUnit.SECONDS));
+        assertEquals(12, unitUnderTest.committedUpTo());
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals(12, executor.submit(() -> unitUnderTest.committedUpTo()).get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,180 @@
+package net.wickedshell.ticketz.adapter.jpa.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import net.wickedshell.ticketz.adapter.jpa.converter.ProjectToProjectEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.converter.UserToUserEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedCommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedTicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.ProjectRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketTombstoneRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.UserRepository;
+import net.wickedshell.ticketz.core.CommentServiceImpl;
+import net.wickedshell.ticketz.core.TicketServiceImpl;
+import net.wickedshell.ticketz.core.UserServiceImpl;
+import net.wickedshell.ticketz.core.model.Comment;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketDetails;
+import net.wickedshell.ticketz.core.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the number of SQL statements needed to read the ticket details.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketDetailsStatementCountTest {
+
+    // versions + ticket with author, editor and project + current user + first comment page with authors
+    private static final long EXPECTED_STATEMENTS = 4;
+    // the cached ticket is used while its versions are unchanged
+    private static final long EXPECTED_STATEMENTS_CACHED = 3;
+
+    @Inject
+    private TicketRepository ticketRepository;
+
+    @Inject
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Inject
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Inject
+    private CommentRepository commentRepository;
+
+    @Inject
+    private TicketTombstoneRepository ticketTombstoneRepository;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private ProjectRepository projectRepository;
+
+    @Inject
+    private EntityManager entityManager;
+
+    @Inject
+    private EntityManagerFactory entityManagerFactory;
+
+    private CommentJPAPersistenceImpl commentPersistence;
+
+    private TicketServiceImpl unitUnderTest;
+
+    @BeforeEach
+    public void setupTest() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.addConverter(new UserToUserEntityConverter(userRepository));
+        mapper.addConverter(new ProjectToProjectEntityConverter(projectRepository));
+        commentPersistence = new CommentJPAPersistenceImpl(commentRepository, archivedCommentRepository, ticketRepository, userRepository, mapper);
+        UserJPAPersistenceImpl userPersistence = new UserJPAPersistenceImpl(mapper, userRepository);
+        UserServiceImpl userService = new UserServiceImpl(userPersistence, new BCryptPasswordEncoder());
+        unitUnderTest = new TicketServiceImpl(new TicketJPAPersistenceImpl(mapper, ticketRepository, archivedTicketRepository, commentRepository,
+                ticketTombstoneRepository, new TicketChangeSequence(ticketRepository, ticketTombstoneRepository)),
+                new ProjectJPAPersistenceImpl(projectRepository, mapper), userPersistence, userService,
+                new CommentServiceImpl(commentPersistence, null), null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(unitUnderTest, "ticketCacheMaxBytes", 1_000_000L);
+        ReflectionTestUtils.invokeMethod(unitUnderTest, "createTicketCache");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test@us.er", null, List.of()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testLoadDetailsByTicketNumber_fixedStatementCount() {
+        // given
+        createComments(30);
+        Statistics statistics = resetStatistics();
+
+        // when
+        TicketDetails ticketDetails = unitUnderTest.loadDetailsByTicketNumber("test_ticket", 20);
+
+        // then
+        assertEquals(EXPECTED_STATEMENTS, statistics.getPrepareStatementCount());
+        assertEquals("test_ticket", ticketDetails.getTicket().getTicketNumber());
+        assertEquals("DEFAULT", ticketDetails.getTicket().getProject().getCode());
+        assertTrue(ticketDetails.isCanEdit());
+        assertFalse(ticketDetails.getTicket().getPossibleNextStates().isEmpty());
+        assertEquals(20, ticketDetails.getComments().size());
+        assertEquals("Comment 0", ticketDetails.getComments().get(0).getText());
+        assertTrue(ticketDetails.isMoreComments());
+    }
+
+    @Test
+    void testLoadDetailsByTicketNumber_allCommentsFit() {
+        // given
+        createComments(3);
+        Statistics statistics = resetStatistics();
+
+        // when
+        TicketDetails ticketDetails = unitUnderTest.loadDetailsByTicketNumber("test_ticket", 20);
+
+        // then
+        assertEquals(EXPECTED_STATEMENTS, statistics.getPrepareStatementCount());
+        assertEquals(3, ticketDetails.getComments().size());
+        assertFalse(ticketDetails.isMoreComments());
+    }
+
+    @Test
+    void testLoadDetailsByTicketNumber_cachedTicket() {
+        // given
+        createComments(3);
+        resetStatistics();
+        unitUnderTest.loadDetailsByTicketNumber("test_ticket", 20);
+        Statistics statistics = resetStatistics();
+
+        // when
+        TicketDetails ticketDetails = unitUnderTest.loadDetailsByTicketNumber("test_ticket", 20);
+
+        // then
+        assertEquals(EXPECTED_STATEMENTS_CACHED, statistics.getPrepareStatementCount());
+        assertEquals("DEFAULT", ticketDetails.getTicket().getProject().getCode());
+        assertTrue(ticketDetails.isCanEdit());
+        assertEquals(3, ticketDetails.getComments().size());
+    }
+
+    private void createComments(int count) {
+        User author = new User();
+        author.setEmail("test@us.er");
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("test_ticket");
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setAuthor(author);
+            comments.add(comment);
+        }
+        commentPersistence.createAll(comments, ticket);
+    }
+
+    private Statistics resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -3,11 +3,24 @@ package net.wickedshell.ticketz.adapter.jpa.persistence;
 import jakarta.inject.Inject;
 import net.wickedshell.ticketz.adapter.jpa.converter.ProjectToProjectEntityConverter;
 import net.wickedshell.ticketz.adapter.jpa.converter.UserToUserEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.entity.CommentEntity;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedTicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
 import net.wickedshell.ticketz.adapter.jpa.repository.ProjectRepository;
 import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketTombstoneRepository;
 import net.wickedshell.ticketz.adapter.jpa.repository.UserRepository;
+import net.wickedshell.ticketz.core.model.FacetCount;
 import net.wickedshell.ticketz.core.model.Project;
 import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketChanges;
+import net.wickedshell.ticketz.core.model.TicketCount;
+import net.wickedshell.ticketz.core.model.TicketFacet;
+import net.wickedshell.ticketz.core.model.TicketField;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
+import net.wickedshell.ticketz.core.model.TicketState;
+import net.wickedshell.ticketz.core.model.TicketVersion;
 import net.wickedshell.ticketz.core.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,10 +28,23 @@ import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+import static net.wickedshell.ticketz.core.model.TicketState.CLOSED;
 import static net.wickedshell.ticketz.core.model.TicketState.CREATED;
+import static net.wickedshell.ticketz.core.model.TicketState.IN_PROGRESS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @ContextConfiguration(classes = {TicketJPAPersistenceImplTest.TestConfig.class})
@@ -27,6 +53,15 @@ class TicketJPAPersistenceImplTest {
     @Inject
     private TicketRepository ticketRepository;
 
+    @Inject
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Inject
+    private CommentRepository commentRepository;
+
+    @Inject
+    private TicketTombstoneRepository ticketTombstoneRepository;
+
     @Inject
     private UserRepository userRepository;
 
@@ -43,7 +78,8 @@ class TicketJPAPersistenceImplTest {
         ModelMapper mapper = new ModelMapper();
         mapper.addConverter(userConverter);
         mapper.addConverter(projectConverter);
-        unitUnderTest = new TicketJPAPersistenceImpl(mapper, ticketRepository);
+        unitUnderTest = new TicketJPAPersistenceImpl(mapper, ticketRepository, archivedTicketRepository, commentRepository,
+                ticketTombstoneRepository, new TicketChangeSequence(ticketRepository, ticketTombstoneRepository));
     }
 
     @Test
@@ -97,6 +133,358 @@ class TicketJPAPersistenceImplTest {
         assertEquals("test@us.er", ticket_update.getEditor().getEmail());
     }
 
+    @Test
+    void testLoadByTicketNumberForUpdate_thenUpdate() {
+        // given
+        Ticket ticket = unitUnderTest.loadByTicketNumberForUpdate("test_ticket");
+        ticket.setTitle("Locked Title");
+
+        // when
+        Ticket ticket_update = unitUnderTest.update(ticket);
+
+        // then
+        assertEquals("Locked Title", ticket_update.getTitle());
+        assertEquals("test@us.er", ticket_update.getAuthor().getEmail());
+        assertEquals("DEFAULT", ticket_update.getProject().getCode());
+    }
+
+    @Test
+    void testLoadByTicketNumberForUpdate_databaseWriteLock() {
+        // given
+        ReflectionTestUtils.setField(unitUnderTest, "databaseWriteLock", true);
+        Ticket ticket = unitUnderTest.loadByTicketNumberForUpdate("test_ticket");
+        ticket.setTitle("Row Locked Title");
+
+        // when
+        Ticket ticket_update = unitUnderTest.update(ticket);
+
+        // then
+        assertEquals("Row Locked Title", ticket_update.getTitle());
+        assertEquals("test@us.er", ticket_update.getAuthor().getEmail());
+    }
+
+    @Test
+    void testFindVersionByTicketNumber_matchesLoadedTicket() {
+        // given
+        Ticket ticket = unitUnderTest.loadByTicketNumber("test_ticket");
+
+        // when
+        Optional<TicketVersion> version = unitUnderTest.findVersionByTicketNumber("test_ticket");
+
+        // then
+        assertEquals(Optional.of(TicketVersion.of(ticket)), version);
+        assertTrue(unitUnderTest.findVersionByTicketNumber("unknown").isEmpty());
+    }
+
+    @Test
+    void testCountByProjectAndState_groupsTickets() {
+        // given
+        User author = new User();
+        author.setEmail("test@us.er");
+
+        Project project = new Project();
+        project.setCode("DEFAULT");
+
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("test count");
+        ticket.setTitle("Test Ticket Title");
+        ticket.setDescription("Test Description");
+        ticket.setState(CREATED);
+        ticket.setAuthor(author);
+        ticket.setProject(project);
+        unitUnderTest.create(ticket);
+
+        // when
+        List<TicketCount> ticketCounts = unitUnderTest.countByProjectAndState();
+
+        // then
+        assertEquals(List.of(new TicketCount("DEFAULT", CREATED, 2)), ticketCounts);
+    }
+
+    @Test
+    void testSearchFaceted_countsAllHitsAndReturnsPage() {
+        // given
+        createTicket("test facet 1", CREATED, false);
+        createTicket("test facet 2", IN_PROGRESS, true);
+        TicketSearch search = new TicketSearch();
+        search.setSize(2);
+
+        // when
+        TicketSearchResult searchResult = unitUnderTest.searchFaceted(search);
+
+        // then
+        assertEquals(3, searchResult.getTotalHits());
+        assertEquals(2, searchResult.getTickets().size());
+        assertEquals(List.of(new FacetCount("CREATED", "CREATED", 2), new FacetCount("IN_PROGRESS", "IN_PROGRESS", 1)),
+                searchResult.getFacets().get(TicketFacet.STATE));
+        assertEquals(List.of(new FacetCount("DEFAULT", "Default Project", 3)),
+                searchResult.getFacets().get(TicketFacet.PROJECT));
+        assertEquals(3, searchResult.getFacets().get(TicketFacet.AUTHOR).get(0).getCount());
+        assertEquals(List.of(new FacetCount("test@us.er", "Test User", 1)),
+                searchResult.getFacets().get(TicketFacet.EDITOR));
+    }
+
+    @Test
+    void testSearchFaceted_drillDown() {
+        // given
+        createTicket("test facet 1", CREATED, false);
+        createTicket("test facet 2", IN_PROGRESS, true);
+        TicketSearch search = new TicketSearch();
+        search.setSearchText("facet");
+        search.setState(CREATED);
+
+        // when
+        TicketSearchResult searchResult = unitUnderTest.searchFaceted(search);
+
+        // then
+        assertEquals(1, searchResult.getTotalHits());
+        assertEquals("test facet 1", searchResult.getTickets().get(0).getTicketNumber());
+        assertEquals(List.of(new FacetCount("CREATED", "CREATED", 1)), searchResult.getFacets().get(TicketFacet.STATE));
+        assertTrue(searchResult.getFacets().get(TicketFacet.EDITOR).isEmpty());
+    }
+
+    @Test
+    void testFindMatching_combinesFiltersAndText() {
+        // given
+        createTicket("test facet 1", CREATED, false);
+        createTicket("test facet 2", IN_PROGRESS, true);
+        TicketSearch search = new TicketSearch();
+        search.setSearchText("facet");
+        search.setEditorEmail("test@us.er");
+        search.setUpdatedFrom(LocalDate.now().atStartOfDay());
+
+        // when
+        List<Ticket> tickets = unitUnderTest.findMatching(search);
+
+        // then
+        assertEquals(List.of("test facet 2"), tickets.stream().map(Ticket::getTicketNumber).toList());
+        search.setUpdatedFrom(null);
+        search.setUpdatedTo(LocalDate.now().atStartOfDay());
+        assertTrue(unitUnderTest.findMatching(search).isEmpty());
+    }
+
+    @Test
+    void testArchiveClosedTickets_movesTicketWithComments() {
+        // given
+        createTicket("test archive", CLOSED, false);
+        CommentEntity comment = new CommentEntity();
+        comment.setText("Closing comment");
+        comment.setAuthor(userRepository.findByEmail("test@us.er").orElseThrow());
+        comment.setTicket(ticketRepository.findByTicketNumber("test archive").orElseThrow());
+        commentRepository.save(comment);
+        long ticketCount = unitUnderTest.getTicketCount();
+
+        // when
+        int archived = unitUnderTest.archiveClosedTickets(LocalDateTime.now().plusMinutes(1), 10);
+
+        // then
+        assertEquals(1, archived);
+        assertTrue(ticketRepository.findByTicketNumber("test archive").isEmpty());
+        assertTrue(commentRepository.findByTicketNumber("test archive").isEmpty());
+        Ticket ticket = unitUnderTest.loadByTicketNumber("test archive");
+        assertTrue(ticket.isArchived());
+        assertEquals(CLOSED, ticket.getState());
+        assertEquals("test@us.er", ticket.getAuthor().getEmail());
+        assertEquals(ticketCount, unitUnderTest.getTicketCount());
+        assertTrue(unitUnderTest.countByProjectAndState().contains(new TicketCount("DEFAULT", CLOSED, 1)));
+    }
+
+    @Test
+    void testArchiveClosedTickets_keepsOpenAndRecentlyClosedTickets() {
+        // given
+        createTicket("test archive", CLOSED, false);
+
+        // when
+        int archived = unitUnderTest.archiveClosedTickets(LocalDateTime.now().minusDays(1), 10);
+
+        // then
+        assertEquals(0, archived);
+        assertFalse(unitUnderTest.loadByTicketNumber("test archive").isArchived());
+        assertFalse(unitUnderTest.loadByTicketNumber("test_ticket").isArchived());
+    }
+
+    @Test
+    void testSearchFaceted_archived() {
+        // given
+        createTicket("test archive", CLOSED, false);
+        unitUnderTest.archiveClosedTickets(LocalDateTime.now().plusMinutes(1), 10);
+        TicketSearch search = new TicketSearch();
+        search.setSearchText("archive");
+
+        // when
+        TicketSearchResult activeResult = unitUnderTest.searchFaceted(search);
+        search.setArchived(true);
+        TicketSearchResult archivedResult = unitUnderTest.searchFaceted(search);
+
+        // then
+        assertEquals(0, activeResult.getTotalHits());
+        assertEquals(1, archivedResult.getTotalHits());
+        assertTrue(archivedResult.getTickets().get(0).isArchived());
+        assertEquals(List.of(new FacetCount("CLOSED", "CLOSED", 1)), archivedResult.getFacets().get(TicketFacet.STATE));
+        assertEquals(List.of("test archive"),
+                unitUnderTest.findMatching(search).stream().map(Ticket::getTicketNumber).toList());
+    }
+
+    @Test
+    void testFindMatching_turkishDefaultLocale_upperCaseTextFound() {
+        // given
+        createTicket("test index", IN_PROGRESS, true);
+        TicketSearch search = new TicketSearch();
+        search.setSearchText("TEST INDEX");
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+
+        // when
+        List<Ticket> tickets;
+        try {
+            tickets = unitUnderTest.findMatching(search);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        // then
+        assertEquals(List.of("test index"), tickets.stream().map(Ticket::getTicketNumber).toList());
+    }
+
+    @Test
+    void testFindMatching_withFields_loadsOnlyThoseFields() {
+        // given
+        createTicket("test fields", IN_PROGRESS, true);
+        TicketSearch search = new TicketSearch();
+        search.setSearchText("test fields");
+
+        // when
+        List<Ticket> tickets = unitUnderTest.findMatching(search, Set.of(TicketField.STATE, TicketField.EDITOR));
+
+        // then
+        assertEquals(1, tickets.size());
+        assertEquals("test fields", tickets.get(0).getTicketNumber());
+        assertEquals(IN_PROGRESS, tickets.get(0).getState());
+        assertEquals("test@us.er", tickets.get(0).getEditor().getEmail());
+        assertNull(tickets.get(0).getTitle());
+        assertNull(tickets.get(0).getAuthor());
+        assertNull(tickets.get(0).getProject());
+    }
+
+    @Test
+    void testFindByTicketNumbers_activeAndArchived() {
+        // given
+        createTicket("test active", CREATED, false);
+        createTicket("test archive", CLOSED, false);
+        unitUnderTest.archiveClosedTickets(LocalDateTime.now().plusMinutes(1), 10);
+
+        // when
+        List<Ticket> tickets = unitUnderTest.findByTicketNumbers(List.of("test archive", "test active", "unknown"), Set.of());
+        List<Ticket> projectedTickets = unitUnderTest.findByTicketNumbers(List.of("test archive", "test active"),
+                Set.of(TicketField.TITLE, TicketField.ARCHIVED));
+
+        // then
+        assertEquals(List.of("test active", "test archive"), tickets.stream().map(Ticket::getTicketNumber).toList());
+        assertEquals("DEFAULT", tickets.get(0).getProject().getCode());
+        assertTrue(tickets.get(1).isArchived());
+        assertEquals(List.of("test active", "test archive"), projectedTickets.stream().map(Ticket::getTicketNumber).toList());
+        assertEquals("Test Ticket Title", projectedTickets.get(1).getTitle());
+        assertFalse(projectedTickets.get(0).isArchived());
+        assertTrue(projectedTickets.get(1).isArchived());
+    }
+
+    @Test
+    void testFindChangedSince_createdAndUpdated() {
+        // given
+        long watermark = unitUnderTest.findChangedSince(0, 1000).getWatermark();
+        createTicket("test changed", CREATED, false);
+        Ticket ticket = unitUnderTest.loadByTicketNumber("test_ticket");
+        ticket.setTitle("New Title");
+        unitUnderTest.update(ticket);
+
+        // when
+        TicketChanges ticketChanges = unitUnderTest.findChangedSince(watermark, 10);
+
+        // then
+        assertEquals(List.of("test changed", "test_ticket"),
+                ticketChanges.getTickets().stream().map(Ticket::getTicketNumber).toList());
+        assertEquals("New Title", ticketChanges.getTickets().get(1).getTitle());
+        assertTrue(ticketChanges.getDeletedTicketNumbers().isEmpty());
+        assertTrue(ticketChanges.isComplete());
+        assertTrue(ticketChanges.getWatermark() > watermark);
+        assertTrue(unitUnderTest.findChangedSince(ticketChanges.getWatermark(), 10).getTickets().isEmpty());
+    }
+
+    @Test
+    void testFindChangedSince_deletedAndArchived() {
+        // given
+        createTicket("test delete", CREATED, false);
+        createTicket("test archive", CLOSED, false);
+        long watermark = unitUnderTest.findChangedSince(0, 1000).getWatermark();
+        unitUnderTest.deleteByTicketNumber("test delete");
+        unitUnderTest.archiveClosedTickets(LocalDateTime.now().plusMinutes(1), 10);
+
+        // when
+        TicketChanges ticketChanges = unitUnderTest.findChangedSince(watermark, 10);
+
+        // then
+        assertTrue(ticketChanges.getTickets().isEmpty());
+        assertEquals(List.of("test delete"), ticketChanges.getDeletedTicketNumbers());
+        assertEquals(List.of("test archive"), ticketChanges.getArchivedTicketNumbers());
+        assertTrue(ticketChanges.isComplete());
+    }
+
+    @Test
+    void testFindChangedSince_limit() {
+        // given
+        long watermark = unitUnderTest.findChangedSince(0, 1000).getWatermark();
+        createTicket("test changed 1", CREATED, false);
+        createTicket("test changed 2", CREATED, false);
+        unitUnderTest.deleteByTicketNumber("test changed 1");
+        createTicket("test changed 3", CREATED, false);
+
+        // when
+        TicketChanges firstChanges = unitUnderTest.findChangedSince(watermark, 2);
+        TicketChanges nextChanges = unitUnderTest.findChangedSince(firstChanges.getWatermark(), 2);
+
+        // then
+        assertFalse(firstChanges.isComplete());
+        assertEquals(List.of("test changed 2"), firstChanges.getTickets().stream().map(Ticket::getTicketNumber).toList());
+        assertEquals(List.of("test changed 1"), firstChanges.getDeletedTicketNumbers());
+        assertTrue(nextChanges.isComplete());
+        assertEquals(List.of("test changed 3"), nextChanges.getTickets().stream().map(Ticket::getTicketNumber).toList());
+        assertTrue(nextChanges.getDeletedTicketNumbers().isEmpty());
+    }
+
+    @Test
+    void testGetChangeSequence_movesOnWithCreateAndDelete() {
+        // given
+        long initial = unitUnderTest.getChangeSequence();
+
+        // when
+        createTicket("test sequence", CREATED, false);
+        long afterCreate = unitUnderTest.getChangeSequence();
+        unitUnderTest.deleteByTicketNumber("test sequence");
+        long afterDelete = unitUnderTest.getChangeSequence();
+
+        // then
+        assertTrue(afterCreate > initial);
+        assertTrue(afterDelete > afterCreate);
+    }
+
+    private void createTicket(String ticketNumber, TicketState state, boolean withEditor) {
+        User user = new User();
+        user.setEmail("test@us.er");
+
+        Project project = new Project();
+        project.setCode("DEFAULT");
+
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber(ticketNumber);
+        ticket.setTitle("Test Ticket Title");
+        ticket.setDescription("Test Description");
+        ticket.setState(state);
+        ticket.setAuthor(user);
+        ticket.setEditor(withEditor ? user : null);
+        ticket.setProject(project);
+        unitUnderTest.create(ticket);
+    }
+
     @TestConfiguration
     static class TestConfig {
 
@@ -0,0 +1,177 @@
+package net.wickedshell.ticketz.adapter.jpa.persistence;
+
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import net.wickedshell.ticketz.adapter.jpa.converter.ProjectToProjectEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.converter.UserToUserEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedTicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.ProjectRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketTombstoneRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.UserRepository;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
+import net.wickedshell.ticketz.core.model.TicketState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the compiled filter predicates with the plain text search (the former single query) on a
+ * generated data set. Run with {@code mvn test -Dtest=TicketQueryBenchmarkTest -Dticketz.benchmark=true}.
+ */
+@DataJpaTest
+@EnabledIfSystemProperty(named = "ticketz.benchmark", matches = "true")
+class TicketQueryBenchmarkTest {
+
+    private static final int TICKETS = 50_000;
+    private static final int USERS = 50;
+    private static final int PROJECTS = 20;
+    private static final int RUNS = 20;
+    private static final LocalDateTime START = LocalDate.of(2025, 1, 1).atStartOfDay();
+
+    @Inject
+    private TicketRepository ticketRepository;
+
+    @Inject
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Inject
+    private CommentRepository commentRepository;
+
+    @Inject
+    private TicketTombstoneRepository ticketTombstoneRepository;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private ProjectRepository projectRepository;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private EntityManager entityManager;
+
+    private TicketJPAPersistenceImpl unitUnderTest;
+
+    @BeforeEach
+    public void setupTest() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.addConverter(new UserToUserEntityConverter(userRepository));
+        mapper.addConverter(new ProjectToProjectEntityConverter(projectRepository));
+        unitUnderTest = new TicketJPAPersistenceImpl(mapper, ticketRepository, archivedTicketRepository, commentRepository,
+                ticketTombstoneRepository, new TicketChangeSequence(ticketRepository, ticketTombstoneRepository));
+        generateTickets();
+    }
+
+    @Test
+    void benchmarkFilterQueries() {
+        // the text search can only approximate the filters, e.g. by matching ticket numbers or names
+        report("project",
+                textSearch("p8-"),
+                filterSearch(search -> search.setProjectCode("P8")));
+        report("state + project",
+                textSearch("p8-"),
+                filterSearch(search -> {
+                    search.setState(TicketState.IN_PROGRESS);
+                    search.setProjectCode("P8");
+                }));
+        report("editor",
+                textSearch("editor18"),
+                filterSearch(search -> search.setEditorEmail("user18@bench")));
+        report("state + editor + updated",
+                textSearch("editor18"),
+                filterSearch(search -> {
+                    search.setState(TicketState.IN_PROGRESS);
+                    search.setEditorEmail("user18@bench");
+                    search.setUpdatedFrom(START.plusDays(300));
+                }));
+
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM ticket_entity WHERE project_id = -208 AND state = 1", String.class);
+        System.out.println("[benchmark] plan: " + plan.replaceAll("\\s+", " "));
+        assertTrue(plan.toUpperCase().contains("IDX_TICKET_PROJECT_STATE"));
+    }
+
+    private TicketSearch textSearch(String text) {
+        TicketSearch search = new TicketSearch();
+        search.setSearchText(text);
+        return search;
+    }
+
+    private TicketSearch filterSearch(Consumer<TicketSearch> filters) {
+        TicketSearch search = new TicketSearch();
+        filters.accept(search);
+        return search;
+    }
+
+    private void report(String name, TicketSearch textSearch, TicketSearch filterSearch) {
+        long[] text = measure(() -> unitUnderTest.searchFaceted(textSearch));
+        long[] filter = measure(() -> unitUnderTest.searchFaceted(filterSearch));
+        System.out.printf("[benchmark] %-26s text: %6.1f ms (%d hits)  filter: %6.1f ms (%d hits)%n", name,
+                text[0] / 1_000_000.0, text[1], filter[0] / 1_000_000.0, filter[1]);
+    }
+
+    /**
+     * @return {median duration in ns, total hits}
+     */
+    private long[] measure(Supplier<TicketSearchResult> search) {
+        long hits = 0;
+        long[] durations = new long[RUNS];
+        for (int run = -3; run < RUNS; run++) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            hits = search.get().getTotalHits();
+            if (run >= 0) {
+                durations[run] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(durations);
+        return new long[]{durations[RUNS / 2], hits};
+    }
+
+    private void generateTickets() {
+        Timestamp now = Timestamp.valueOf(START);
+        List<Object[]> users = new ArrayList<>();
+        for (int user = 1; user <= USERS; user++) {
+            users.add(new Object[]{-100L - user, "user" + user + "@bench", "Editor" + user, "Bench", now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_entity (id, email, firstname, lastname, password_hash, version, roles, date_created, date_updated) "
+                + "VALUES (?, ?, ?, ?, 'x', 0, (0), ?, ?)", users);
+        List<Object[]> projects = new ArrayList<>();
+        for (int project = 1; project <= PROJECTS; project++) {
+            projects.add(new Object[]{-200L - project, "P" + project, "Project " + project, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO project_entity (id, code, name, description, active, version, date_created, date_updated) "
+                + "VALUES (?, ?, ?, '', TRUE, 0, ?, ?)", projects);
+        List<Object[]> tickets = new ArrayList<>();
+        TicketState[] states = TicketState.values();
+        for (int ticket = 1; ticket <= TICKETS; ticket++) {
+            int state = ticket % states.length;
+            Long editor = states[state] == TicketState.CREATED ? null : -100L - (ticket % USERS + 1);
+            Timestamp updated = Timestamp.valueOf(START.plusMinutes(ticket * 11L));
+            tickets.add(new Object[]{(long) ticket, "P" + (ticket % PROJECTS + 1) + "-" + ticket, "Ticket " + ticket,
+                    "Generated ticket number " + ticket, -100L - (ticket * 7 % USERS + 1), editor, state,
+                    -200L - (ticket % PROJECTS + 1), now, updated});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ticket_entity (id, ticket_number, title, description, author_id, editor_id, state, project_id, version, date_created, date_updated, change_sequence) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, NEXT VALUE FOR ticket_change_seq)", tickets);
+    }
+}
@@ -0,0 +1,27 @@
+package net.wickedshell.ticketz.adapter.jpa.persistence;
+
+import net.wickedshell.ticketz.core.model.TicketState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketStatesTest {
+
+    @Test
+    void testToEntityAndToModel_everyState_roundTrips() {
+        for (TicketState state : TicketState.values()) {
+            // when
+            TicketState converted = TicketStates.toModel(TicketStates.toEntity(state));
+
+            // then
+            assertEquals(state, converted);
+        }
+    }
+
+    @Test
+    void testToEntityAndToModel_null_staysNull() {
+        // when / then
+        assertNull(TicketStates.toEntity(null));
+        assertNull(TicketStates.toModel(null));
+    }
+}
@@ -0,0 +1,112 @@
+package net.wickedshell.ticketz.adapter.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import net.wickedshell.ticketz.adapter.rest.model.CompactTicketListRest;
+import net.wickedshell.ticketz.adapter.rest.model.CompactTicketRest;
+import net.wickedshell.ticketz.adapter.rest.model.TicketRest;
+import net.wickedshell.ticketz.adapter.rest.model.TicketStateRest;
+import net.wickedshell.ticketz.adapter.rest.model.UserRest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares payload size and encoding time of ticket lists written as JSON and as CBOR, in the full and
+ * the compact list format. Run with
+ * {@code mvn test -Dtest=RestEncodingBenchmarkTest -Dticketz.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "ticketz.benchmark", matches = "true")
+class RestEncodingBenchmarkTest {
+
+    private static final int TICKETS = 10_000;
+    private static final int USERS = 20;
+    private static final int RUNS = 20;
+
+    @Test
+    void benchmarkEncodings() throws IOException {
+        List<UserRest> users = new ArrayList<>();
+        for (int user = 0; user < USERS; user++) {
+            UserRest userRest = new UserRest();
+            userRest.setEmail("user" + user + "@bench");
+            userRest.setFirstname("First" + user);
+            userRest.setLastname("Last" + user);
+            users.add(userRest);
+        }
+        List<TicketRest> tickets = new ArrayList<>();
+        CompactTicketListRest compactTickets = new CompactTicketListRest();
+        List<CompactTicketRest> compactTicketList = new ArrayList<>();
+        for (int ticket = 0; ticket < TICKETS; ticket++) {
+            TicketRest ticketRest = new TicketRest();
+            ticketRest.setTicketNumber("P1-" + ticket);
+            ticketRest.setTitle("Ticket " + ticket);
+            ticketRest.setDescription("Generated ticket number " + ticket);
+            ticketRest.setAuthor(users.get(ticket % USERS));
+            ticketRest.setEditor(users.get(ticket * 7 % USERS));
+            ticketRest.setState(TicketStateRest.values()[ticket % TicketStateRest.values().length]);
+            ticketRest.setVersion(ticket % 5);
+            tickets.add(ticketRest);
+
+            CompactTicketRest compactTicket = new CompactTicketRest();
+            compactTicket.setTicketNumber(ticketRest.getTicketNumber());
+            compactTicket.setTitle(ticketRest.getTitle());
+            compactTicket.setDescription(ticketRest.getDescription());
+            compactTicket.setAuthor(ticketRest.getAuthor().getEmail());
+            compactTicket.setEditor(ticketRest.getEditor().getEmail());
+            compactTicket.setProject("P1");
+            compactTicket.setState(ticketRest.getState());
+            compactTicket.setVersion(ticketRest.getVersion());
+            compactTicketList.add(compactTicket);
+        }
+        compactTickets.setTickets(compactTicketList);
+        users.forEach(user -> compactTickets.getUsers().put(user.getEmail(), user));
+
+        ObjectMapper json = mapper(new JsonFactory());
+        ObjectMapper cbor = mapper(new CBORFactory());
+        report("full json", json, tickets);
+        report("full cbor", cbor, tickets);
+        report("compact json", json, compactTickets);
+        report("compact cbor", cbor, compactTickets);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        // configured like the converters of the application
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()))
+                .build();
+    }
+
+    private static void report(String name, ObjectMapper mapper, Object tickets) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(tickets);
+        long[] writes = new long[RUNS];
+        long[] reads = new long[RUNS];
+        for (int run = -3; run < RUNS; run++) {
+            long start = System.nanoTime();
+            mapper.writeValueAsBytes(tickets);
+            long written = System.nanoTime();
+            JsonNode read = mapper.readTree(payload);
+            long end = System.nanoTime();
+            assertEquals(mapper.readTree(payload).size(), read.size());
+            if (run >= 0) {
+                writes[run] = written - start;
+                reads[run] = end - written;
+            }
+        }
+        Arrays.sort(writes);
+        Arrays.sort(reads);
+        System.out.printf("[benchmark] %-12s %9d bytes  write: %6.1f ms  read: %6.1f ms  (%d tickets)%n", name,
+                payload.length, writes[RUNS / 2] / 1_000_000.0, reads[RUNS / 2] / 1_000_000.0, TICKETS);
+    }
+}
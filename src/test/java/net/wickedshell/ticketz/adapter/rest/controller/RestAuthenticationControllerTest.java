@@ -4,7 +4,12 @@ import jakarta.inject.Inject;
 import net.wickedshell.ticketz.TestConfig;
 import net.wickedshell.ticketz.adapter.AuthenticationConfiguration;
 import net.wickedshell.ticketz.adapter.rest.RestAdapterConfiguration;
+import net.wickedshell.ticketz.adapter.rest.ratelimit.RateLimitExceededException;
+import net.wickedshell.ticketz.adapter.rest.ratelimit.RateLimiter;
+import net.wickedshell.ticketz.adapter.rest.ratelimit.RateLimiter.Category;
+import net.wickedshell.ticketz.core.exception.ServiceUnavailableException;
 import net.wickedshell.ticketz.core.model.User;
+import net.wickedshell.ticketz.core.port.access.CommentService;
 import net.wickedshell.ticketz.core.port.access.ProjectService;
 import net.wickedshell.ticketz.core.port.access.TicketService;
 import net.wickedshell.ticketz.core.port.access.UserService;
@@ -14,7 +19,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.context.ContextConfiguration;
@@ -24,11 +31,16 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(RestAuthenticationController.class)
@@ -53,6 +65,10 @@ class RestAuthenticationControllerTest {
     private TicketService ticketService;
     @MockBean
     private ProjectService projectService;
+    @MockBean
+    private CommentService commentService;
+    @MockBean
+    private RateLimiter rateLimiter;
 
     @BeforeEach
     public void setup() {
@@ -119,6 +135,47 @@ class RestAuthenticationControllerTest {
         perform.andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void testLogin_fail_emailRateLimited() throws Exception {
+        // given
+        String requestBody = String.format(LOGIN_REQUEST, "test@us.er", "guess");
+
+        doThrow(new RateLimitExceededException("Rate limit exceeded", TimeUnit.MILLISECONDS.toNanos(1500)))
+                .when(rateLimiter).acquire(Category.AUTHENTICATION, "email:test@us.er");
+
+        // when
+        ResultActions perform = this.mvc.perform(post(LOGIN_ROUTE)
+                .content(requestBody)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+        );
+
+        // then
+        perform.andExpect(status().isTooManyRequests()).andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void testLogin_weakPasswordHash_rehashed() throws Exception {
+        // given
+        String password = "test";
+        User user = createTestUser(password);
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode(password));
+        String requestBody = String.format(LOGIN_REQUEST, user.getEmail(), password);
+
+        when(userService.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userService.rehashPassword(user.getEmail(), password)).thenReturn(user);
+
+        // when
+        ResultActions perform = this.mvc.perform(post(LOGIN_ROUTE)
+                .content(requestBody)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+        );
+
+        // then
+        perform.andExpect(status().isOk());
+        verify(userService).rehashPassword(user.getEmail(), password);
+    }
+
     @Test
     void testSignup_success() throws Exception {
         // given
@@ -157,6 +214,26 @@ class RestAuthenticationControllerTest {
         perform.andExpect(status().isConflict());
     }
 
+    @Test
+    void testSignup_fail_passwordHashingSaturated() throws Exception {
+        // given
+        String password = "test";
+        User user = createTestUser(password);
+        String requestBody = String.format(SIGNUP_REQUEST, user.getEmail(), password, user.getFirstname(), user.getLastname());
+
+        when(userService.create(any(User.class), anyString(), anySet()))
+                .thenThrow(new ServiceUnavailableException("Password hashing is saturated, try again later"));
+
+        // when
+        ResultActions perform = this.mvc.perform(post(SIGNUP_ROUTE)
+                .content(requestBody)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+        );
+
+        // then
+        perform.andExpect(status().isServiceUnavailable()).andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
     private User createTestUser(String password) {
         User user = new User();
         user.setEmail("test@us.er");
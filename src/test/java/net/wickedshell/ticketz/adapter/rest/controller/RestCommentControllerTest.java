@@ -0,0 +1,247 @@
+package net.wickedshell.ticketz.adapter.rest.controller;
+
+import jakarta.inject.Inject;
+import net.wickedshell.ticketz.TestConfig;
+import net.wickedshell.ticketz.adapter.AuthenticationConfiguration;
+import net.wickedshell.ticketz.adapter.rest.RestAdapterConfiguration;
+import net.wickedshell.ticketz.core.model.Comment;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketState;
+import net.wickedshell.ticketz.core.model.User;
+import net.wickedshell.ticketz.core.port.access.CommentService;
+import net.wickedshell.ticketz.core.port.access.ProjectService;
+import net.wickedshell.ticketz.core.port.access.TicketService;
+import net.wickedshell.ticketz.core.port.access.UserService;
+import net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RestCommentController.class)
+@ContextConfiguration(classes = {AuthenticationConfiguration.class, RestAdapterConfiguration.class, TestConfig.class})
+class RestCommentControllerTest {
+
+    private static final String COMMENTS_ROUTE = "/api/tickets/TICKETZ-1/comments";
+
+    @Inject
+    private MockMvc mvc;
+    @Inject
+    private WebApplicationContext context;
+    @MockBean
+    private CommentService commentService;
+    @MockBean
+    private TicketService ticketService;
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private ProjectService projectService;
+
+    @BeforeEach
+    public void setup() {
+        mvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testTicketComments_returnsFirstPage() throws Exception {
+        // given
+        when(commentService.findByTicketNumber("TICKETZ-1", 0, 50))
+                .thenReturn(List.of(createTestComment("First"), createTestComment("Second")));
+
+        // when
+        ResultActions perform = mvc.perform(get(COMMENTS_ROUTE));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].text", is("First")))
+                .andExpect(jsonPath("$[0].author.email", is("test@us.er")))
+                .andExpect(jsonPath("$[1].text", is("Second")));
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testTicketComments_withPagingParams() throws Exception {
+        // given
+        when(commentService.findByTicketNumber("TICKETZ-1", 2, 10)).thenReturn(List.of(createTestComment("Paged")));
+
+        // when
+        ResultActions perform = mvc.perform(get(COMMENTS_ROUTE).param("page", "2").param("size", "10"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].text", is("Paged")));
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testTicketComments_pageSizeTooLarge_returns400() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(get(COMMENTS_ROUTE).param("size", String.valueOf(CommentService.MAX_PAGE_SIZE + 1)));
+
+        // then
+        perform.andExpect(status().isBadRequest());
+        verify(commentService, never()).findByTicketNumber(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    @SuppressWarnings("unchecked")
+    void testCreate_batch_returns201AndCreatesAllComments() throws Exception {
+        // given
+        Ticket ticket = createTestTicket();
+        User currentUser = createTestUser();
+        when(ticketService.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+
+        // when
+        ResultActions perform = mvc.perform(post(COMMENTS_ROUTE)
+                .content("[{\"text\": \"Build #1 passed\"}, {\"text\": \"Build #2 failed\"}]")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform.andExpect(status().isCreated())
+                .andExpect(header().string("Location", COMMENTS_ROUTE));
+        ArgumentCaptor<List<Comment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(commentService).createAll(captor.capture(), eq(ticket));
+        List<Comment> comments = captor.getValue();
+        assertEquals(2, comments.size());
+        assertEquals("Build #1 passed", comments.get(0).getText());
+        assertEquals("Build #2 failed", comments.get(1).getText());
+        assertEquals(currentUser, comments.get(0).getAuthor());
+        assertEquals(currentUser, comments.get(1).getAuthor());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    @SuppressWarnings("unchecked")
+    void testCreate_respondAsync_returns202AndQueuesComments() throws Exception {
+        // given
+        Ticket ticket = createTestTicket();
+        when(ticketService.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+        when(userService.getCurrentUser()).thenReturn(createTestUser());
+        when(commentService.createAllAsync(anyList(), eq(ticket))).thenReturn(new CompletableFuture<>());
+
+        // when
+        ResultActions perform = mvc.perform(post(COMMENTS_ROUTE)
+                .header("Prefer", "respond-async")
+                .content("[{\"text\": \"Build #3 passed\"}]")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform.andExpect(status().isAccepted())
+                .andExpect(header().string("Location", COMMENTS_ROUTE))
+                .andExpect(header().string("Preference-Applied", "respond-async"));
+        ArgumentCaptor<List<Comment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(commentService).createAllAsync(captor.capture(), eq(ticket));
+        assertEquals("Build #3 passed", captor.getValue().get(0).getText());
+        verify(commentService, never()).createAll(anyList(), any(Ticket.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testCreate_emptyBatch_returns400() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(post(COMMENTS_ROUTE)
+                .content("[]")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform.andExpect(status().isBadRequest());
+        verify(commentService, never()).createAll(anyList(), any(Ticket.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testCreate_blankText_returns400() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(post(COMMENTS_ROUTE)
+                .content("[{\"text\": \"valid\"}, {\"text\": \" \"}]")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform.andExpect(status().isBadRequest());
+        verify(commentService, never()).createAll(anyList(), any(Ticket.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testCreate_unknownTicket_returns404() throws Exception {
+        // given
+        when(ticketService.loadByTicketNumber("TICKETZ-1")).thenThrow(new ObjectNotFoundException("Ticket not found: TICKETZ-1"));
+
+        // when
+        ResultActions perform = mvc.perform(post(COMMENTS_ROUTE)
+                .content("[{\"text\": \"Orphan\"}]")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform.andExpect(status().isNotFound());
+        verify(commentService, never()).createAll(anyList(), any(Ticket.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testTicketComments_withoutApiRole_returns403() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(get(COMMENTS_ROUTE));
+
+        // then
+        perform.andExpect(status().isForbidden());
+    }
+
+    private Comment createTestComment(String text) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setAuthor(createTestUser());
+        comment.setDateCreated(LocalDateTime.of(2026, 1, 1, 12, 0));
+        return comment;
+    }
+
+    private Ticket createTestTicket() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("TICKETZ-1");
+        ticket.setTitle("Test Ticket");
+        ticket.setDescription("Test description");
+        ticket.setState(TicketState.CREATED);
+        ticket.setAuthor(createTestUser());
+        return ticket;
+    }
+
+    private User createTestUser() {
+        User user = new User();
+        user.setEmail("test@us.er");
+        user.setFirstname("Test");
+        user.setLastname("User");
+        return user;
+    }
+}
@@ -1,10 +1,13 @@
 package net.wickedshell.ticketz.adapter.rest.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import jakarta.inject.Inject;
 import net.wickedshell.ticketz.TestConfig;
 import net.wickedshell.ticketz.adapter.AuthenticationConfiguration;
 import net.wickedshell.ticketz.adapter.rest.RestAdapterConfiguration;
 import net.wickedshell.ticketz.core.model.Project;
+import net.wickedshell.ticketz.core.port.access.CommentService;
 import net.wickedshell.ticketz.core.port.access.ProjectService;
 import net.wickedshell.ticketz.core.port.access.TicketService;
 import net.wickedshell.ticketz.core.port.access.UserService;
@@ -27,6 +30,8 @@ import org.springframework.web.context.WebApplicationContext;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -49,6 +54,8 @@ class RestProjectControllerTest {
     private UserService userService;
     @MockBean
     private TicketService ticketService;
+    @MockBean
+    private CommentService commentService;
 
     @BeforeEach
     public void setup() {
@@ -107,6 +114,23 @@ class RestProjectControllerTest {
                 .andExpect(jsonPath("$.active", is(true)));
     }
 
+    @Test
+    @WithMockUser(roles = "API")
+    void testOneProject_cbor() throws Exception {
+        // given
+        when(projectService.loadByCode("WEBAPP")).thenReturn(createTestProject("WEBAPP", "Web Application"));
+
+        // when
+        ResultActions perform = mvc.perform(get(PROJECTS_ROUTE + "/WEBAPP").accept(MediaType.APPLICATION_CBOR));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        JsonNode project = new CBORMapper().readTree(perform.andReturn().getResponse().getContentAsByteArray());
+        assertEquals("WEBAPP", project.get("code").asText());
+        assertTrue(project.get("active").asBoolean());
+    }
+
     @Test
     @WithMockUser(roles = "API")
     void testOneProject_notFound_returns404() throws Exception {
@@ -0,0 +1,88 @@
+package net.wickedshell.ticketz.adapter.rest.controller;
+
+import jakarta.inject.Inject;
+import net.wickedshell.ticketz.TestConfig;
+import net.wickedshell.ticketz.adapter.AuthenticationConfiguration;
+import net.wickedshell.ticketz.adapter.rest.RestAdapterConfiguration;
+import net.wickedshell.ticketz.core.model.TicketCount;
+import net.wickedshell.ticketz.core.port.access.CommentService;
+import net.wickedshell.ticketz.core.port.access.ProjectService;
+import net.wickedshell.ticketz.core.port.access.TicketService;
+import net.wickedshell.ticketz.core.port.access.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static net.wickedshell.ticketz.core.model.TicketState.CREATED;
+import static net.wickedshell.ticketz.core.model.TicketState.IN_PROGRESS;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RestStatisticsController.class)
+@ContextConfiguration(classes = {AuthenticationConfiguration.class, RestAdapterConfiguration.class, TestConfig.class})
+class RestStatisticsControllerTest {
+
+    @Inject
+    private MockMvc mvc;
+    @Inject
+    private WebApplicationContext context;
+    @MockBean
+    private CommentService commentService;
+    @MockBean
+    private TicketService ticketService;
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private ProjectService projectService;
+
+    @BeforeEach
+    public void setup() {
+        mvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testTicketCounts_returnsCounts() throws Exception {
+        // given
+        when(ticketService.getTicketCounts()).thenReturn(List.of(
+                new TicketCount("TICKETZ", CREATED, 12), new TicketCount("TICKETZ", IN_PROGRESS, 3)));
+
+        // when
+        ResultActions perform = mvc.perform(get(RestResource.RESOURCE_STATISTICS));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].projectCode", is("TICKETZ")))
+                .andExpect(jsonPath("$[0].state", is("CREATED")))
+                .andExpect(jsonPath("$[0].count", is(12)))
+                .andExpect(jsonPath("$[1].state", is("IN_PROGRESS")))
+                .andExpect(jsonPath("$[1].count", is(3)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void testTicketCounts_withoutApiRole_returns403() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(get(RestResource.RESOURCE_STATISTICS));
+
+        // then
+        perform.andExpect(status().isForbidden());
+        verify(ticketService, never()).getTicketCounts();
+    }
+}
@@ -1,18 +1,31 @@
 package net.wickedshell.ticketz.adapter.rest.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import jakarta.inject.Inject;
 import net.wickedshell.ticketz.TestConfig;
 import net.wickedshell.ticketz.adapter.AuthenticationConfiguration;
 import net.wickedshell.ticketz.adapter.rest.RestAdapterConfiguration;
+import net.wickedshell.ticketz.adapter.rest.model.CompactTicketListRest;
+import net.wickedshell.ticketz.core.model.FacetCount;
+import net.wickedshell.ticketz.core.model.Project;
 import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketChanges;
+import net.wickedshell.ticketz.core.model.TicketField;
+import net.wickedshell.ticketz.core.model.TicketFacet;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
 import net.wickedshell.ticketz.core.model.TicketState;
 import net.wickedshell.ticketz.core.model.User;
+import net.wickedshell.ticketz.core.port.access.CommentService;
 import net.wickedshell.ticketz.core.port.access.ProjectService;
 import net.wickedshell.ticketz.core.port.access.TicketService;
 import net.wickedshell.ticketz.core.port.access.UserService;
 import net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
@@ -25,14 +38,26 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(RestTicketController.class)
+// the test tickets share ticket numbers and versions, nothing is cached between them
+@WebMvcTest(controllers = RestTicketController.class, properties = "ticketz.app.ticketRestCacheMaxBytes=0")
 @ContextConfiguration(classes = {AuthenticationConfiguration.class, RestAdapterConfiguration.class, TestConfig.class})
 class RestTicketControllerTest {
 
@@ -58,6 +83,8 @@ class RestTicketControllerTest {
     private UserService userService;
     @MockBean
     private ProjectService projectService;
+    @MockBean
+    private CommentService commentService;
 
     @BeforeEach
     public void setup() {
@@ -115,6 +142,245 @@ class RestTicketControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @WithMockUser(roles = "API")
+    void testAllTickets_cbor_returnsTicketList() throws Exception {
+        // given
+        when(ticketService.search(null)).thenReturn(List.of(createTestTicket("TICKETZ-1", "First Ticket")));
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE).accept(MediaType.APPLICATION_CBOR));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        JsonNode tickets = new CBORMapper().readTree(perform.andReturn().getResponse().getContentAsByteArray());
+        assertEquals("TICKETZ-1", tickets.get(0).get("ticketNumber").asText());
+        assertEquals("test@us.er", tickets.get(0).get("author").get("email").asText());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testAllTickets_withFields_returnsOnlyThoseFields() throws Exception {
+        // given
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("TICKETZ-1");
+        ticket.setState(TicketState.CREATED);
+        when(ticketService.search(null, Set.of(TicketField.STATE))).thenReturn(List.of(ticket));
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE).param("fields", "state"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketNumber", is("TICKETZ-1")))
+                .andExpect(jsonPath("$[0].state", is("CREATED")))
+                .andExpect(jsonPath("$[0].title").doesNotExist())
+                .andExpect(jsonPath("$[0].author").doesNotExist())
+                .andExpect(jsonPath("$[0].version").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testAllTickets_unknownField_returns400() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE).param("fields", "state,passwordHash"));
+
+        // then
+        perform.andExpect(status().isBadRequest());
+        verify(ticketService, never()).search(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testAllTickets_compactFormat_listsUsersAndProjectsOnce() throws Exception {
+        // given
+        Project project = new Project();
+        project.setCode("DEFAULT");
+        project.setName("Default Project");
+        Ticket ticket1 = createTestTicket("TICKETZ-1", "First Ticket");
+        ticket1.setProject(project);
+        Ticket ticket2 = createTestTicket("TICKETZ-2", "Second Ticket");
+        ticket2.setProject(project);
+        ticket2.setEditor(ticket1.getAuthor());
+        when(ticketService.search(null)).thenReturn(List.of(ticket1, ticket2));
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE).param("format", "compact"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets", hasSize(2)))
+                .andExpect(jsonPath("$.tickets[0].author", is("test@us.er")))
+                .andExpect(jsonPath("$.tickets[0].editor", nullValue()))
+                .andExpect(jsonPath("$.tickets[1].editor", is("test@us.er")))
+                .andExpect(jsonPath("$.tickets[1].project", is("DEFAULT")))
+                .andExpect(jsonPath("$.users.*", hasSize(1)))
+                .andExpect(jsonPath("$.users['test@us.er'].lastname", is("User")))
+                .andExpect(jsonPath("$.projects.*", hasSize(1)))
+                .andExpect(jsonPath("$.projects.DEFAULT.name", is("Default Project")));
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testSomeTickets_compactMediaTypeWithFields() throws Exception {
+        // given
+        Ticket ticket = createTestTicket("TICKETZ-1", "First Ticket");
+        when(ticketService.findByTicketNumbers(List.of("TICKETZ-1"), Set.of(TicketField.AUTHOR))).thenReturn(List.of(ticket));
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE)
+                .param("ticketNumbers", "TICKETZ-1")
+                .param("fields", "author")
+                .accept(CompactTicketListRest.MEDIA_TYPE));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CompactTicketListRest.MEDIA_TYPE))
+                .andExpect(jsonPath("$.tickets[0].ticketNumber", is("TICKETZ-1")))
+                .andExpect(jsonPath("$.tickets[0].author", is("test@us.er")))
+                .andExpect(jsonPath("$.tickets[0].title").doesNotExist())
+                .andExpect(jsonPath("$.users['test@us.er'].firstname", is("Test")));
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testSomeTickets_returnsRequestedTickets() throws Exception {
+        // given
+        when(ticketService.findByTicketNumbers(List.of("TICKETZ-2", "TICKETZ-1"), Set.of()))
+                .thenReturn(List.of(createTestTicket("TICKETZ-2", "Second Ticket"), createTestTicket("TICKETZ-1", "First Ticket")));
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE).param("ticketNumbers", "TICKETZ-2,TICKETZ-1"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].ticketNumber", is("TICKETZ-2")))
+                .andExpect(jsonPath("$[0].title", is("Second Ticket")))
+                .andExpect(jsonPath("$[1].ticketNumber", is("TICKETZ-1")));
+        verify(ticketService, never()).search(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testSomeTickets_tooManyTicketNumbers_returns400() throws Exception {
+        // given
+        String ticketNumbers = IntStream.rangeClosed(0, TicketService.MAX_TICKET_NUMBERS)
+                .mapToObj(ticket -> "TICKETZ-" + ticket)
+                .collect(Collectors.joining(","));
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE).param("ticketNumbers", ticketNumbers));
+
+        // then
+        perform.andExpect(status().isBadRequest());
+        verify(ticketService, never()).findByTicketNumbers(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testSearchTickets_returnsHitsAndFacets() throws Exception {
+        // given
+        TicketSearchResult searchResult = new TicketSearchResult();
+        searchResult.setTickets(List.of(createTestTicket("TICKETZ-1", "Bug in Login")));
+        searchResult.setTotalHits(1);
+        searchResult.setSize(20);
+        searchResult.getFacets().put(TicketFacet.STATE, List.of(new FacetCount("CREATED", "CREATED", 1)));
+        searchResult.getFacets().put(TicketFacet.AUTHOR, List.of(new FacetCount("test@us.er", "Test User", 1)));
+        when(ticketService.searchFaceted(any(TicketSearch.class))).thenReturn(searchResult);
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE + "/search")
+                .param("q", "bug").param("state", "CREATED").param("project", "TICKETZ").param("size", "20"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits", is(1)))
+                .andExpect(jsonPath("$.tickets", hasSize(1)))
+                .andExpect(jsonPath("$.tickets[0].ticketNumber", is("TICKETZ-1")))
+                .andExpect(jsonPath("$.facets.state[0].value", is("CREATED")))
+                .andExpect(jsonPath("$.facets.author[0].label", is("Test User")))
+                .andExpect(jsonPath("$.facets.author[0].count", is(1)));
+        ArgumentCaptor<TicketSearch> captor = ArgumentCaptor.forClass(TicketSearch.class);
+        verify(ticketService).searchFaceted(captor.capture());
+        assertEquals("bug", captor.getValue().getSearchText());
+        assertEquals(TicketState.CREATED, captor.getValue().getState());
+        assertEquals("TICKETZ", captor.getValue().getProjectCode());
+        assertEquals(20, captor.getValue().getSize());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testSearchTickets_archived() throws Exception {
+        // given
+        Ticket archivedTicket = createTestTicket("TICKETZ-1", "Bug in Login");
+        archivedTicket.setState(TicketState.CLOSED);
+        archivedTicket.setArchived(true);
+        TicketSearchResult searchResult = new TicketSearchResult();
+        searchResult.setTickets(List.of(archivedTicket));
+        searchResult.setTotalHits(1);
+        when(ticketService.searchFaceted(any(TicketSearch.class))).thenReturn(searchResult);
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE + "/search").param("archived", "true"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets[0].archived", is(true)));
+        ArgumentCaptor<TicketSearch> captor = ArgumentCaptor.forClass(TicketSearch.class);
+        verify(ticketService).searchFaceted(captor.capture());
+        assertTrue(captor.getValue().isArchived());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testSearchTickets_pageSizeTooLarge_returns400() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE + "/search")
+                .param("size", String.valueOf(TicketSearch.MAX_PAGE_SIZE + 1)));
+
+        // then
+        perform.andExpect(status().isBadRequest());
+        verify(ticketService, never()).searchFaceted(any(TicketSearch.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testChangedTickets_returnsChangesAndWatermark() throws Exception {
+        // given
+        TicketChanges ticketChanges = new TicketChanges();
+        ticketChanges.getTickets().add(createTestTicket("TICKETZ-1", "Bug in Login"));
+        ticketChanges.getDeletedTicketNumbers().add("TICKETZ-2");
+        ticketChanges.getArchivedTicketNumbers().add("TICKETZ-3");
+        ticketChanges.setWatermark(42);
+        ticketChanges.setComplete(false);
+        when(ticketService.findChangedSince(7, 500)).thenReturn(ticketChanges);
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE).param("changedSince", "7"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets[0].ticketNumber", is("TICKETZ-1")))
+                .andExpect(jsonPath("$.deletedTicketNumbers[0]", is("TICKETZ-2")))
+                .andExpect(jsonPath("$.archivedTicketNumbers[0]", is("TICKETZ-3")))
+                .andExpect(jsonPath("$.watermark", is("42")))
+                .andExpect(jsonPath("$.complete", is(false)));
+        verify(ticketService, never()).search(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testChangedTickets_invalidWatermark_returns400() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE).param("changedSince", "yesterday"));
+
+        // then
+        perform.andExpect(status().isBadRequest());
+        verify(ticketService, never()).findChangedSince(anyLong(), anyInt());
+    }
+
     @Test
     @WithMockUser(roles = "API")
     void testOneTicket_found() throws Exception {
@@ -132,6 +398,26 @@ class RestTicketControllerTest {
                 .andExpect(jsonPath("$.state", is("CREATED")));
     }
 
+    @Test
+    @WithMockUser(roles = "API")
+    void testOneTicket_newVersion_mappedAgain() throws Exception {
+        // given
+        Ticket ticket = createTestTicket("TICKETZ-1", "Test Ticket");
+        Ticket updatedTicket = createTestTicket("TICKETZ-1", "Updated Ticket");
+        updatedTicket.setVersion(1L);
+        when(ticketService.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket, ticket, updatedTicket);
+        mvc.perform(get(TICKETS_ROUTE + "/TICKETZ-1")).andExpect(jsonPath("$.title", is("Test Ticket")));
+        mvc.perform(get(TICKETS_ROUTE + "/TICKETZ-1")).andExpect(jsonPath("$.title", is("Test Ticket")));
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKETS_ROUTE + "/TICKETZ-1"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Updated Ticket")))
+                .andExpect(jsonPath("$.version", is(1)));
+    }
+
     @Test
     @WithMockUser(roles = "API")
     void testOneTicket_notFound_returns404() throws Exception {
@@ -163,6 +449,77 @@ class RestTicketControllerTest {
                 .andExpect(header().string("Location", "/api/tickets/TICKETZ-1"));
     }
 
+    @Test
+    @WithMockUser(roles = "API")
+    void testCreate_cborBody_returns201() throws Exception {
+        // given
+        Ticket ticket = createTestTicket("TICKETZ-1", "New Ticket");
+        String requestBody = String.format(TICKET_REQUEST, "TICKETZ-1", "New Ticket", "Description", "test@us.er", "CREATED", 0);
+        when(ticketService.create(any(Ticket.class))).thenReturn(ticket);
+
+        // when
+        ResultActions perform = mvc.perform(post(TICKETS_ROUTE)
+                .content(new CBORMapper().writeValueAsBytes(new ObjectMapper().readTree(requestBody)))
+                .contentType(MediaType.APPLICATION_CBOR));
+
+        // then
+        perform.andExpect(status().isCreated());
+        ArgumentCaptor<Ticket> captor = ArgumentCaptor.forClass(Ticket.class);
+        verify(ticketService).create(captor.capture());
+        assertEquals("New Ticket", captor.getValue().getTitle());
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testCreate_retriedWithIdempotencyKey_replaysResponse() throws Exception {
+        // given
+        Ticket ticket = createTestTicket("TICKETZ-1", "New Ticket");
+        String requestBody = String.format(TICKET_REQUEST, "TICKETZ-1", "New Ticket", "Description", "test@us.er", "CREATED", 0);
+        String idempotencyKey = UUID.randomUUID().toString();
+        when(ticketService.create(any(Ticket.class))).thenReturn(ticket);
+        mvc.perform(post(TICKETS_ROUTE)
+                        .header("Idempotency-Key", idempotencyKey)
+                        .content(requestBody)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        // when
+        ResultActions perform = mvc.perform(post(TICKETS_ROUTE)
+                .header("Idempotency-Key", idempotencyKey)
+                .content(requestBody)
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform.andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/tickets/TICKETZ-1"))
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+        verify(ticketService, times(1)).create(any(Ticket.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "API")
+    void testCreate_idempotencyKeyReusedForOtherTicket_returns422() throws Exception {
+        // given
+        Ticket ticket = createTestTicket("TICKETZ-1", "New Ticket");
+        String idempotencyKey = UUID.randomUUID().toString();
+        when(ticketService.create(any(Ticket.class))).thenReturn(ticket);
+        mvc.perform(post(TICKETS_ROUTE)
+                        .header("Idempotency-Key", idempotencyKey)
+                        .content(String.format(TICKET_REQUEST, "TICKETZ-1", "New Ticket", "Description", "test@us.er", "CREATED", 0))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        // when
+        ResultActions perform = mvc.perform(post(TICKETS_ROUTE)
+                .header("Idempotency-Key", idempotencyKey)
+                .content(String.format(TICKET_REQUEST, "TICKETZ-1", "Other Ticket", "Description", "test@us.er", "CREATED", 0))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform.andExpect(status().isUnprocessableEntity());
+        verify(ticketService, times(1)).create(any(Ticket.class));
+    }
+
     @Test
     @WithMockUser(roles = "API")
     void testUpdate_success_returns204() throws Exception {
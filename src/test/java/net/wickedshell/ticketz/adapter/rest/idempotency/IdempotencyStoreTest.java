@@ -0,0 +1,156 @@
+package net.wickedshell.ticketz.adapter.rest.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final AtomicInteger handlerCalls = new AtomicInteger();
+    private IdempotencyStore unitUnderTest;
+
+    @BeforeEach
+    void setupTest() {
+        unitUnderTest = new IdempotencyStore();
+        ReflectionTestUtils.setField(unitUnderTest, "maxEntries", 2);
+        ReflectionTestUtils.setField(unitUnderTest, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(unitUnderTest, "waitTimeoutMs", 5_000L);
+    }
+
+    @Test
+    void testExecute_noKey_handlerRunsEveryTime() {
+        // when
+        unitUnderTest.execute(null, "POST /api/tickets", "ticket", this::created);
+        unitUnderTest.execute(null, "POST /api/tickets", "ticket", this::created);
+
+        // then
+        assertEquals(2, handlerCalls.get());
+        assertEquals(0, unitUnderTest.size());
+    }
+
+    @Test
+    void testExecute_concurrentDuplicate_waitsForFirstResponse() throws Exception {
+        // given
+        CountDownLatch firstRunning = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() ->
+                unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", () -> {
+                    firstRunning.countDown();
+                    await(releaseFirst);
+                    return created();
+                }));
+        assertTrue(firstRunning.await(5, TimeUnit.SECONDS));
+
+        // when
+        CompletableFuture<ResponseEntity<String>> duplicate = CompletableFuture.supplyAsync(() ->
+                unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", this::created));
+        releaseFirst.countDown();
+
+        // then
+        assertEquals(HttpStatus.CREATED, first.get(5, TimeUnit.SECONDS).getStatusCode());
+        ResponseEntity<String> replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.CREATED, replayed.getStatusCode());
+        assertEquals("/api/tickets/TICKETZ-1", replayed.getHeaders().getFirst("Location"));
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyStore.HEADER_IDEMPOTENT_REPLAYED));
+        assertEquals(1, handlerCalls.get());
+    }
+
+    @Test
+    void testExecute_sameKeyOtherOperation_handledSeparately() {
+        // when
+        unitUnderTest.execute("key-1", "PUT /api/tickets/TICKETZ-1", "ticket", this::created);
+        unitUnderTest.execute("key-1", "PUT /api/tickets/TICKETZ-2", "ticket", this::created);
+
+        // then
+        assertEquals(2, handlerCalls.get());
+    }
+
+    @Test
+    void testExecute_firstRequestFailed_retryRunsHandler() {
+        // given
+        assertThrows(IllegalStateException.class, () -> unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        // when
+        ResponseEntity<String> response = unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", this::created);
+
+        // then
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1, handlerCalls.get());
+    }
+
+    @Test
+    void testExecute_firstRequestFailedWithError_retryRunsHandler() {
+        // given
+        assertThrows(OutOfMemoryError.class, () -> unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", () -> {
+            throw new OutOfMemoryError("Java heap space");
+        }));
+
+        // when
+        ResponseEntity<String> response = unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", this::created);
+
+        // then
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1, handlerCalls.get());
+    }
+
+    @Test
+    void testExecute_differentRequest_rejected() {
+        // given
+        unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", this::created);
+
+        // when / then
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> unitUnderTest.execute("key-1", "POST /api/tickets", "other ticket", this::created));
+        assertEquals(1, handlerCalls.get());
+    }
+
+    @Test
+    void testExecute_moreKeysThanMaxEntries_eldestDropped() {
+        // when
+        unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", this::created);
+        unitUnderTest.execute("key-2", "POST /api/tickets", "ticket", this::created);
+        unitUnderTest.execute("key-3", "POST /api/tickets", "ticket", this::created);
+
+        // then
+        assertEquals(2, unitUnderTest.size());
+        unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", this::created);
+        assertEquals(4, handlerCalls.get());
+    }
+
+    @Test
+    void testEvictExpiredEntries() {
+        // given
+        ReflectionTestUtils.setField(unitUnderTest, "ttlMs", 0L);
+        unitUnderTest.execute("key-1", "POST /api/tickets", "ticket", this::created);
+
+        // when
+        unitUnderTest.evictExpiredEntries();
+
+        // then
+        assertEquals(0, unitUnderTest.size());
+    }
+
+    private ResponseEntity<String> created() {
+        handlerCalls.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).header("Location", "/api/tickets/TICKETZ-1").build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package net.wickedshell.ticketz.adapter.rest.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimiter rateLimiter;
+    private RateLimitFilter unitUnderTest;
+
+    @BeforeEach
+    void setupTest() {
+        rateLimiter = new RateLimiter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(rateLimiter, "authenticationCapacity", 1);
+        ReflectionTestUtils.setField(rateLimiter, "authenticationPerMinute", 1);
+        ReflectionTestUtils.setField(rateLimiter, "writeCapacity", 2);
+        ReflectionTestUtils.setField(rateLimiter, "writePerMinute", 1);
+        ReflectionTestUtils.setField(rateLimiter, "readCapacity", 3);
+        ReflectionTestUtils.setField(rateLimiter, "readPerMinute", 1);
+        ReflectionTestUtils.setField(rateLimiter, "maxBuckets", 100);
+        rateLimiter.configureLimits();
+        unitUnderTest = new RateLimitFilter(rateLimiter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testFilter_authenticationLimitExceeded_429WithRetryAfter() throws Exception {
+        // given
+        assertEquals(HttpStatus.OK.value(), filter("POST", "/api/authentication/logins", "10.0.0.1").getStatus());
+
+        // when
+        MockHttpServletResponse response = filter("POST", "/api/authentication/logins", "10.0.0.1");
+
+        // then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("60", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.OK.value(), filter("POST", "/api/authentication/logins", "10.0.0.2").getStatus());
+        assertEquals(HttpStatus.OK.value(), filter("GET", "/api/tickets", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void testFilter_writesLimitedPerUserAcrossIps() throws Exception {
+        // given
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "test@us.er", null, List.of(new SimpleGrantedAuthority("ROLE_API"))));
+        filter("PUT", "/api/tickets/TICKETZ-1", "10.0.0.1");
+        filter("PUT", "/api/tickets/TICKETZ-1", "10.0.0.2");
+
+        // when
+        MockHttpServletResponse response = filter("PUT", "/api/tickets/TICKETZ-1", "10.0.0.3");
+
+        // then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+    }
+
+    @Test
+    void testEvictFullBuckets_onlyDrainedBucketsKept() throws Exception {
+        // given
+        ReflectionTestUtils.setField(rateLimiter, "readPerMinute", 60_000_000);
+        rateLimiter.configureLimits();
+        filter("GET", "/api/tickets", "10.0.0.1");
+        filter("POST", "/api/authentication/logins", "10.0.0.1");
+        Thread.sleep(5);
+
+        // when
+        rateLimiter.evictFullBuckets();
+
+        // then
+        Map<String, Object> description = rateLimiter.describe();
+        assertEquals(0L, ((Map<?, ?>) description.get("read")).get("buckets"));
+        assertEquals(1L, ((Map<?, ?>) description.get("authentication")).get("buckets"));
+    }
+
+    private MockHttpServletResponse filter(String method, String path, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/ticketz" + path);
+        request.setContextPath("/ticketz");
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        unitUnderTest.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
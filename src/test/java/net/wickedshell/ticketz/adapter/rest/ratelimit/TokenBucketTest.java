@@ -0,0 +1,72 @@
+package net.wickedshell.ticketz.adapter.rest.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testTryAcquire_burstUpToCapacity_thenRetryAfterNextToken() {
+        // given
+        TokenBucket unitUnderTest = new TokenBucket(3, SECOND, 0);
+
+        // when
+        long first = unitUnderTest.tryAcquire(0);
+        long second = unitUnderTest.tryAcquire(0);
+        long third = unitUnderTest.tryAcquire(0);
+        long fourth = unitUnderTest.tryAcquire(SECOND / 4);
+
+        // then
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(0, third);
+        assertEquals(SECOND * 3 / 4, fourth);
+        assertEquals(0, unitUnderTest.tryAcquire(SECOND));
+    }
+
+    @Test
+    void testIsFull_refilledAfterIdle() {
+        // given
+        TokenBucket unitUnderTest = new TokenBucket(2, SECOND, 0);
+        unitUnderTest.tryAcquire(0);
+        unitUnderTest.tryAcquire(0);
+
+        // when
+        boolean fullEarly = unitUnderTest.isFull(SECOND);
+        boolean fullLater = unitUnderTest.isFull(2 * SECOND);
+
+        // then
+        assertFalse(fullEarly);
+        assertTrue(fullLater);
+    }
+
+    @Test
+    void testTryAcquire_concurrent_neverMoreThanCapacity() throws Exception {
+        // given
+        TokenBucket unitUnderTest = new TokenBucket(100, SECOND, 0);
+        AtomicInteger acquired = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (unitUnderTest.tryAcquire(0) == 0) {
+                    acquired.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(100, acquired.get());
+    }
+}
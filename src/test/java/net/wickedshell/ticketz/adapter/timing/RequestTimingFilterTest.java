@@ -0,0 +1,136 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.wickedshell.ticketz.adapter.timing.RequestTiming.Phase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingFilterTest {
+
+    private RequestTimings requestTimings;
+    private RequestTimingFilter unitUnderTest;
+
+    @BeforeEach
+    void setupTest() {
+        requestTimings = new RequestTimings();
+        unitUnderTest = new RequestTimingFilter(requestTimings);
+        ReflectionTestUtils.setField(unitUnderTest, "serverTimingHeader", true);
+        ReflectionTestUtils.setField(unitUnderTest, "statementBudgetMaxStatements", 5);
+        ReflectionTestUtils.setField(unitUnderTest, "statementBudgetMaxRepetitions", 2);
+        ReflectionTestUtils.setField(unitUnderTest, "statementBudgetEnforced", true);
+        unitUnderTest.createStatementBudget();
+    }
+
+    @Test
+    void testFilter_handledRequest_serverTimingAndRecordedPerEndpoint() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets/P1-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        unitUnderTest.doFilter(request, response, new MockFilterChain(new TimedServlet(false, 2)));
+
+        // then
+        String serverTiming = response.getHeader(RequestTimingFilter.SERVER_TIMING);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.contains("handler;dur="), serverTiming);
+        assertTrue(serverTiming.contains("db;dur="), serverTiming);
+        assertTrue(serverTiming.contains("total;dur="), serverTiming);
+        assertNull(RequestTiming.current());
+
+        Map<String, Object> timings = requestTimings.describe();
+        assertEquals(1, timings.size());
+        Map<?, ?> endpoint = (Map<?, ?>) timings.get("GET /api/tickets/{ticketNumber}");
+        assertEquals(1L, ((Map<?, ?>) endpoint.get("db")).get("count"));
+        assertTrue((double) ((Map<?, ?>) endpoint.get("db")).get("p99") >= 5);
+        assertEquals(1L, ((Map<?, ?>) endpoint.get("total")).get("count"));
+        assertNull(endpoint.get("view"));
+        assertEquals(2.0, ((Map<?, ?>) endpoint.get("statements")).get("max"));
+    }
+
+    @Test
+    void testFilter_repeatedStatement_budgetExceededAndStillRecorded() {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets/P1-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        StatementBudgetExceededException exception = assertThrows(StatementBudgetExceededException.class,
+                () -> unitUnderTest.doFilter(request, response, new MockFilterChain(new TimedServlet(false, 3))));
+
+        // then
+        assertTrue(exception.getMessage().contains("GET /api/tickets/{ticketNumber}"), exception.getMessage());
+        assertTrue(exception.getMessage().contains("select * from user_entity where id=?"), exception.getMessage());
+        assertTrue(requestTimings.describe().containsKey("GET /api/tickets/{ticketNumber}"));
+    }
+
+    @Test
+    void testFilter_committedWhileHandling_serverTimingSetBeforeCommit() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets/P1-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        unitUnderTest.doFilter(request, response, new MockFilterChain(new TimedServlet(true, 0)));
+
+        // then
+        assertTrue(response.isCommitted());
+        assertTrue(response.getHeader(RequestTimingFilter.SERVER_TIMING).contains("db;dur="));
+    }
+
+    @Test
+    void testFilter_unknownMethodAndPath_recordedAsOneEndpoint() throws Exception {
+        // when
+        unitUnderTest.doFilter(new MockHttpServletRequest("FOO", "/a"), new MockHttpServletResponse(), new MockFilterChain());
+        unitUnderTest.doFilter(new MockHttpServletRequest("BAR", "/b"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        Map<String, Object> timings = requestTimings.describe();
+        assertEquals(1, timings.size());
+        assertEquals(2L, ((Map<?, ?>) ((Map<?, ?>) timings.get("OTHER unmatched")).get("total")).get("count"));
+    }
+
+    private static class TimedServlet extends HttpServlet {
+
+        private final boolean flush;
+        private final int statements;
+
+        private TimedServlet(boolean flush, int statements) {
+            this.flush = flush;
+            this.statements = statements;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tickets/{ticketNumber}");
+            RequestTiming timing = RequestTiming.current();
+            timing.switchTo(Phase.HANDLER);
+            Phase previous = timing.switchTo(Phase.DB);
+            for (int statement = 0; statement < statements; statement++) {
+                new RequestStatementInspector().inspect("select * from user_entity where id=?");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            timing.switchTo(previous);
+            response.getWriter().write("{}");
+            if (flush) {
+                response.flushBuffer();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import net.wickedshell.ticketz.adapter.timing.RequestTiming.Phase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.stop();
+        }
+    }
+
+    @Test
+    void testSwitchTo_nestedPhase_chargedToInnerPhaseOnly() throws InterruptedException {
+        // given
+        RequestTiming unitUnderTest = RequestTiming.start();
+        unitUnderTest.switchTo(Phase.HANDLER);
+
+        // when
+        Phase previous = unitUnderTest.switchTo(Phase.DB);
+        Thread.sleep(20);
+        unitUnderTest.switchTo(previous);
+        unitUnderTest.stop();
+
+        // then
+        assertEquals(Phase.HANDLER, previous);
+        assertTrue(unitUnderTest.nanos(Phase.DB) >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(unitUnderTest.nanos(Phase.HANDLER) < unitUnderTest.nanos(Phase.DB));
+        long phases = 0;
+        for (Phase phase : Phase.values()) {
+            phases += unitUnderTest.nanos(phase);
+        }
+        assertEquals(unitUnderTest.totalNanos(), phases);
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void testServerTiming_enteredPhasesAndTotal() {
+        // given
+        RequestTiming unitUnderTest = RequestTiming.start();
+        unitUnderTest.switchTo(Phase.HANDLER);
+        unitUnderTest.switchTo(Phase.VIEW);
+        unitUnderTest.stop();
+
+        // when
+        String serverTiming = unitUnderTest.serverTiming();
+
+        // then
+        assertTrue(serverTiming.matches("filter;dur=\\d+\\.\\d{3}, handler;dur=\\d+\\.\\d{3}, view;dur=\\d+\\.\\d{3}, "
+                + "total;dur=\\d+\\.\\d{3}"), serverTiming);
+    }
+}
@@ -0,0 +1,99 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import jakarta.inject.Inject;
+import net.wickedshell.ticketz.core.model.Project;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketState;
+import net.wickedshell.ticketz.core.model.User;
+import net.wickedshell.ticketz.core.port.driven.persistence.TicketPersistence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs requests against the database with an enforced statement budget, so a request running a query per
+ * ticket fails. The test data is committed, lookups must not be served by the persistence context of a
+ * test transaction, and is dropped with the context.
+ */
+@SpringBootTest(properties = "ticketz.app.statementBudgetEnforced=true")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext
+class StatementBudgetIntegrationTest {
+
+    // more than a statement may be repeated within the budget, plus the ticket of the initial data
+    private static final int TICKET_COUNT = 15;
+
+    @Inject
+    private MockMvc mvc;
+    @Inject
+    private TicketPersistence ticketPersistence;
+    @Inject
+    private RequestTimings requestTimings;
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int ticket = 0; ticket < TICKET_COUNT; ticket++) {
+                ticketPersistence.create(createTestTicket("BUDGET-" + ticket, ticket % 2 == 0 ? "test@us.er" : "admin@us.er"));
+            }
+        });
+        requestTimings.reset();
+    }
+
+    @Test
+    @WithMockUser(username = "test@us.er", roles = {"USER", "API"})
+    void testDoFilter_ticketListFromDatabase_withinStatementBudget() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(get("/api/tickets"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(TICKET_COUNT + 1)))
+                .andExpect(header().string(RequestTimingFilter.SERVER_TIMING, containsString("db;dur=")));
+        assertTrue(statementsOf("GET /api/tickets") > 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private double statementsOf(String endpoint) {
+        Map<String, Object> endpointTimings = (Map<String, Object>) requestTimings.describe().get(endpoint);
+        Map<String, Object> statements = (Map<String, Object>) endpointTimings.get("statements");
+        return (double) statements.get("max");
+    }
+
+    private Ticket createTestTicket(String ticketNumber, String email) {
+        User user = new User();
+        user.setEmail(email);
+
+        Project project = new Project();
+        project.setCode("DEFAULT");
+
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber(ticketNumber);
+        ticket.setTitle("Test Ticket Title");
+        ticket.setDescription("Test Description");
+        ticket.setState(TicketState.IN_PROGRESS);
+        ticket.setAuthor(user);
+        ticket.setEditor(user);
+        ticket.setProject(project);
+        return ticket;
+    }
+}
@@ -0,0 +1,85 @@
+package net.wickedshell.ticketz.adapter.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementBudgetTest {
+
+    private static final String TICKET_QUERY = "select t.* from ticket_entity t where t.ticket_number=?";
+    private static final String USER_QUERY = "select u.* from user_entity u where u.id=?";
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.stop();
+        }
+    }
+
+    @Test
+    void testCheck_withinBudget_passes() {
+        // given
+        StatementBudget unitUnderTest = new StatementBudget(3, 2, true);
+        RequestTiming timing = RequestTiming.start();
+        timing.countStatement(TICKET_QUERY);
+        timing.countStatement(USER_QUERY);
+        timing.countStatement(USER_QUERY);
+
+        // when
+        unitUnderTest.check("GET /api/tickets", timing);
+
+        // then
+        assertEquals(3, timing.statements());
+        assertEquals(USER_QUERY, timing.mostRepeatedStatement().getKey());
+    }
+
+    @Test
+    void testCheck_repeatedStatement_suspectedNPlusOne() {
+        // given
+        StatementBudget unitUnderTest = new StatementBudget(10, 2, true);
+        RequestTiming timing = RequestTiming.start();
+        timing.countStatement(TICKET_QUERY);
+        for (int user = 0; user < 3; user++) {
+            timing.countStatement(USER_QUERY);
+        }
+
+        // when
+        StatementBudgetExceededException exception = assertThrows(StatementBudgetExceededException.class,
+                () -> unitUnderTest.check("GET /api/tickets", timing));
+
+        // then
+        assertEquals("Suspected N+1 query on GET /api/tickets, 3 of 4 statements were: " + USER_QUERY,
+                exception.getMessage());
+    }
+
+    @Test
+    void testCheck_tooManyStatements_budgetExceeded() {
+        // given
+        StatementBudget unitUnderTest = new StatementBudget(2, 2, true);
+        RequestTiming timing = RequestTiming.start();
+        timing.countStatement(TICKET_QUERY);
+        timing.countStatement(USER_QUERY);
+        timing.countStatement("select p.* from project_entity p where p.code=?");
+
+        // when
+        StatementBudgetExceededException exception = assertThrows(StatementBudgetExceededException.class,
+                () -> unitUnderTest.check("GET /api/tickets", timing));
+
+        // then
+        assertEquals("Statement budget exceeded on GET /api/tickets, 3 statements, at most 2 expected",
+                exception.getMessage());
+    }
+
+    @Test
+    void testCheck_notEnforced_onlyLogged() {
+        // given
+        StatementBudget unitUnderTest = new StatementBudget(0, 0, false);
+        RequestTiming timing = RequestTiming.start();
+        timing.countStatement(USER_QUERY);
+
+        // when / then
+        assertDoesNotThrow(() -> unitUnderTest.check("GET /api/tickets", timing));
+    }
+}
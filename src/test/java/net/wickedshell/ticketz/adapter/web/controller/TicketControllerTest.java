@@ -0,0 +1,250 @@
+package net.wickedshell.ticketz.adapter.web.controller;
+
+import jakarta.inject.Inject;
+import net.wickedshell.ticketz.TestConfig;
+import net.wickedshell.ticketz.adapter.AuthenticationConfiguration;
+import net.wickedshell.ticketz.adapter.rest.RestAdapterConfiguration;
+import net.wickedshell.ticketz.adapter.web.WebAdapterConfiguration;
+import net.wickedshell.ticketz.core.model.Comment;
+import net.wickedshell.ticketz.core.model.Project;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketDetails;
+import net.wickedshell.ticketz.core.model.TicketState;
+import net.wickedshell.ticketz.core.model.User;
+import net.wickedshell.ticketz.core.port.access.CommentService;
+import net.wickedshell.ticketz.core.port.access.ProjectService;
+import net.wickedshell.ticketz.core.port.access.TicketService;
+import net.wickedshell.ticketz.core.port.access.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static net.wickedshell.ticketz.adapter.web.View.HEADER_FRAGMENT_REQUEST;
+import static net.wickedshell.ticketz.adapter.web.View.VIEW_TICKET_COMMENTS;
+import static net.wickedshell.ticketz.adapter.web.View.VIEW_TICKET_CONTENT;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TicketController.class)
+@ContextConfiguration(classes = {AuthenticationConfiguration.class, RestAdapterConfiguration.class, WebAdapterConfiguration.class, TestConfig.class})
+class TicketControllerTest {
+
+    private static final String TICKET_ROUTE = "/secure/tickets/TICKETZ-1";
+
+    @Inject
+    private MockMvc mvc;
+    @Inject
+    private WebApplicationContext context;
+    @MockBean
+    private CommentService commentService;
+    @MockBean
+    private TicketService ticketService;
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private ProjectService projectService;
+
+    @BeforeEach
+    public void setup() {
+        mvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser
+    void testDeleteTicketFragment_fragmentRequest_noContent() throws Exception {
+        // when
+        ResultActions perform = mvc.perform(get(TICKET_ROUTE + ":delete").header(HEADER_FRAGMENT_REQUEST, "true"));
+
+        // then
+        perform.andExpect(status().isNoContent())
+                .andExpect(content().string(""));
+        verify(ticketService).deleteByTicketNumber("TICKETZ-1");
+    }
+
+    @Test
+    @WithMockUser
+    void testDeleteTicket_withoutFragmentHeader_redirectsToTicketList() throws Exception {
+        // given
+        when(userService.getCurrentUser()).thenReturn(createTestUser());
+
+        // when
+        ResultActions perform = mvc.perform(get(TICKET_ROUTE + ":delete"));
+
+        // then
+        perform.andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/secure/tickets"))
+                .andExpect(flash().attribute("message", "Ticket TICKETZ-1 successfully deleted."));
+        verify(ticketService).deleteByTicketNumber("TICKETZ-1");
+    }
+
+    @Test
+    @WithMockUser
+    void testChangeTicketStatusFragment_fragmentRequest_returnsTicketContent() throws Exception {
+        // given
+        Ticket ticket = createTestTicket(TicketState.CREATED);
+        when(ticketService.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+        when(ticketService.loadDetailsByTicketNumber("TICKETZ-1", 20))
+                .thenReturn(createTestTicketDetails(createTestTicket(TicketState.IN_PROGRESS), List.of()));
+
+        // when
+        ResultActions perform = mvc.perform(post(TICKET_ROUTE + "/status").with(csrf())
+                .header(HEADER_FRAGMENT_REQUEST, "true")
+                .param("newState", "IN_PROGRESS"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(view().name(VIEW_TICKET_CONTENT))
+                .andExpect(content().string(containsString("id=\"ticket-content\"")))
+                .andExpect(content().string(containsString("Status of ticket TICKETZ-1 successfully changed.")))
+                .andExpect(content().string(containsString("value=\"FIXED\"")))
+                .andExpect(content().string(not(containsString("<html"))));
+        verify(ticketService).update(argThat(updated -> updated.getState() == TicketState.IN_PROGRESS));
+        verify(userService, never()).getCurrentUser();
+    }
+
+    @Test
+    @WithMockUser
+    void testChangeTicketStatus_withoutFragmentHeader_redirectsToTicketList() throws Exception {
+        // given
+        when(ticketService.loadByTicketNumber("TICKETZ-1")).thenReturn(createTestTicket(TicketState.CREATED));
+        when(userService.getCurrentUser()).thenReturn(createTestUser());
+
+        // when
+        ResultActions perform = mvc.perform(post(TICKET_ROUTE + "/status").with(csrf())
+                .param("newState", "IN_PROGRESS"));
+
+        // then
+        perform.andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/secure/tickets"))
+                .andExpect(flash().attribute("message", "Status of ticket TICKETZ-1 successfully changed."));
+        verify(ticketService).update(argThat(updated -> updated.getState() == TicketState.IN_PROGRESS));
+        verify(ticketService, never()).loadDetailsByTicketNumber(anyString(), anyInt());
+    }
+
+    @Test
+    @WithMockUser
+    void testAddTicketCommentFragment_fragmentRequest_returnsComments() throws Exception {
+        // given
+        Ticket ticket = createTestTicket(TicketState.CREATED);
+        when(ticketService.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+        when(userService.getCurrentUser()).thenReturn(createTestUser());
+        when(ticketService.loadDetailsByTicketNumber("TICKETZ-1", 20))
+                .thenReturn(createTestTicketDetails(ticket, List.of(createTestComment("New comment"))));
+
+        // when
+        ResultActions perform = mvc.perform(post(TICKET_ROUTE + "/comment").with(csrf())
+                .header(HEADER_FRAGMENT_REQUEST, "true")
+                .param("commentText", "New comment"));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(view().name(VIEW_TICKET_COMMENTS))
+                .andExpect(content().string(containsString("id=\"ticket-comments\"")))
+                .andExpect(content().string(containsString("New comment")))
+                .andExpect(content().string(not(containsString("id=\"ticket-content\""))));
+        verify(commentService).create(argThat(comment -> comment.getText().equals("New comment")), eq(ticket));
+    }
+
+    @Test
+    @WithMockUser
+    void testAddTicketCommentFragment_blankComment_returnsCommentsWithError() throws Exception {
+        // given
+        when(ticketService.loadDetailsByTicketNumber("TICKETZ-1", 20))
+                .thenReturn(createTestTicketDetails(createTestTicket(TicketState.CREATED), List.of()));
+
+        // when
+        ResultActions perform = mvc.perform(post(TICKET_ROUTE + "/comment").with(csrf())
+                .header(HEADER_FRAGMENT_REQUEST, "true")
+                .param("commentText", " "));
+
+        // then
+        perform.andExpect(status().isOk())
+                .andExpect(view().name(VIEW_TICKET_COMMENTS))
+                .andExpect(content().string(containsString("Please enter a comment.")));
+        verify(commentService, never()).create(any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void testAddTicketComment_withoutFragmentHeader_redirectsToTicket() throws Exception {
+        // given
+        Ticket ticket = createTestTicket(TicketState.CREATED);
+        when(ticketService.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+        when(userService.getCurrentUser()).thenReturn(createTestUser());
+
+        // when
+        ResultActions perform = mvc.perform(post(TICKET_ROUTE + "/comment").with(csrf())
+                .param("commentText", "New comment"));
+
+        // then
+        perform.andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl(TICKET_ROUTE))
+                .andExpect(flash().attribute("message", "Comment added to ticket TICKETZ-1."));
+        verify(commentService).create(argThat(comment -> comment.getText().equals("New comment")), eq(ticket));
+    }
+
+    private TicketDetails createTestTicketDetails(Ticket ticket, List<Comment> comments) {
+        TicketDetails ticketDetails = new TicketDetails();
+        ticketDetails.setTicket(ticket);
+        ticketDetails.setCanEdit(true);
+        ticketDetails.setComments(comments);
+        return ticketDetails;
+    }
+
+    private Comment createTestComment(String text) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setAuthor(createTestUser());
+        comment.setDateCreated(LocalDateTime.of(2026, 1, 1, 12, 0));
+        return comment;
+    }
+
+    private Ticket createTestTicket(TicketState state) {
+        Project project = new Project();
+        project.setCode("TICKETZ");
+        project.setName("Ticketz");
+        project.setActive(true);
+
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("TICKETZ-1");
+        ticket.setTitle("Test Ticket");
+        ticket.setDescription("Test description");
+        ticket.setState(state);
+        ticket.setPossibleNextStates(state == TicketState.IN_PROGRESS ? Set.of(TicketState.FIXED) : Set.of(TicketState.IN_PROGRESS));
+        ticket.setAuthor(createTestUser());
+        ticket.setProject(project);
+        return ticket;
+    }
+
+    private User createTestUser() {
+        User user = new User();
+        user.setEmail("test@us.er");
+        user.setFirstname("Test");
+        user.setLastname("User");
+        return user;
+    }
+}
@@ -0,0 +1,118 @@
+package net.wickedshell.ticketz.adapter.web.rendering;
+
+import net.wickedshell.ticketz.adapter.web.model.TicketWeb;
+import net.wickedshell.ticketz.adapter.web.model.UserWeb;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketRowRendererTest {
+
+    private TicketRowRenderer unitUnderTest;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+
+        unitUnderTest = new TicketRowRenderer(templateEngine);
+        ReflectionTestUtils.setField(unitUnderTest, "cacheSize", 2);
+
+        request = new MockHttpServletRequest();
+        request.setContextPath("/ticketz");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testRender_rendersRowWithSharedDialogTrigger() {
+        // given
+        TicketWeb ticket = createTicket("DEFAULT-1", 0);
+
+        // when
+        List<String> rows = unitUnderTest.render(List.of(ticket), request, response);
+
+        // then
+        assertEquals(1, rows.size());
+        String row = rows.get(0);
+        assertTrue(row.startsWith("<tr id=\"ticket-row-DEFAULT-1\">"));
+        assertTrue(row.contains("Test Title"));
+        assertTrue(row.contains("Test User"));
+        assertTrue(row.contains("href=\"/ticketz/secure/tickets/DEFAULT-1\""));
+        assertTrue(row.contains("data-bs-target=\"#confirm_delete_ticket\""));
+        assertTrue(row.contains("data-confirm-url=\"/ticketz/secure/tickets/DEFAULT-1:delete\""));
+    }
+
+    @Test
+    void testRender_unchangedTicket_reusesCachedRow() {
+        // given
+        String first = unitUnderTest.render(List.of(createTicket("DEFAULT-1", 0)), request, response).get(0);
+
+        // when
+        String second = unitUnderTest.render(List.of(createTicket("DEFAULT-1", 0)), request, response).get(0);
+
+        // then
+        assertSame(first, second);
+    }
+
+    @Test
+    void testRender_changedTicket_rendersAgain() {
+        // given
+        String first = unitUnderTest.render(List.of(createTicket("DEFAULT-1", 0)), request, response).get(0);
+        TicketWeb changedTicket = createTicket("DEFAULT-1", 1);
+        changedTicket.setTitle("Changed Title");
+        changedTicket.setProjectActive(false);
+
+        // when
+        String second = unitUnderTest.render(List.of(changedTicket), request, response).get(0);
+
+        // then
+        assertNotSame(first, second);
+        assertTrue(second.contains("Changed Title"));
+        assertTrue(second.contains("disabled"));
+    }
+
+    @Test
+    void testRender_cacheIsBounded() {
+        // when
+        unitUnderTest.render(List.of(createTicket("DEFAULT-1", 0), createTicket("DEFAULT-2", 0),
+                createTicket("DEFAULT-3", 0)), request, response);
+
+        // then
+        assertEquals(2, unitUnderTest.getCachedRowCount());
+    }
+
+    private TicketWeb createTicket(String ticketNumber, long version) {
+        UserWeb author = new UserWeb();
+        author.setEmail("test@us.er");
+        author.setFirstname("Test");
+        author.setLastname("User");
+        TicketWeb ticket = new TicketWeb();
+        ticket.setTicketNumber(ticketNumber);
+        ticket.setVersion(version);
+        ticket.setTitle("Test Title");
+        ticket.setState("CREATED");
+        ticket.setAuthor(author);
+        ticket.setProjectCode("DEFAULT");
+        ticket.setProjectActive(true);
+        return ticket;
+    }
+}
@@ -0,0 +1,104 @@
+package net.wickedshell.ticketz.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.wickedshell.ticketz.core.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder unitUnderTest;
+
+    @AfterEach
+    void tearDown() {
+        unitUnderTest.close();
+    }
+
+    @Test
+    void testEncodeAndMatches_hashedOnPoolAndTimed() {
+        // given
+        unitUnderTest = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, meterRegistry);
+
+        // when
+        String passwordHash = unitUnderTest.encode("secret123");
+
+        // then
+        assertTrue(unitUnderTest.matches("secret123", passwordHash));
+        assertFalse(unitUnderTest.matches("wrong", passwordHash));
+        assertEquals(1, meterRegistry.get("ticketz.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("ticketz.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void testUpgradeEncoding_weakerStrength_true() {
+        // given
+        unitUnderTest = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, meterRegistry);
+        String weakPasswordHash = new BCryptPasswordEncoder(4).encode("secret123");
+
+        // when
+        boolean upgrade = unitUnderTest.upgradeEncoding(weakPasswordHash);
+
+        // then
+        assertTrue(upgrade);
+        assertFalse(unitUnderTest.upgradeEncoding(unitUnderTest.encode("secret123")));
+    }
+
+    @Test
+    void testEncode_queueFull_serviceUnavailable() throws Exception {
+        // given
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch releaseHashing = new CountDownLatch(1);
+        unitUnderTest = new BoundedPasswordEncoder(blockingEncoder(hashing, releaseHashing), 1, 1, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> unitUnderTest.encode("running"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> unitUnderTest.encode("queued"));
+        waitForQueueDepth(1);
+
+        // when
+        assertThrows(ServiceUnavailableException.class, () -> unitUnderTest.encode("rejected"));
+
+        // then
+        assertEquals(1, meterRegistry.get("ticketz.password.hash.rejected").counter().count());
+        releaseHashing.countDown();
+        assertEquals("hash:running", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:queued", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0, meterRegistry.get("ticketz.password.hash.queue").gauge().value());
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("ticketz.password.hash.queue").gauge().value() < depth) {
+            assertTrue(System.currentTimeMillis() < deadline, "queue depth not reached");
+            Thread.sleep(10);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch hashing, CountDownLatch releaseHashing) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    assertTrue(releaseHashing.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package net.wickedshell.ticketz.core;
+
+import jakarta.inject.Inject;
+import net.wickedshell.ticketz.adapter.jpa.converter.ProjectToProjectEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.converter.UserToUserEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.persistence.CommentJPAPersistenceImpl;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedCommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.ProjectRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.UserRepository;
+import net.wickedshell.ticketz.core.model.Comment;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares concurrent single-comment posts committed one by one with write-behind group commits, waiting
+ * for durability and acknowledged right away. Run with
+ * {@code mvn test -Dtest=CommentWriteBehindBenchmarkTest -Dticketz.benchmark=true}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "ticketz.benchmark", matches = "true")
+class CommentWriteBehindBenchmarkTest {
+
+    private static final int POSTERS = 16;
+    private static final int POSTS_PER_POSTER = 250;
+
+    @Inject
+    private CommentRepository commentRepository;
+
+    @Inject
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Inject
+    private TicketRepository ticketRepository;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private ProjectRepository projectRepository;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM comment_entity WHERE text LIKE 'Build %'");
+    }
+
+    @Test
+    void benchmarkCommentPosts() throws Exception {
+        report("transaction per post", false, (service, comments) -> service.createAll(comments, createTicket()));
+        report("write-behind, durable", true, (service, comments) -> service.createAll(comments, createTicket()));
+        report("write-behind, ack", true, (service, comments) -> service.createAllAsync(comments, createTicket()));
+    }
+
+    private void report(String name, boolean writeBehind, BiConsumer<CommentServiceImpl, List<Comment>> post) throws Exception {
+        CommentServiceImpl commentService = createCommentService(writeBehind);
+        long commentsBefore = countComments();
+        ExecutorService executor = Executors.newFixedThreadPool(POSTERS);
+        List<Future<?>> posters = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int poster = 0; poster < POSTERS; poster++) {
+            int posterId = poster;
+            posters.add(executor.submit(() -> {
+                for (int postNumber = 0; postNumber < POSTS_PER_POSTER; postNumber++) {
+                    post.accept(commentService, List.of(createComment("Build " + posterId + "-" + postNumber)));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> poster : posters) {
+            poster.get();
+        }
+        long acknowledged = System.nanoTime() - start;
+        commentService.stopWriteBehind();
+        long durable = System.nanoTime() - start;
+        executor.shutdown();
+
+        int posts = POSTERS * POSTS_PER_POSTER;
+        assertEquals(commentsBefore + posts, countComments());
+        System.out.printf("[benchmark] %-22s %6.0f posts/s acknowledged  %6.0f posts/s durable  (%d posters, %d posts)%n",
+                name, posts / (acknowledged / 1_000_000_000.0), posts / (durable / 1_000_000_000.0), POSTERS, posts);
+    }
+
+    private CommentServiceImpl createCommentService(boolean writeBehind) {
+        ModelMapper mapper = new ModelMapper();
+        mapper.addConverter(new UserToUserEntityConverter(userRepository));
+        mapper.addConverter(new ProjectToProjectEntityConverter(projectRepository));
+        CommentServiceImpl commentService = new CommentServiceImpl(new CommentJPAPersistenceImpl(commentRepository,
+                archivedCommentRepository, ticketRepository, userRepository, mapper), transactionManager);
+        ReflectionTestUtils.setField(commentService, "writeBehind", writeBehind);
+        ReflectionTestUtils.setField(commentService, "writeBehindCapacity", 10_000);
+        ReflectionTestUtils.setField(commentService, "writeBehindMaxGroupSize", 200);
+        commentService.startWriteBehind();
+        return commentService;
+    }
+
+    private long countComments() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comment_entity", Long.class);
+    }
+
+    private static Comment createComment(String text) {
+        User author = new User();
+        author.setEmail("test@us.er");
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setAuthor(author);
+        return comment;
+    }
+
+    private static Ticket createTicket() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("test_ticket");
+        return ticket;
+    }
+}
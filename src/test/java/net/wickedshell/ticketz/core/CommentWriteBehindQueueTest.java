@@ -0,0 +1,150 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.CommentWriteBehindQueue.PendingComments;
+import net.wickedshell.ticketz.core.exception.ValidationException;
+import net.wickedshell.ticketz.core.model.Comment;
+import net.wickedshell.ticketz.core.model.Ticket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommentWriteBehindQueueTest {
+
+    private final List<List<String>> writtenGroups = new CopyOnWriteArrayList<>();
+    private CommentWriteBehindQueue unitUnderTest;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        unitUnderTest.stop();
+    }
+
+    @Test
+    void testOffer_queuedWhileWriting_writtenAsOneGroup() throws Exception {
+        // given
+        CountDownLatch firstGroupStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstGroup = new CountDownLatch(1);
+        unitUnderTest = start(10, 10, group -> {
+            firstGroupStarted.countDown();
+            await(releaseFirstGroup);
+            record(group);
+        });
+        CompletableFuture<Void> first = unitUnderTest.offer(List.of(createComment("first")), createTicket("TICKETZ-1"));
+        assertTrue(firstGroupStarted.await(5, TimeUnit.SECONDS));
+
+        // when
+        CompletableFuture<Void> second = unitUnderTest.offer(List.of(createComment("second")), createTicket("TICKETZ-2"));
+        CompletableFuture<Void> third = unitUnderTest.offer(List.of(createComment("third")), createTicket("TICKETZ-1"));
+        releaseFirstGroup.countDown();
+
+        // then
+        CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of("first"), List.of("second", "third")), writtenGroups);
+    }
+
+    @Test
+    void testOffer_failingBatch_othersOfTheGroupWritten() throws Exception {
+        // given
+        CountDownLatch firstGroupStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstGroup = new CountDownLatch(1);
+        unitUnderTest = start(10, 10, group -> {
+            firstGroupStarted.countDown();
+            await(releaseFirstGroup);
+            if (group.stream().anyMatch(pendingComments -> pendingComments.ticket().getTicketNumber().equals("UNKNOWN"))) {
+                throw new ValidationException("Ticket not found: UNKNOWN");
+            }
+            record(group);
+        });
+        unitUnderTest.offer(List.of(createComment("first")), createTicket("TICKETZ-1"));
+        assertTrue(firstGroupStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> valid = unitUnderTest.offer(List.of(createComment("valid")), createTicket("TICKETZ-1"));
+        CompletableFuture<Void> invalid = unitUnderTest.offer(List.of(createComment("invalid")), createTicket("UNKNOWN"));
+
+        // when
+        releaseFirstGroup.countDown();
+
+        // then
+        valid.get(5, TimeUnit.SECONDS);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> invalid.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ValidationException.class, exception.getCause());
+        assertEquals(List.of(List.of("first"), List.of("valid")), writtenGroups);
+    }
+
+    @Test
+    void testOffer_bufferFull_returnsNull() throws Exception {
+        // given
+        CountDownLatch firstGroupStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstGroup = new CountDownLatch(1);
+        unitUnderTest = start(1, 10, group -> {
+            firstGroupStarted.countDown();
+            await(releaseFirstGroup);
+            record(group);
+        });
+        unitUnderTest.offer(List.of(createComment("writing")), createTicket("TICKETZ-1"));
+        assertTrue(firstGroupStarted.await(5, TimeUnit.SECONDS));
+        assertNotNull(unitUnderTest.offer(List.of(createComment("queued")), createTicket("TICKETZ-1")));
+
+        // when
+        CompletableFuture<Void> rejected = unitUnderTest.offer(List.of(createComment("rejected")), createTicket("TICKETZ-1"));
+
+        // then
+        assertNull(rejected);
+        releaseFirstGroup.countDown();
+    }
+
+    @Test
+    void testStop_writesQueuedComments() throws Exception {
+        // given
+        unitUnderTest = start(10, 10, this::record);
+        CompletableFuture<Void> queued = unitUnderTest.offer(List.of(createComment("queued")), createTicket("TICKETZ-1"));
+
+        // when
+        unitUnderTest.stop();
+
+        // then
+        assertTrue(queued.isDone());
+        assertEquals(List.of(List.of("queued")), writtenGroups);
+        assertNull(unitUnderTest.offer(List.of(createComment("late")), createTicket("TICKETZ-1")));
+    }
+
+    private CommentWriteBehindQueue start(int capacity, int maxGroupSize, Consumer<List<PendingComments>> groupWriter) {
+        CommentWriteBehindQueue queue = new CommentWriteBehindQueue(capacity, maxGroupSize, groupWriter);
+        queue.start();
+        return queue;
+    }
+
+    private void record(List<PendingComments> group) {
+        writtenGroups.add(group.stream()
+                .flatMap(pendingComments -> pendingComments.comments().stream())
+                .map(Comment::getText)
+                .toList());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Comment createComment(String text) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        return comment;
+    }
+
+    private static Ticket createTicket(String ticketNumber) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber(ticketNumber);
+        return ticket;
+    }
+}
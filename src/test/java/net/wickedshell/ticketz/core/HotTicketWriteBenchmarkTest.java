@@ -0,0 +1,164 @@
+package net.wickedshell.ticketz.core;
+
+import jakarta.inject.Inject;
+import net.wickedshell.ticketz.adapter.jpa.converter.ProjectToProjectEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.converter.UserToUserEntityConverter;
+import net.wickedshell.ticketz.adapter.jpa.persistence.TicketChangeSequence;
+import net.wickedshell.ticketz.adapter.jpa.persistence.TicketJPAPersistenceImpl;
+import net.wickedshell.ticketz.adapter.jpa.repository.ArchivedTicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.CommentRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.ProjectRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.TicketTombstoneRepository;
+import net.wickedshell.ticketz.adapter.jpa.repository.UserRepository;
+import net.wickedshell.ticketz.core.model.Ticket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the throughput of concurrent writers on a single ticket: unserialized writers colliding on
+ * the optimistic lock and retrying, writers serialized by a database row lock and writers queued by
+ * {@link TicketWriteLocks}. Run with
+ * {@code mvn test -Dtest=HotTicketWriteBenchmarkTest -Dticketz.benchmark=true}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "ticketz.benchmark", matches = "true")
+class HotTicketWriteBenchmarkTest {
+
+    private static final String TICKET_NUMBER = "HOT-1";
+    private static final int WRITERS = 16;
+    private static final int WRITES_PER_WRITER = 50;
+
+    @Inject
+    private TicketRepository ticketRepository;
+
+    @Inject
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Inject
+    private CommentRepository commentRepository;
+
+    @Inject
+    private TicketTombstoneRepository ticketTombstoneRepository;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private ProjectRepository projectRepository;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private TicketJPAPersistenceImpl ticketPersistence;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setupTest() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.addConverter(new UserToUserEntityConverter(userRepository));
+        mapper.addConverter(new ProjectToProjectEntityConverter(projectRepository));
+        ticketPersistence = new TicketJPAPersistenceImpl(mapper, ticketRepository, archivedTicketRepository, commentRepository,
+                ticketTombstoneRepository, new TicketChangeSequence(ticketRepository, ticketTombstoneRepository));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("INSERT INTO ticket_entity (id, ticket_number, title, description, author_id, state, project_id, version, date_created, date_updated, change_sequence) "
+                + "VALUES (-500, ?, 'Hot ticket', 'Write 0', -1, 0, -3, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, NEXT VALUE FOR ticket_change_seq)", TICKET_NUMBER);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM ticket_entity WHERE id = -500");
+    }
+
+    @Test
+    void benchmarkHotTicketWrites() throws Exception {
+        report("optimistic, retried", false, null);
+        report("database row lock", true, null);
+        report("striped lock", false, new TicketWriteLocks(256));
+    }
+
+    private void report(String name, boolean databaseWriteLock, TicketWriteLocks ticketWriteLocks) throws Exception {
+        ReflectionTestUtils.setField(ticketPersistence, "databaseWriteLock", databaseWriteLock);
+        long versionBefore = currentVersion();
+        AtomicLong failures = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        long start = System.nanoTime();
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int writerId = writer;
+            writers.add(executor.submit(() -> {
+                for (int write = 0; write < WRITES_PER_WRITER; write++) {
+                    String description = "Write " + writerId + "-" + write;
+                    // like a client, retry a failed write until it succeeds
+                    while (!write(description, ticketWriteLocks)) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        long duration = System.nanoTime() - start;
+        executor.shutdown();
+
+        int writes = WRITERS * WRITES_PER_WRITER;
+        assertEquals(versionBefore + writes, currentVersion());
+        System.out.printf("[benchmark] %-20s %6.0f writes/s  %5d failed attempts  (%d writers, %d writes)%n", name,
+                writes / (duration / 1_000_000_000.0), failures.get(), WRITERS, writes);
+    }
+
+    private boolean write(String description, TicketWriteLocks ticketWriteLocks) {
+        try {
+            if (ticketWriteLocks == null) {
+                return writeInTransaction(description);
+            }
+            return ticketWriteLocks.callLocked(TICKET_NUMBER, 10_000, () -> writeInTransaction(description));
+        } catch (ConcurrencyFailureException exception) {
+            // optimistic lock failure at commit or lock timeout in the database
+            return false;
+        } catch (RuntimeException exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private boolean writeInTransaction(String description) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Ticket ticket = ticketPersistence.loadByTicketNumberForUpdate(TICKET_NUMBER);
+            ticket.setDescription(description);
+            ticketPersistence.update(ticket);
+            return true;
+        }));
+    }
+
+    private long currentVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM ticket_entity WHERE id = -500", Long.class);
+    }
+}
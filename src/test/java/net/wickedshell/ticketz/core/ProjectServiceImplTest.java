@@ -0,0 +1,189 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.exception.ValidationException;
+import net.wickedshell.ticketz.core.model.Project;
+import net.wickedshell.ticketz.core.port.driven.persistence.ProjectPersistence;
+import net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectServiceImplTest {
+
+    @Mock
+    private ProjectPersistence projectPersistence;
+
+    private ProjectServiceImpl unitUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        unitUnderTest = new ProjectServiceImpl(projectPersistence);
+        setCheckInterval(60_000);
+    }
+
+    @Nested
+    class Catalog {
+
+        @Test
+        void testListAll_servedFromCatalog() {
+            // given
+            when(projectPersistence.getCatalogVersion()).thenReturn(2L);
+            when(projectPersistence.findAll()).thenReturn(List.of(createProject("ONE", true), createProject("TWO", false)));
+
+            // when
+            unitUnderTest.listAll();
+            List<Project> projects = unitUnderTest.listAll();
+
+            // then
+            assertEquals(2, projects.size());
+            verify(projectPersistence, times(1)).getCatalogVersion();
+            verify(projectPersistence, times(1)).findAll();
+        }
+
+        @Test
+        void testListAll_returnsCopies() {
+            // given
+            when(projectPersistence.getCatalogVersion()).thenReturn(1L);
+            when(projectPersistence.findAll()).thenReturn(List.of(createProject("ONE", true)));
+
+            // when
+            unitUnderTest.listAll().get(0).setName("Changed");
+
+            // then
+            assertEquals("Project ONE", unitUnderTest.listAll().get(0).getName());
+        }
+
+        @Test
+        void testListActive_onlyActiveProjects() {
+            // given
+            when(projectPersistence.getCatalogVersion()).thenReturn(2L);
+            when(projectPersistence.findAll()).thenReturn(List.of(createProject("ONE", true), createProject("TWO", false)));
+
+            // when
+            List<Project> projects = unitUnderTest.listActive();
+
+            // then
+            assertEquals(1, projects.size());
+            assertEquals("ONE", projects.get(0).getCode());
+        }
+
+        @Test
+        void testVersionCheck_unchangedVersion_keepsCatalog() {
+            // given
+            setCheckInterval(0);
+            when(projectPersistence.getCatalogVersion()).thenReturn(1L);
+            when(projectPersistence.findAll()).thenReturn(List.of(createProject("ONE", true)));
+
+            // when
+            unitUnderTest.listAll();
+            unitUnderTest.listAll();
+
+            // then
+            verify(projectPersistence, times(2)).getCatalogVersion();
+            verify(projectPersistence, times(1)).findAll();
+        }
+
+        @Test
+        void testVersionCheck_changedVersion_reloadsCatalog() {
+            // given
+            setCheckInterval(0);
+            when(projectPersistence.getCatalogVersion()).thenReturn(1L, 2L);
+            when(projectPersistence.findAll())
+                    .thenReturn(List.of(createProject("ONE", true)))
+                    .thenReturn(List.of(createProject("ONE", true), createProject("TWO", true)));
+
+            // when
+            unitUnderTest.listAll();
+            List<Project> projects = unitUnderTest.listAll();
+
+            // then
+            assertEquals(2, projects.size());
+            verify(projectPersistence, times(2)).findAll();
+        }
+
+        @Test
+        void testCreate_invalidatesCatalog() {
+            // given
+            Project project = createProject("NEW", false);
+            when(projectPersistence.getCatalogVersion()).thenReturn(1L, 2L);
+            when(projectPersistence.findAll())
+                    .thenReturn(List.of())
+                    .thenReturn(List.of(createProject("NEW", true)));
+            when(projectPersistence.create(project)).thenReturn(project);
+            unitUnderTest.listAll();
+
+            // when
+            unitUnderTest.create(project);
+
+            // then
+            assertEquals(1, unitUnderTest.listAll().size());
+            verify(projectPersistence, times(2)).findAll();
+        }
+    }
+
+    @Nested
+    class ValidateProjectCode {
+
+        @Test
+        void testActiveProject_noDatabaseAccessBeyondCatalog() {
+            // given
+            when(projectPersistence.getCatalogVersion()).thenReturn(1L);
+            when(projectPersistence.findAll()).thenReturn(List.of(createProject("ONE", true)));
+
+            // when / then
+            assertDoesNotThrow(() -> unitUnderTest.validateProjectCode("ONE"));
+            assertDoesNotThrow(() -> unitUnderTest.validateProjectCode("ONE"));
+            verify(projectPersistence, never()).loadByCode(anyString());
+        }
+
+        @Test
+        void testInactiveProject_throwsException() {
+            // given
+            when(projectPersistence.getCatalogVersion()).thenReturn(1L);
+            when(projectPersistence.findAll()).thenReturn(List.of(createProject("OLD", false)));
+
+            // when / then
+            ValidationException exception = assertThrows(ValidationException.class,
+                    () -> unitUnderTest.validateProjectCode("OLD"));
+            assertTrue(exception.getMessage().contains("inactive"));
+        }
+
+        @Test
+        void testUnknownProject_checksPersistenceAndThrowsException() {
+            // given
+            when(projectPersistence.getCatalogVersion()).thenReturn(1L);
+            when(projectPersistence.findAll()).thenReturn(List.of());
+            when(projectPersistence.loadByCode("UNKNOWN")).thenThrow(new ObjectNotFoundException("Project not found: UNKNOWN"));
+
+            // when / then
+            ValidationException exception = assertThrows(ValidationException.class,
+                    () -> unitUnderTest.validateProjectCode("UNKNOWN"));
+            assertTrue(exception.getMessage().contains("not found"));
+        }
+    }
+
+    // Helper methods
+
+    private void setCheckInterval(long checkIntervalMs) {
+        ReflectionTestUtils.setField(unitUnderTest, "catalogCheckIntervalMs", checkIntervalMs);
+    }
+
+    private Project createProject(String code, boolean active) {
+        Project project = new Project();
+        project.setCode(code);
+        project.setName("Project " + code);
+        project.setActive(active);
+        project.setVersion(0L);
+        return project;
+    }
+}
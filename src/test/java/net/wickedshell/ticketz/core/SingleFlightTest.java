@@ -0,0 +1,131 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.port.driven.persistence.exception.ObjectNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, List<String>> unitUnderTest = new SingleFlight<>(ArrayList::new);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testLoad_concurrentSameKey_loadedOnceAndCopiedPerCaller() throws Exception {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<List<String>>> reads = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            reads.add(executor.submit(() -> unitUnderTest.load("TICKETZ-1", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return List.of("loaded");
+            })));
+        }
+        awaitInFlight(1);
+        Thread.sleep(50);
+        release.countDown();
+
+        // then
+        List<List<String>> values = new ArrayList<>();
+        for (Future<List<String>> read : reads) {
+            values.add(read.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        values.forEach(value -> assertEquals(List.of("loaded"), value));
+        assertNotSame(values.get(0), values.get(1));
+        assertEquals(0, unitUnderTest.inFlight());
+    }
+
+    @Test
+    void testLoad_otherKey_loadedSeparately() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        unitUnderTest.load("TICKETZ-1", () -> List.of(String.valueOf(loads.incrementAndGet())));
+        List<String> value = unitUnderTest.load("TICKETZ-2", () -> List.of(String.valueOf(loads.incrementAndGet())));
+
+        // then
+        assertEquals(List.of("2"), value);
+    }
+
+    @Test
+    void testLoad_loadFails_waitingCallersFailToo() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<List<String>> loading = executor.submit(() -> unitUnderTest.load("TICKETZ-1", () -> {
+            await(release);
+            throw new ObjectNotFoundException("Ticket not found");
+        }));
+        awaitInFlight(1);
+
+        // when
+        Future<List<String>> waiting = executor.submit(() -> unitUnderTest.load("TICKETZ-1", List::of));
+        Thread.sleep(50);
+        release.countDown();
+
+        // then
+        ExecutionException loadingFailure = assertThrows(ExecutionException.class, () -> loading.get(5, TimeUnit.SECONDS));
+        ExecutionException waitingFailure = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ObjectNotFoundException.class, loadingFailure.getCause());
+        assertInstanceOf(ObjectNotFoundException.class, waitingFailure.getCause());
+        assertEquals(0, unitUnderTest.inFlight());
+    }
+
+    @Test
+    void testLoad_afterInvalidate_doesNotJoinEarlierLoad() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<List<String>> before = executor.submit(() -> unitUnderTest.load("TICKETZ-1", () -> {
+            await(release);
+            return List.of("before");
+        }));
+        awaitInFlight(1);
+
+        // when
+        unitUnderTest.invalidate();
+        List<String> after = unitUnderTest.load("TICKETZ-1", () -> List.of("after"));
+        release.countDown();
+
+        // then
+        assertEquals(List.of("after"), after);
+        assertEquals(List.of("before"), before.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitInFlight(int flights) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (unitUnderTest.inFlight() < flights && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(flights, unitUnderTest.inFlight());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package net.wickedshell.ticketz.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketVersion;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testGet_sameVersion_hit() {
+        // given
+        TicketCache unitUnderTest = new TicketCache(10_000, meterRegistry);
+        Ticket ticket = createTicket("TICKETZ-1", 0);
+        unitUnderTest.put(ticket);
+
+        // when
+        Ticket cachedTicket = unitUnderTest.get(TicketVersion.of(ticket));
+
+        // then
+        assertSame(ticket, cachedTicket);
+        assertEquals(1.0, unitUnderTest.hitRatio());
+    }
+
+    @Test
+    void testGet_otherVersion_miss() {
+        // given
+        TicketCache unitUnderTest = new TicketCache(10_000, meterRegistry);
+        unitUnderTest.put(createTicket("TICKETZ-1", 0));
+
+        // when
+        Ticket cachedTicket = unitUnderTest.get(TicketVersion.of(createTicket("TICKETZ-1", 1)));
+
+        // then
+        assertNull(cachedTicket);
+        assertEquals(0.0, unitUnderTest.hitRatio());
+    }
+
+    @Test
+    void testPut_overMaxBytes_leastRecentlyUsedDropped() {
+        // given
+        Ticket first = createTicket("TICKETZ-1", 0);
+        Ticket second = createTicket("TICKETZ-2", 0);
+        Ticket third = createTicket("TICKETZ-3", 0);
+        TicketCache unitUnderTest = new TicketCache(2 * TicketCache.estimateBytes(first), meterRegistry);
+        unitUnderTest.put(first);
+        unitUnderTest.put(second);
+        unitUnderTest.get(TicketVersion.of(first));
+
+        // when
+        unitUnderTest.put(third);
+
+        // then
+        assertEquals(2, unitUnderTest.size());
+        assertNotNull(unitUnderTest.get(TicketVersion.of(first)));
+        assertNull(unitUnderTest.get(TicketVersion.of(second)));
+        assertNotNull(unitUnderTest.get(TicketVersion.of(third)));
+        assertEquals(2 * TicketCache.estimateBytes(first), unitUnderTest.bytes());
+    }
+
+    @Test
+    void testEvict_bytesReleased() {
+        // given
+        TicketCache unitUnderTest = new TicketCache(10_000, meterRegistry);
+        Ticket ticket = createTicket("TICKETZ-1", 0);
+        unitUnderTest.put(ticket);
+
+        // when
+        unitUnderTest.evict("TICKETZ-1");
+
+        // then
+        assertNull(unitUnderTest.get(TicketVersion.of(ticket)));
+        assertEquals(0, unitUnderTest.bytes());
+        assertEquals(0.0, meterRegistry.get("ticketz.ticket.cache.size").gauge().value());
+    }
+
+    private static Ticket createTicket(String ticketNumber, long version) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber(ticketNumber);
+        ticket.setTitle("Test Ticket");
+        ticket.setDescription("Test description");
+        ticket.setVersion(version);
+        return ticket;
+    }
+}
@@ -0,0 +1,90 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.exception.ValidationException;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketQueryParserTest {
+
+    private static final Supplier<String> CURRENT_USER = () -> "me@us.er";
+
+    @ParameterizedTest(name = "{0}")
+    @CsvFileSource(resources = "/ticket_query_corpus.csv", delimiter = '|', quoteCharacter = '\'', numLinesToSkip = 1)
+    void testParse_corpus(String query, TicketState state, String project, String author, String editor,
+                          LocalDateTime createdFrom, LocalDateTime createdTo,
+                          LocalDateTime updatedFrom, LocalDateTime updatedTo, String freeText) {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setSearchText(query);
+
+        // when
+        TicketSearch parsed = TicketQueryParser.parse(search, CURRENT_USER);
+
+        // then
+        assertEquals(state, parsed.getState());
+        assertEquals(project, parsed.getProjectCode());
+        assertEquals(author, parsed.getAuthorEmail());
+        assertEquals(editor, parsed.getEditorEmail());
+        assertEquals(createdFrom, parsed.getCreatedFrom());
+        assertEquals(createdTo, parsed.getCreatedTo());
+        assertEquals(updatedFrom, parsed.getUpdatedFrom());
+        assertEquals(updatedTo, parsed.getUpdatedTo());
+        assertEquals(freeText, parsed.getSearchText());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"state:DONE", "state>CREATED", "updated>yesterday", "project>WEB"})
+    void testParse_invalidTerm_throwsValidationException(String query) {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setSearchText(query);
+
+        // when / then
+        assertThrows(ValidationException.class, () -> TicketQueryParser.parse(search, CURRENT_USER));
+    }
+
+    @Test
+    void testParse_explicitFiltersTakePrecedence() {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setSearchText("state:CREATED project:WEB");
+        search.setState(TicketState.CLOSED);
+        search.setArchived(true);
+        search.setPage(2);
+        search.setSize(20);
+
+        // when
+        TicketSearch parsed = TicketQueryParser.parse(search, CURRENT_USER);
+
+        // then
+        assertEquals(TicketState.CLOSED, parsed.getState());
+        assertEquals("WEB", parsed.getProjectCode());
+        assertNull(parsed.getSearchText());
+        assertTrue(parsed.isArchived());
+        assertEquals(2, parsed.getPage());
+        assertEquals(20, parsed.getSize());
+    }
+
+    @Test
+    void testParse_currentUserOnlyResolvedForMe() {
+        // given
+        TicketSearch search = new TicketSearch();
+        search.setSearchText("editor:other@us.er crash");
+
+        // when
+        TicketSearch parsed = TicketQueryParser.parse(search, () -> fail("current user must not be resolved"));
+
+        // then
+        assertEquals("other@us.er", parsed.getEditorEmail());
+        assertEquals("crash", parsed.getSearchText());
+    }
+}
@@ -0,0 +1,127 @@
+package net.wickedshell.ticketz.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketSearchCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong changeSequence = new AtomicLong(1);
+    private final AtomicLong projectCatalogVersion = new AtomicLong(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testLoad_noChange_hit() {
+        // given
+        TicketSearchCache unitUnderTest = new TicketSearchCache(10, 100_000, this::stamp, meterRegistry);
+        unitUnderTest.load(search("login"), this::loadTickets);
+
+        // when
+        List<Ticket> tickets = unitUnderTest.load(search("login"), this::loadTickets);
+
+        // then
+        assertEquals(1, tickets.size());
+        assertEquals(1, loads.get());
+        assertEquals(0.5, unitUnderTest.hitRatio());
+    }
+
+    @Test
+    void testLoad_changeSequenceMoved_loadedAgain() {
+        // given
+        TicketSearchCache unitUnderTest = new TicketSearchCache(10, 100_000, this::stamp, meterRegistry);
+        unitUnderTest.load(search("login"), this::loadTickets);
+        changeSequence.incrementAndGet();
+
+        // when
+        unitUnderTest.load(search("login"), this::loadTickets);
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoad_projectCatalogVersionMoved_loadedAgain() {
+        // given
+        TicketSearchCache unitUnderTest = new TicketSearchCache(10, 100_000, this::stamp, meterRegistry);
+        unitUnderTest.load(search("login"), this::loadTickets);
+        projectCatalogVersion.incrementAndGet();
+
+        // when
+        unitUnderTest.load(search("login"), this::loadTickets);
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoad_invalidatedWhileLoading_notStored() {
+        // given
+        TicketSearchCache unitUnderTest = new TicketSearchCache(10, 100_000, this::stamp, meterRegistry);
+
+        // when
+        unitUnderTest.load(search("login"), () -> {
+            unitUnderTest.invalidate();
+            return loadTickets();
+        });
+
+        // then
+        assertEquals(0, unitUnderTest.size());
+        assertEquals(0, unitUnderTest.bytes());
+    }
+
+    @Test
+    void testLoad_overMaxEntries_leastRecentlyUsedDropped() {
+        // given
+        TicketSearchCache unitUnderTest = new TicketSearchCache(2, 100_000, this::stamp, meterRegistry);
+        unitUnderTest.load(search("first"), this::loadTickets);
+        unitUnderTest.load(search("second"), this::loadTickets);
+        unitUnderTest.load(search("first"), this::loadTickets);
+
+        // when
+        unitUnderTest.load(search("third"), this::loadTickets);
+        unitUnderTest.load(search("first"), this::loadTickets);
+        unitUnderTest.load(search("second"), this::loadTickets);
+
+        // then
+        assertEquals(4, loads.get());
+        assertEquals(2, unitUnderTest.size());
+    }
+
+    @Test
+    void testLoad_overMaxBytes_notStored() {
+        // given
+        TicketSearchCache unitUnderTest = new TicketSearchCache(10, 100, this::stamp, meterRegistry);
+
+        // when
+        unitUnderTest.load(search("login"), this::loadTickets);
+
+        // then
+        assertEquals(0, unitUnderTest.size());
+    }
+
+    private TicketSearchCache.Stamp stamp() {
+        return new TicketSearchCache.Stamp(changeSequence.get(), projectCatalogVersion.get(), 1);
+    }
+
+    private List<Ticket> loadTickets() {
+        loads.incrementAndGet();
+        Ticket ticket = new Ticket();
+        ticket.setTicketNumber("TICKETZ-" + loads.get());
+        ticket.setTitle("Login fails");
+        return List.of(ticket);
+    }
+
+    private static TicketSearch search(String searchText) {
+        TicketSearch search = new TicketSearch();
+        search.setSearchText(searchText);
+        return search;
+    }
+}
@@ -1,20 +1,39 @@
 package net.wickedshell.ticketz.core;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.wickedshell.ticketz.core.exception.UpdateConflictException;
 import net.wickedshell.ticketz.core.exception.ValidationException;
+import net.wickedshell.ticketz.core.model.Comment;
 import net.wickedshell.ticketz.core.model.Project;
 import net.wickedshell.ticketz.core.model.Ticket;
+import net.wickedshell.ticketz.core.model.TicketChanges;
+import net.wickedshell.ticketz.core.model.TicketCount;
+import net.wickedshell.ticketz.core.model.TicketDetails;
+import net.wickedshell.ticketz.core.model.TicketField;
+import net.wickedshell.ticketz.core.model.TicketSearch;
+import net.wickedshell.ticketz.core.model.TicketSearchResult;
 import net.wickedshell.ticketz.core.model.TicketState;
+import net.wickedshell.ticketz.core.model.TicketVersion;
 import net.wickedshell.ticketz.core.model.User;
 import net.wickedshell.ticketz.core.port.access.CommentService;
 import net.wickedshell.ticketz.core.port.access.ProjectService;
 import net.wickedshell.ticketz.core.port.access.UserService;
+import net.wickedshell.ticketz.core.port.driven.persistence.ProjectPersistence;
 import net.wickedshell.ticketz.core.port.driven.persistence.TicketPersistence;
+import net.wickedshell.ticketz.core.port.driven.persistence.UserPersistence;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static net.wickedshell.ticketz.core.model.TicketState.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,12 +45,18 @@ class TicketServiceImplTest {
     @Mock
     private TicketPersistence ticketPersistence;
     @Mock
+    private ProjectPersistence projectPersistence;
+    @Mock
+    private UserPersistence userPersistence;
+    @Mock
     private UserService userService;
     @Mock
     private CommentService commentService;
     @Mock
     private ProjectService projectService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private TicketServiceImpl unitUnderTest;
 
     private User author;
@@ -40,7 +65,12 @@ class TicketServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        unitUnderTest = new TicketServiceImpl(ticketPersistence, userService, commentService, projectService);
+        meterRegistry = new SimpleMeterRegistry();
+        unitUnderTest = new TicketServiceImpl(ticketPersistence, projectPersistence, userPersistence, userService, commentService, projectService, meterRegistry);
+        ReflectionTestUtils.setField(unitUnderTest, "ticketCacheMaxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(unitUnderTest, "searchCacheMaxEntries", 100);
+        ReflectionTestUtils.setField(unitUnderTest, "searchCacheMaxBytes", 1_000_000L);
+        unitUnderTest.createTicketCache();
 
         author = createUser("author@test.com", "Author", "User");
         editor = createUser("editor@test.com", "Editor", "User");
@@ -192,7 +222,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(CREATED, author, null);
             Ticket updatedTicket = createTicket(IN_PROGRESS, author, null);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             when(ticketPersistence.update(any(Ticket.class))).thenReturn(updatedTicket);
 
             // when / then - no exception
@@ -205,7 +235,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(CREATED, author, null);
             Ticket updatedTicket = createTicket(FIXED, author, null);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             // Note: getCurrentUser() not called - evaluateCanBeEdited returns true for CREATED,
             // then validateStateChange throws before checking author
 
@@ -221,7 +251,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(CREATED, author, null);
             Ticket updatedTicket = createTicket(CLOSED, author, null);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             // Note: getCurrentUser() not called - evaluateCanBeEdited returns true for CREATED,
             // then validateStateChange throws before checking author
 
@@ -239,7 +269,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(IN_PROGRESS, author, author);
             Ticket updatedTicket = createTicket(FIXED, author, author);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             when(ticketPersistence.update(any(Ticket.class))).thenReturn(updatedTicket);
 
             // when / then - no exception
@@ -254,7 +284,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(IN_PROGRESS, author, author);
             Ticket updatedTicket = createTicket(REJECTED, author, author);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             when(ticketPersistence.update(any(Ticket.class))).thenReturn(updatedTicket);
 
             // when / then - no exception
@@ -273,7 +303,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(FIXED, author, editor);
             Ticket updatedTicket = createTicket(CLOSED, author, editor);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             when(ticketPersistence.update(any(Ticket.class))).thenReturn(updatedTicket);
 
             // when / then - no exception
@@ -288,7 +318,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(FIXED, author, editor);
             Ticket updatedTicket = createTicket(CLOSED, author, editor);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
 
             // when / then
             // Note: For FIXED tickets, only author can edit - so non-author is blocked by evaluateCanBeEdited
@@ -305,7 +335,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(REJECTED, author, editor);
             Ticket updatedTicket = createTicket(REOPENED, author, null);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             when(ticketPersistence.update(any(Ticket.class))).thenReturn(updatedTicket);
 
             // when / then - no exception
@@ -320,7 +350,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(REJECTED, author, editor);
             Ticket updatedTicket = createTicket(REOPENED, author, null);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
 
             // when / then
             // Note: For REJECTED tickets, only author can edit - so non-author is blocked by evaluateCanBeEdited
@@ -341,7 +371,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(CREATED, author, null);
             Ticket updatedTicket = createTicket(IN_PROGRESS, author, null);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             when(ticketPersistence.update(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // when
@@ -359,7 +389,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(FIXED, author, editor);
             Ticket updatedTicket = createTicket(CLOSED, author, editor);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             when(ticketPersistence.update(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // when
@@ -377,7 +407,7 @@ class TicketServiceImplTest {
             Ticket existingTicket = createTicket(FIXED, author, editor);
             Ticket updatedTicket = createTicket(REOPENED, author, editor);
 
-            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
             when(ticketPersistence.update(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // when
@@ -388,6 +418,118 @@ class TicketServiceImplTest {
         }
     }
 
+    @Nested
+    class Update_ConcurrentChanges {
+
+        @Test
+        void testTitleEditAndStateChange_bothApplied() {
+            // given - the ticket was taken into progress while its title was edited
+            when(userService.getCurrentUser()).thenReturn(editor);
+            Ticket readTicket = createTicket(CREATED, author, null);
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(readTicket);
+            unitUnderTest.loadByTicketNumber("TICKETZ-1");
+
+            Ticket currentTicket = createTicket(IN_PROGRESS, author, editor);
+            currentTicket.setVersion(1L);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(currentTicket);
+            when(ticketPersistence.update(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            Ticket updatedTicket = createTicket(CREATED, author, null);
+            updatedTicket.setTitle("Changed title");
+
+            // when
+            unitUnderTest.update(updatedTicket);
+
+            // then
+            ArgumentCaptor<Ticket> captor = ArgumentCaptor.forClass(Ticket.class);
+            verify(ticketPersistence).update(captor.capture());
+            Ticket mergedTicket = captor.getValue();
+            assertEquals("Changed title", mergedTicket.getTitle());
+            assertEquals(IN_PROGRESS, mergedTicket.getState());
+            assertEquals(editor, mergedTicket.getEditor());
+            assertEquals(1L, mergedTicket.getVersion());
+            assertEquals(1.0, conflicts("merged"));
+        }
+
+        @Test
+        void testSameFieldChangedByBoth_throwsUpdateConflictException() {
+            // given
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(createTicket(CREATED, author, null));
+            unitUnderTest.loadByTicketNumber("TICKETZ-1");
+
+            Ticket currentTicket = createTicket(CREATED, author, null);
+            currentTicket.setTitle("Their title");
+            currentTicket.setVersion(1L);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(currentTicket);
+            Ticket updatedTicket = createTicket(CREATED, author, null);
+            updatedTicket.setTitle("Our title");
+
+            // when / then
+            UpdateConflictException exception = assertThrows(UpdateConflictException.class,
+                    () -> unitUnderTest.update(updatedTicket));
+            assertTrue(exception.getMessage().contains("title"));
+            verify(ticketPersistence, never()).update(any(Ticket.class));
+            assertEquals(1.0, conflicts("rejected"));
+        }
+
+        @Test
+        void testSameValueByBoth_merged() {
+            // given
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(createTicket(CREATED, author, null));
+            unitUnderTest.loadByTicketNumber("TICKETZ-1");
+
+            Ticket currentTicket = createTicket(CREATED, author, null);
+            currentTicket.setTitle("Same title");
+            currentTicket.setVersion(1L);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(currentTicket);
+            when(ticketPersistence.update(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            Ticket updatedTicket = createTicket(CREATED, author, null);
+            updatedTicket.setTitle("Same title");
+
+            // when
+            Ticket result = unitUnderTest.update(updatedTicket);
+
+            // then
+            assertEquals("Same title", result.getTitle());
+            assertEquals(1L, result.getVersion());
+        }
+
+        @Test
+        void testUnknownReadVersion_throwsUpdateConflictException() {
+            // given
+            Ticket currentTicket = createTicket(CREATED, author, null);
+            currentTicket.setVersion(3L);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(currentTicket);
+            Ticket updatedTicket = createTicket(CREATED, author, null);
+            updatedTicket.setTitle("Changed title");
+
+            // when / then
+            assertThrows(UpdateConflictException.class, () -> unitUnderTest.update(updatedTicket));
+            verify(ticketPersistence, never()).update(any(Ticket.class));
+            assertEquals(1.0, conflicts("unknown_base"));
+        }
+
+        @Test
+        void testMergedStateChange_stillValidatedAgainstCurrentState() {
+            // given
+            when(userService.getCurrentUser()).thenReturn(author);
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(createTicket(IN_PROGRESS, author, author));
+            unitUnderTest.loadByTicketNumber("TICKETZ-1");
+
+            Ticket currentTicket = createTicket(REJECTED, author, author);
+            currentTicket.setTitle("Their title");
+            currentTicket.setVersion(1L);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(currentTicket);
+            Ticket updatedTicket = createTicket(FIXED, author, author);
+
+            // when / then - both changed the state, the second one loses
+            assertThrows(UpdateConflictException.class, () -> unitUnderTest.update(updatedTicket));
+        }
+
+        private double conflicts(String outcome) {
+            return meterRegistry.counter("ticketz.ticket.update.conflicts", "outcome", outcome).count();
+        }
+    }
+
     @Nested
     class Create_TicketNumberGeneration {
 
@@ -481,6 +623,385 @@ class TicketServiceImplTest {
         }
     }
 
+    @Nested
+    class LoadDetailsByTicketNumber {
+
+        @Test
+        void testInProgress_editorGetsTransitionsAndCanEdit_currentUserResolvedOnce() {
+            // given
+            Ticket ticket = createTicket(IN_PROGRESS, author, editor);
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+            when(userService.getCurrentUser()).thenReturn(editor);
+            when(commentService.findByTicketNumber("TICKETZ-1", 0, 3)).thenReturn(List.of(new Comment(), new Comment()));
+
+            // when
+            TicketDetails ticketDetails = unitUnderTest.loadDetailsByTicketNumber("TICKETZ-1", 2);
+
+            // then
+            assertTrue(ticketDetails.isCanEdit());
+            assertEquals(IN_PROGRESS.getPermittedSuccessors(), ticketDetails.getTicket().getPossibleNextStates());
+            assertEquals(2, ticketDetails.getComments().size());
+            assertFalse(ticketDetails.isMoreComments());
+            verify(userService, times(1)).getCurrentUser();
+        }
+
+        @Test
+        void testMoreCommentsThanLimit_truncatesAndFlagsMore() {
+            // given
+            Ticket ticket = createTicket(CREATED, author, null);
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+            when(userService.getCurrentUser()).thenReturn(otherUser);
+            when(commentService.findByTicketNumber("TICKETZ-1", 0, 3))
+                    .thenReturn(List.of(new Comment(), new Comment(), new Comment()));
+
+            // when
+            TicketDetails ticketDetails = unitUnderTest.loadDetailsByTicketNumber("TICKETZ-1", 2);
+
+            // then
+            assertEquals(2, ticketDetails.getComments().size());
+            assertTrue(ticketDetails.isMoreComments());
+        }
+    }
+
+    @Nested
+    class Cache {
+
+        @Test
+        void testLoad_versionUnchanged_servedFromCacheAsCopy() {
+            // given
+            Ticket ticket = createTicket(CREATED, author, null);
+            when(ticketPersistence.findVersionByTicketNumber("TICKETZ-1")).thenReturn(Optional.of(TicketVersion.of(ticket)));
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+
+            // when
+            Ticket first = unitUnderTest.loadByTicketNumber("TICKETZ-1");
+            Ticket second = unitUnderTest.loadByTicketNumber("TICKETZ-1");
+
+            // then
+            verify(ticketPersistence, times(1)).loadByTicketNumber("TICKETZ-1");
+            assertEquals(first, second);
+            assertNotSame(first, second);
+            assertEquals(1.0, meterRegistry.get("ticketz.ticket.cache.gets").tag("result", "hit").counter().count());
+        }
+
+        @Test
+        void testLoad_authorChanged_loadedAgain() {
+            // given
+            Ticket ticket = createTicket(CREATED, author, null);
+            author.setVersion(1L);
+            TicketVersion cachedVersion = TicketVersion.of(ticket);
+            Ticket renamedAuthorTicket = createTicket(CREATED, createUser("author@test.com", "Renamed", "Author"), null);
+            renamedAuthorTicket.getAuthor().setVersion(2L);
+            when(ticketPersistence.findVersionByTicketNumber("TICKETZ-1"))
+                    .thenReturn(Optional.of(cachedVersion), Optional.of(TicketVersion.of(renamedAuthorTicket)));
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket, renamedAuthorTicket);
+
+            // when
+            unitUnderTest.loadByTicketNumber("TICKETZ-1");
+            Ticket reloaded = unitUnderTest.loadByTicketNumber("TICKETZ-1");
+
+            // then
+            verify(ticketPersistence, times(2)).loadByTicketNumber("TICKETZ-1");
+            assertEquals("Renamed", reloaded.getAuthor().getFirstname());
+        }
+
+        @Test
+        void testDelete_evictsCachedTicket() {
+            // given
+            Ticket ticket = createTicket(CREATED, author, null);
+            when(ticketPersistence.findVersionByTicketNumber("TICKETZ-1")).thenReturn(Optional.of(TicketVersion.of(ticket)));
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+            unitUnderTest.loadByTicketNumber("TICKETZ-1");
+
+            // when
+            unitUnderTest.deleteByTicketNumber("TICKETZ-1");
+
+            // then
+            assertEquals(0.0, meterRegistry.get("ticketz.ticket.cache.entries").gauge().value());
+        }
+
+        @Test
+        void testLoad_archivedTicket_notCached() {
+            // given
+            Ticket ticket = createTicket(CLOSED, author, null);
+            ticket.setArchived(true);
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+
+            // when
+            unitUnderTest.loadByTicketNumber("TICKETZ-1");
+            unitUnderTest.loadByTicketNumber("TICKETZ-1");
+
+            // then
+            verify(ticketPersistence, times(2)).loadByTicketNumber("TICKETZ-1");
+            assertEquals(0.0, meterRegistry.get("ticketz.ticket.cache.entries").gauge().value());
+        }
+    }
+
+    @Nested
+    class FindByTicketNumbers {
+
+        @Test
+        void testFindByTicketNumbers_inRequestedOrder_withPossibleNextStates() {
+            // given
+            Ticket first = createTicket(CREATED, author, null);
+            first.setTicketNumber("TICKETZ-1");
+            Ticket second = createTicket(CLOSED, author, editor);
+            second.setTicketNumber("TICKETZ-2");
+            when(ticketPersistence.findByTicketNumbers(List.of("TICKETZ-2", "TICKETZ-3", "TICKETZ-1"), Set.of()))
+                    .thenReturn(List.of(first, second));
+
+            // when
+            List<Ticket> tickets = unitUnderTest.findByTicketNumbers(List.of("TICKETZ-2", "TICKETZ-3", "TICKETZ-1"), Set.of());
+
+            // then
+            assertEquals(List.of(second, first), tickets);
+            assertEquals(CLOSED.getPermittedSuccessors(), tickets.get(0).getPossibleNextStates());
+        }
+
+        @Test
+        void testFindByTicketNumbers_withFields_withoutPossibleNextStates() {
+            // given
+            Ticket ticket = new Ticket();
+            ticket.setTicketNumber("TICKETZ-1");
+            ticket.setState(IN_PROGRESS);
+            when(ticketPersistence.findByTicketNumbers(List.of("TICKETZ-1"), Set.of(TicketField.STATE))).thenReturn(List.of(ticket));
+
+            // when
+            List<Ticket> tickets = unitUnderTest.findByTicketNumbers(List.of("TICKETZ-1"), Set.of(TicketField.STATE));
+
+            // then
+            assertEquals(List.of(ticket), tickets);
+            assertTrue(tickets.get(0).getPossibleNextStates().isEmpty());
+            verifyNoInteractions(userService);
+        }
+    }
+
+    @Nested
+    class FindChangedSince {
+
+        @Test
+        void testFindChangedSince_populatesPossibleNextStates() {
+            // given
+            TicketChanges ticketChanges = new TicketChanges();
+            ticketChanges.getTickets().add(createTicket(CREATED, author, null));
+            ticketChanges.setWatermark(42);
+            when(ticketPersistence.findChangedSince(7, 100)).thenReturn(ticketChanges);
+
+            // when
+            TicketChanges result = unitUnderTest.findChangedSince(7, 100);
+
+            // then
+            assertEquals(42, result.getWatermark());
+            assertEquals(CREATED.getPermittedSuccessors(), result.getTickets().get(0).getPossibleNextStates());
+            verifyNoInteractions(userService);
+        }
+    }
+
+    @Nested
+    class Search {
+
+        @Test
+        void testSearch_sameTextOtherCase_servedFromCache() {
+            // given
+            when(ticketPersistence.getChangeSequence()).thenReturn(7L);
+            when(ticketPersistence.findMatching(any(TicketSearch.class))).thenReturn(List.of(createTicket(CREATED, author, null)));
+
+            // when
+            unitUnderTest.search("Login");
+            List<Ticket> tickets = unitUnderTest.search("LOGIN");
+
+            // then
+            assertEquals(1, tickets.size());
+            ArgumentCaptor<TicketSearch> search = ArgumentCaptor.forClass(TicketSearch.class);
+            verify(ticketPersistence, times(1)).findMatching(search.capture());
+            assertEquals("login", search.getValue().getSearchText());
+        }
+
+        @Test
+        void testSearch_ticketChanged_searchedAgain() {
+            // given
+            when(ticketPersistence.getChangeSequence()).thenReturn(7L, 8L);
+            when(ticketPersistence.findMatching(any(TicketSearch.class))).thenReturn(List.of(createTicket(CREATED, author, null)));
+
+            // when
+            unitUnderTest.search("login");
+            unitUnderTest.search("login");
+
+            // then
+            verify(ticketPersistence, times(2)).findMatching(any(TicketSearch.class));
+        }
+
+        @Test
+        void testSearch_projectDeactivated_searchedAgain() {
+            // given
+            Ticket deactivatedTicket = createTicket(CREATED, author, null);
+            deactivatedTicket.getProject().setActive(false);
+            when(ticketPersistence.getChangeSequence()).thenReturn(7L);
+            when(projectPersistence.getCatalogVersion()).thenReturn(3L, 4L);
+            when(ticketPersistence.findMatching(any(TicketSearch.class)))
+                    .thenReturn(List.of(createTicket(CREATED, author, null)), List.of(deactivatedTicket));
+            assertFalse(unitUnderTest.search("login").get(0).getPossibleNextStates().isEmpty());
+
+            // when
+            List<Ticket> tickets = unitUnderTest.search("login");
+
+            // then
+            verify(ticketPersistence, times(2)).findMatching(any(TicketSearch.class));
+            assertFalse(tickets.get(0).getProject().isActive());
+            assertTrue(tickets.get(0).getPossibleNextStates().isEmpty());
+        }
+
+        @Test
+        void testSearch_create_invalidatesCache() {
+            // given
+            when(ticketPersistence.getChangeSequence()).thenReturn(7L);
+            when(ticketPersistence.findMatching(any(TicketSearch.class))).thenReturn(List.of(createTicket(CREATED, author, null)));
+            unitUnderTest.search("login");
+            Ticket newTicket = createTicket(CREATED, author, null);
+            when(userService.getCurrentUser()).thenReturn(author);
+            when(ticketPersistence.getTicketCount()).thenReturn(1L);
+            when(ticketPersistence.create(any(Ticket.class))).thenReturn(newTicket);
+            unitUnderTest.create(newTicket);
+
+            // when
+            unitUnderTest.search("login");
+
+            // then
+            verify(ticketPersistence, times(2)).findMatching(any(TicketSearch.class));
+        }
+
+        @Test
+        void testSearch_userDependentStates_currentUserResolvedOnce() {
+            // given
+            when(ticketPersistence.getChangeSequence()).thenReturn(7L);
+            when(ticketPersistence.findAll()).thenReturn(List.of(createTicket(IN_PROGRESS, author, editor),
+                    createTicket(FIXED, author, editor), createTicket(IN_PROGRESS, author, author)));
+            when(userService.getCurrentUser()).thenReturn(editor);
+
+            // when
+            List<Ticket> tickets = unitUnderTest.search(null);
+
+            // then
+            assertEquals(IN_PROGRESS.getPermittedSuccessors(), tickets.get(0).getPossibleNextStates());
+            assertTrue(tickets.get(1).getPossibleNextStates().isEmpty());
+            assertTrue(tickets.get(2).getPossibleNextStates().isEmpty());
+            verify(userService, times(1)).getCurrentUser();
+        }
+    }
+
+    @Nested
+    class SearchFaceted {
+
+        @Test
+        void testSearchFaceted_populatesPossibleNextStates() {
+            // given
+            TicketSearch search = new TicketSearch();
+            TicketSearchResult searchResult = new TicketSearchResult();
+            searchResult.setTickets(List.of(createTicket(CREATED, author, null)));
+            when(ticketPersistence.searchFaceted(search)).thenReturn(searchResult);
+
+            // when
+            TicketSearchResult result = unitUnderTest.searchFaceted(search);
+
+            // then
+            assertEquals(CREATED.getPermittedSuccessors(), result.getTickets().get(0).getPossibleNextStates());
+            verifyNoInteractions(userService);
+        }
+    }
+
+    @Nested
+    class TicketCounts {
+
+        @Test
+        void testFirstRead_reconcilesWithPersistence() {
+            // given
+            when(ticketPersistence.countByProjectAndState()).thenReturn(List.of(
+                    new TicketCount("TEST", CREATED, 3), new TicketCount("ALPHA", CLOSED, 2)));
+
+            // when
+            List<TicketCount> ticketCounts = unitUnderTest.getTicketCounts();
+
+            // then
+            assertEquals(List.of(new TicketCount("ALPHA", CLOSED, 2), new TicketCount("TEST", CREATED, 3)), ticketCounts);
+            unitUnderTest.getTicketCounts();
+            verify(ticketPersistence, times(1)).countByProjectAndState();
+        }
+
+        @Test
+        void testCreateUpdateDelete_adjustCounts() {
+            // given
+            when(ticketPersistence.countByProjectAndState()).thenReturn(List.of(new TicketCount("TEST", CREATED, 1)));
+            unitUnderTest.getTicketCounts();
+            when(userService.getCurrentUser()).thenReturn(author);
+            when(ticketPersistence.create(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            Ticket newTicket = new Ticket();
+            newTicket.setProject(createProject());
+            unitUnderTest.create(newTicket);
+
+            Ticket existingTicket = createTicket(CREATED, author, null);
+            Ticket changedTicket = createTicket(IN_PROGRESS, author, null);
+            when(ticketPersistence.loadByTicketNumberForUpdate("TICKETZ-1")).thenReturn(existingTicket);
+            when(ticketPersistence.update(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            unitUnderTest.update(changedTicket);
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(changedTicket);
+
+            // when
+            unitUnderTest.deleteByTicketNumber("TICKETZ-1");
+
+            // then
+            assertEquals(List.of(new TicketCount("TEST", CREATED, 1)), unitUnderTest.getTicketCounts());
+        }
+
+        @Test
+        void testReconcile_replacesDriftedCounts() {
+            // given
+            when(ticketPersistence.countByProjectAndState())
+                    .thenReturn(List.of(new TicketCount("TEST", CREATED, 1), new TicketCount("TEST", FIXED, 4)))
+                    .thenReturn(List.of(new TicketCount("TEST", CREATED, 2)));
+            unitUnderTest.getTicketCounts();
+
+            // when
+            unitUnderTest.reconcileTicketCounts();
+
+            // then
+            assertEquals(List.of(new TicketCount("TEST", CREATED, 2)), unitUnderTest.getTicketCounts());
+        }
+    }
+
+    @Nested
+    class Archive {
+
+        @Test
+        void testArchiveClosedTickets_closedBeforeConfiguredDays() {
+            // given
+            ReflectionTestUtils.setField(unitUnderTest, "archiveAfterDays", 30);
+            when(ticketPersistence.archiveClosedTickets(any(LocalDateTime.class), anyInt())).thenReturn(2);
+            LocalDateTime expectedCutoff = LocalDateTime.now().minusDays(30);
+
+            // when
+            int archived = unitUnderTest.archiveClosedTickets();
+
+            // then
+            assertEquals(2, archived);
+            ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(ticketPersistence).archiveClosedTickets(cutoff.capture(), eq(500));
+            assertFalse(cutoff.getValue().isBefore(expectedCutoff));
+            assertTrue(cutoff.getValue().isBefore(expectedCutoff.plusMinutes(1)));
+        }
+
+        @Test
+        void testDelete_archivedTicket_throwsValidationException() {
+            // given
+            Ticket ticket = createTicket(CLOSED, author, null);
+            ticket.setArchived(true);
+            when(ticketPersistence.loadByTicketNumber("TICKETZ-1")).thenReturn(ticket);
+
+            // when / then
+            assertThrows(ValidationException.class, () -> unitUnderTest.deleteByTicketNumber("TICKETZ-1"));
+            verify(ticketPersistence, never()).deleteByTicketNumber(anyString());
+        }
+    }
+
     // Helper methods
 
     private User createUser(String email, String firstname, String lastname) {
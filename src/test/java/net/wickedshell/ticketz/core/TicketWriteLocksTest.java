@@ -0,0 +1,111 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.exception.UpdateConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketWriteLocksTest {
+
+    private final TicketWriteLocks unitUnderTest = new TicketWriteLocks(16);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCallLocked_sameTicket_writersRunOneAfterTheOther() throws Exception {
+        // given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<Integer>> writes = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            int write = i;
+            writes.add(submitLocked("TICKETZ-1", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(10);
+                running.decrementAndGet();
+                return write;
+            }));
+        }
+
+        // then
+        for (int i = 0; i < writes.size(); i++) {
+            assertEquals(i, writes.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void testCallLocked_otherTicket_notBlocked() throws Throwable {
+        // given
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Boolean> blocking = submitLocked("TICKETZ-1", () -> {
+            locked.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+        String otherTicket = findTicketOnOtherStripe();
+
+        // when
+        String result = unitUnderTest.callLocked(otherTicket, 100, () -> "written");
+
+        // then
+        assertEquals("written", result);
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testCallLocked_timeout_throwsUpdateConflictException() throws Exception {
+        // given
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Boolean> blocking = submitLocked("TICKETZ-1", () -> {
+            locked.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        // when / then
+        assertThrows(UpdateConflictException.class, () -> unitUnderTest.callLocked("TICKETZ-1", 50, () -> "written"));
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+    }
+
+    private <T> Future<T> submitLocked(String ticketNumber, TicketWriteLocks.LockedWrite<T> write) {
+        return executor.submit(() -> {
+            try {
+                return unitUnderTest.callLocked(ticketNumber, 5_000, write);
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        });
+    }
+
+    private String findTicketOnOtherStripe() throws Throwable {
+        for (int i = 2; ; i++) {
+            String ticketNumber = "TICKETZ-" + i;
+            try {
+                return unitUnderTest.callLocked(ticketNumber, 0, () -> ticketNumber);
+            } catch (UpdateConflictException exception) {
+                // shares the stripe of the locked ticket
+            }
+        }
+    }
+}
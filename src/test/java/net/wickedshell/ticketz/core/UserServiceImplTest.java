@@ -0,0 +1,84 @@
+package net.wickedshell.ticketz.core;
+
+import net.wickedshell.ticketz.core.exception.AuthenticationException;
+import net.wickedshell.ticketz.core.model.User;
+import net.wickedshell.ticketz.core.port.driven.persistence.UserPersistence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    private static final String WEAK_HASH = "weak-hash";
+    private static final String STRONG_HASH = "strong-hash";
+
+    @Mock
+    private UserPersistence userPersistence;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private UserServiceImpl unitUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        unitUnderTest = new UserServiceImpl(userPersistence, passwordEncoder);
+    }
+
+    @Test
+    void testRehashPassword_weakHash_storesNewHash() {
+        // given
+        when(userPersistence.loadByEmail("test@us.er")).thenReturn(createUser(WEAK_HASH));
+        when(passwordEncoder.matches("secret123", WEAK_HASH)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(WEAK_HASH)).thenReturn(true);
+        when(passwordEncoder.encode("secret123")).thenReturn(STRONG_HASH);
+        when(userPersistence.update(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        User user = unitUnderTest.rehashPassword("test@us.er", "secret123");
+
+        // then
+        assertEquals(STRONG_HASH, user.getPasswordHash());
+        verify(userPersistence).update(argThat(updated -> STRONG_HASH.equals(updated.getPasswordHash())));
+    }
+
+    @Test
+    void testRehashPassword_rehashedMeanwhile_notStoredAgain() {
+        // given
+        when(userPersistence.loadByEmail("test@us.er")).thenReturn(createUser(STRONG_HASH));
+        when(passwordEncoder.matches("secret123", STRONG_HASH)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(STRONG_HASH)).thenReturn(false);
+
+        // when
+        User user = unitUnderTest.rehashPassword("test@us.er", "secret123");
+
+        // then
+        assertEquals(STRONG_HASH, user.getPasswordHash());
+        verify(userPersistence, never()).update(any());
+    }
+
+    @Test
+    void testRehashPassword_otherPassword_rejected() {
+        // given
+        when(userPersistence.loadByEmail("test@us.er")).thenReturn(createUser(WEAK_HASH));
+        when(passwordEncoder.matches("other123", WEAK_HASH)).thenReturn(false);
+
+        // when / then
+        assertThrows(AuthenticationException.class, () -> unitUnderTest.rehashPassword("test@us.er", "other123"));
+        verify(userPersistence, never()).update(any());
+    }
+
+    private static User createUser(String passwordHash) {
+        User user = new User();
+        user.setEmail("test@us.er");
+        user.setPasswordHash(passwordHash);
+        return user;
+    }
+}
@@ -1,5 +0,0 @@
-INSERT INTO USER_ENTITY (DATE_CREATED,DATE_UPDATED,EMAIL,FIRSTNAME,LASTNAME,PASSWORD_HASH,VERSION, ID, ROLES) values ('2024-01-12 00:00:00.000','2024-01-12 00:00:00.000','test@us.er','Test','User','$2a$10$TYD3Q9P6iElpp7cuhPk0BuZqlZQP3rzzxgfO10Bf9kNrocdSqQ1Aa',0,-1, (0));
-
-INSERT INTO PROJECT_ENTITY (ID, CODE, NAME, DESCRIPTION, ACTIVE, DATE_CREATED, DATE_UPDATED, VERSION) VALUES (-1, 'DEFAULT', 'Default Project', 'Default project for existing tickets', TRUE, '2024-01-12 00:00:00.000', '2024-01-12 00:00:00.000', 0);
-
-INSERT INTO TICKET_ENTITY (STATE, AUTHOR_ID, DATE_CREATED, DATE_UPDATED, EDITOR_ID, ID, VERSION, DESCRIPTION, TICKET_NUMBER, TITLE, PROJECT_ID) VALUES (0, -1, '2024-01-13 00:44:13.000000', '2024-01-13 00:44:16.000000', null, 0, 0, 'Test Description', 'test_ticket', 'Test Title', -1);